@@ -0,0 +1,34 @@
+-- Denormalize the subject and syllabus of the tracked item onto progress_entries.
+-- Safe to run more than once; only rows that are still missing the columns are touched.
+
+ALTER TABLE progress_entries ADD COLUMN IF NOT EXISTS subject_id BIGINT;
+ALTER TABLE progress_entries ADD COLUMN IF NOT EXISTS syllabus_id BIGINT;
+
+UPDATE progress_entries p
+SET subject_id = s.id,
+    syllabus_id = s.syllabus_id
+FROM subjects s
+WHERE p.item_type = 'SUBJECT'
+  AND p.item_id = s.id
+  AND p.subject_id IS NULL;
+
+UPDATE progress_entries p
+SET subject_id = t.subject_id,
+    syllabus_id = s.syllabus_id
+FROM topics t
+JOIN subjects s ON s.id = t.subject_id
+WHERE p.item_type = 'TOPIC'
+  AND p.item_id = t.id
+  AND p.subject_id IS NULL;
+
+UPDATE progress_entries p
+SET subject_id = t.subject_id,
+    syllabus_id = s.syllabus_id
+FROM subtopics st
+JOIN topics t ON t.id = st.topic_id
+JOIN subjects s ON s.id = t.subject_id
+WHERE p.item_type = 'SUBTOPIC'
+  AND p.item_id = st.id
+  AND p.subject_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_progress_entries_user_subject ON progress_entries(user_id, subject_id);
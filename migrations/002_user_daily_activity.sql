@@ -0,0 +1,17 @@
+-- Per-user, per-day rollup of progress entries backing the summary and streak endpoints.
+-- Safe to run more than once; days that already have a row are left alone.
+
+CREATE TABLE IF NOT EXISTS user_daily_activity (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    date DATE NOT NULL,
+    minutes INTEGER NOT NULL,
+    items INTEGER NOT NULL,
+    UNIQUE (user_id, date)
+);
+
+INSERT INTO user_daily_activity (user_id, date, minutes, items)
+SELECT user_id, date, COALESCE(SUM(time_spent_minutes), 0), COUNT(*)
+FROM progress_entries
+GROUP BY user_id, date
+ON CONFLICT (user_id, date) DO NOTHING;
@@ -0,0 +1,30 @@
+-- Streak bookkeeping on users, derived from user_daily_activity (run 002 first).
+-- Safe to run more than once; every user with activity is recomputed from scratch.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS current_streak INTEGER;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS longest_streak INTEGER;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_activity_date DATE;
+
+-- consecutive days share the same (date - row number), which identifies their run
+WITH runs AS (
+    SELECT user_id,
+           date,
+           date - CAST(ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY date) AS INTEGER) AS run_key
+    FROM user_daily_activity
+),
+run_lengths AS (
+    SELECT user_id, run_key, COUNT(*) AS length, MAX(date) AS last_date
+    FROM runs
+    GROUP BY user_id, run_key
+),
+per_user AS (
+    SELECT user_id, MAX(length) AS longest, MAX(last_date) AS last_date
+    FROM run_lengths
+    GROUP BY user_id
+)
+UPDATE users u
+SET longest_streak = p.longest,
+    last_activity_date = p.last_date,
+    current_streak = (SELECT r.length FROM run_lengths r WHERE r.user_id = p.user_id AND r.last_date = p.last_date)
+FROM per_user p
+WHERE u.id = p.user_id;
@@ -0,0 +1,23 @@
+-- Denormalize the syllabus onto topics and the subject and syllabus onto subtopics.
+-- Safe to run more than once; only rows that are still missing the columns are touched.
+
+ALTER TABLE topics ADD COLUMN IF NOT EXISTS syllabus_id BIGINT;
+ALTER TABLE subtopics ADD COLUMN IF NOT EXISTS subject_id BIGINT;
+ALTER TABLE subtopics ADD COLUMN IF NOT EXISTS syllabus_id BIGINT;
+
+UPDATE topics t
+SET syllabus_id = s.syllabus_id
+FROM subjects s
+WHERE t.subject_id = s.id
+  AND t.syllabus_id IS NULL;
+
+UPDATE subtopics st
+SET subject_id = t.subject_id,
+    syllabus_id = s.syllabus_id
+FROM topics t
+JOIN subjects s ON s.id = t.subject_id
+WHERE st.topic_id = t.id
+  AND st.syllabus_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_topics_syllabus_id ON topics(syllabus_id);
+CREATE INDEX IF NOT EXISTS idx_subtopics_syllabus_id ON subtopics(syllabus_id);
@@ -0,0 +1,7 @@
+-- Version counter on syllabi, bumped on every change shown with a syllabus and used as its ETag.
+-- Safe to run more than once.
+
+ALTER TABLE syllabi ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE syllabi SET version = 0 WHERE version IS NULL;
+ALTER TABLE syllabi ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE syllabi ALTER COLUMN version SET NOT NULL;
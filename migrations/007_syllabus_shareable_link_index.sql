@@ -0,0 +1,4 @@
+-- Unique index on syllabi.shareable_link, read by every request for a shared syllabus.
+-- Safe to run more than once.
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_syllabi_shareable_link ON syllabi(shareable_link);
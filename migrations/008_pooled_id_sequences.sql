@@ -0,0 +1,24 @@
+-- Move id generation from per-table serial/identity columns to pooled sequences (<table>_seq, INCREMENT BY 50)
+-- so Hibernate can reserve ids in blocks and batch inserts. Run before starting a build that maps the new
+-- sequences, otherwise ddl-auto creates them starting at 1.
+-- Safe to run more than once: each sequence is only ever moved forward, past both the highest id in use and
+-- the last block it handed out.
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['users', 'syllabi', 'subjects', 'topics', 'subtopics', 'progress_entries',
+                             'resources', 'node_completion', 'user_daily_activity'] LOOP
+        -- tables created by a later migration (node_completion in 010) get their sequence there
+        CONTINUE WHEN to_regclass(t) IS NULL;
+
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+        EXECUTE format('SELECT setval(%L, GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM %I), '
+                       '(SELECT last_value + 50 FROM %I)), false)', t || '_seq', t, t || '_seq');
+
+        -- plain INSERTs (earlier migrations, manual fixes) draw from the same sequence
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_seq');
+    END LOOP;
+END $$;
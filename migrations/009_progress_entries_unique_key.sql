@@ -0,0 +1,24 @@
+-- Unique key on progress_entries(user_id, item_type, item_id, date), backing PUT /progress/by-key and replacing
+-- the read-before-insert duplicate check. Duplicates left by concurrent writers are removed first, keeping the
+-- oldest entry, and the daily activity of the affected days is recounted. Run POST /admin/completion/rebuild
+-- afterwards if any duplicates were removed. Safe to run more than once.
+
+DELETE FROM progress_entries p
+USING (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id, item_type, item_id, date ORDER BY id) AS rn
+    FROM progress_entries
+) d
+WHERE p.id = d.id AND d.rn > 1;
+
+UPDATE user_daily_activity a
+SET minutes = t.minutes, items = t.items
+FROM (
+    SELECT user_id, date, COALESCE(SUM(time_spent_minutes), 0) AS minutes, COUNT(*) AS items
+    FROM progress_entries
+    GROUP BY user_id, date
+) t
+WHERE a.user_id = t.user_id AND a.date = t.date
+  AND (a.minutes <> t.minutes OR a.items <> t.items);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_progress_entries_user_item_date
+    ON progress_entries(user_id, item_type, item_id, date);
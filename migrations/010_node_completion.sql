@@ -0,0 +1,20 @@
+-- Completion rollup per syllabus node (node_completion), read by every completion endpoint and kept in step by
+-- progress and structure writes. Creates the table for databases set up before the rollup existed; it starts
+-- empty, so run POST /admin/completion/rebuild afterwards, until then completion falls back to the live
+-- computation. Safe to run more than once.
+
+CREATE SEQUENCE IF NOT EXISTS node_completion_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS node_completion (
+    id BIGINT PRIMARY KEY DEFAULT nextval('node_completion_seq'),
+    node_type VARCHAR(50) NOT NULL,
+    node_id BIGINT NOT NULL,
+    syllabus_id BIGINT NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    completed_children INTEGER NOT NULL,
+    total_children INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_node_completion_node ON node_completion(node_type, node_id);
+
+CREATE INDEX IF NOT EXISTS idx_node_completion_syllabus_id ON node_completion(syllabus_id);
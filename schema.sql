@@ -2,6 +2,8 @@
 -- This file can be used to manually initialize the database structure
 
 -- Drop tables if they exist (in reverse order of dependencies)
+DROP TABLE IF EXISTS user_daily_activity;
+DROP TABLE IF EXISTS node_completion;
 DROP TABLE IF EXISTS resources;
 DROP TABLE IF EXISTS progress_entries;
 DROP TABLE IF EXISTS subtopics;
@@ -9,33 +11,57 @@ DROP TABLE IF EXISTS topics;
 DROP TABLE IF EXISTS subjects;
 DROP TABLE IF EXISTS syllabi;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS user_daily_activity_seq;
+DROP SEQUENCE IF EXISTS node_completion_seq;
+DROP SEQUENCE IF EXISTS resources_seq;
+DROP SEQUENCE IF EXISTS progress_entries_seq;
+DROP SEQUENCE IF EXISTS subtopics_seq;
+DROP SEQUENCE IF EXISTS topics_seq;
+DROP SEQUENCE IF EXISTS subjects_seq;
+DROP SEQUENCE IF EXISTS syllabi_seq;
+DROP SEQUENCE IF EXISTS users_seq;
+
+-- Ids come from pooled sequences: Hibernate reserves 50 ids per call, so inserts can be batched
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+CREATE SEQUENCE syllabi_seq INCREMENT BY 50;
+CREATE SEQUENCE subjects_seq INCREMENT BY 50;
+CREATE SEQUENCE topics_seq INCREMENT BY 50;
+CREATE SEQUENCE subtopics_seq INCREMENT BY 50;
+CREATE SEQUENCE progress_entries_seq INCREMENT BY 50;
+CREATE SEQUENCE resources_seq INCREMENT BY 50;
+CREATE SEQUENCE node_completion_seq INCREMENT BY 50;
+CREATE SEQUENCE user_daily_activity_seq INCREMENT BY 50;
 
 -- Create users table
 CREATE TABLE users (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('users_seq'),
     username VARCHAR(255) NOT NULL UNIQUE,
     email VARCHAR(255) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     role VARCHAR(50) NOT NULL,
     email_verified BOOLEAN DEFAULT FALSE,
-    verification_token VARCHAR(255)
+    verification_token VARCHAR(255),
+    current_streak INTEGER,
+    longest_streak INTEGER,
+    last_activity_date DATE
 );
 
 -- Create syllabi table
 CREATE TABLE syllabi (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('syllabi_seq'),
     user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     title VARCHAR(255) NOT NULL,
     description TEXT,
     is_public BOOLEAN DEFAULT FALSE,
     shareable_link VARCHAR(255),
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP
 );
 
 -- Create subjects table
 CREATE TABLE subjects (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('subjects_seq'),
     syllabus_id BIGINT NOT NULL REFERENCES syllabi(id) ON DELETE CASCADE,
     title VARCHAR(255) NOT NULL,
     description TEXT,
@@ -45,8 +71,9 @@ CREATE TABLE subjects (
 
 -- Create topics table
 CREATE TABLE topics (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('topics_seq'),
     subject_id BIGINT NOT NULL REFERENCES subjects(id) ON DELETE CASCADE,
+    syllabus_id BIGINT,
     title VARCHAR(255) NOT NULL,
     description TEXT,
     display_order INTEGER NOT NULL,
@@ -55,8 +82,10 @@ CREATE TABLE topics (
 
 -- Create subtopics table
 CREATE TABLE subtopics (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('subtopics_seq'),
     topic_id BIGINT NOT NULL REFERENCES topics(id) ON DELETE CASCADE,
+    subject_id BIGINT,
+    syllabus_id BIGINT,
     title VARCHAR(255) NOT NULL,
     description TEXT,
     display_order INTEGER NOT NULL,
@@ -65,10 +94,12 @@ CREATE TABLE subtopics (
 
 -- Create progress_entries table
 CREATE TABLE progress_entries (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('progress_entries_seq'),
     user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     item_id BIGINT NOT NULL,
     item_type VARCHAR(50) NOT NULL,
+    subject_id BIGINT,
+    syllabus_id BIGINT,
     date DATE NOT NULL,
     status VARCHAR(50) NOT NULL,
     time_spent_minutes INTEGER,
@@ -78,7 +109,7 @@ CREATE TABLE progress_entries (
 
 -- Create resources table
 CREATE TABLE resources (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('resources_seq'),
     subject_id BIGINT REFERENCES subjects(id) ON DELETE CASCADE,
     topic_id BIGINT REFERENCES topics(id) ON DELETE CASCADE,
     subtopic_id BIGINT REFERENCES subtopics(id) ON DELETE CASCADE,
@@ -88,14 +119,42 @@ CREATE TABLE resources (
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Create node_completion table (completion rollup per syllabus node)
+CREATE TABLE node_completion (
+    id BIGINT PRIMARY KEY DEFAULT nextval('node_completion_seq'),
+    node_type VARCHAR(50) NOT NULL,
+    node_id BIGINT NOT NULL,
+    syllabus_id BIGINT NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    completed_children INTEGER NOT NULL,
+    total_children INTEGER NOT NULL,
+    UNIQUE (node_type, node_id)
+);
+
+-- Create user_daily_activity table (per-user, per-day rollup of progress entries)
+CREATE TABLE user_daily_activity (
+    id BIGINT PRIMARY KEY DEFAULT nextval('user_daily_activity_seq'),
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    date DATE NOT NULL,
+    minutes INTEGER NOT NULL,
+    items INTEGER NOT NULL,
+    UNIQUE (user_id, date)
+);
+
 -- Create indexes for better performance
 CREATE INDEX idx_syllabi_user_id ON syllabi(user_id);
+CREATE UNIQUE INDEX idx_syllabi_shareable_link ON syllabi(shareable_link);
 CREATE INDEX idx_subjects_syllabus_id ON subjects(syllabus_id);
 CREATE INDEX idx_topics_subject_id ON topics(subject_id);
 CREATE INDEX idx_subtopics_topic_id ON subtopics(topic_id);
+CREATE INDEX idx_topics_syllabus_id ON topics(syllabus_id);
+CREATE INDEX idx_subtopics_syllabus_id ON subtopics(syllabus_id);
 CREATE INDEX idx_progress_entries_user_id ON progress_entries(user_id);
 CREATE INDEX idx_progress_entries_item_id_type ON progress_entries(item_id, item_type);
+CREATE INDEX idx_progress_entries_user_subject ON progress_entries(user_id, subject_id);
+CREATE UNIQUE INDEX uk_progress_entries_user_item_date ON progress_entries(user_id, item_type, item_id, date);
 CREATE INDEX idx_resources_item_types ON resources(subject_id, topic_id, subtopic_id);
+CREATE INDEX idx_node_completion_syllabus_id ON node_completion(syllabus_id);
 
 -- Add constraints to ensure only one parent is set for resources
 ALTER TABLE resources ADD CONSTRAINT check_resource_parent 
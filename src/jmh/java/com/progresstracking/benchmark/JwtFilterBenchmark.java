@@ -0,0 +1,103 @@
+package com.progresstracking.benchmark;
+
+import com.progresstracking.security.JwtAuthenticationFilter;
+import com.progresstracking.security.JwtTokenProvider;
+import com.progresstracking.security.UserDetailsServiceImpl;
+import com.progresstracking.security.UserStatusCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in {@link JwtAuthenticationFilter}. {@code legacyFilterPath}
+ * reproduces the previous behaviour (a fresh parser per call, token verified once to validate and again to read
+ * the subject, then the user loaded by name); {@code filterPath} runs the filter as it is now, building the principal
+ * from the token's claims. The user lookup is stubbed so only the JWT work is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "verySecretKeyThatShouldBeAtLeast32CharactersLong";
+
+    private Key key;
+    private String token;
+    private UserDetailsServiceImpl userDetailsService;
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setUp() {
+        UserDetails userDetails = User.withUsername("testuser")
+                .password("")
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
+                .build();
+        userDetailsService = new UserDetailsServiceImpl(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return userDetails;
+            }
+        };
+
+        tokenProvider = new JwtTokenProvider(userDetailsService, new UserStatusCache(null, false, 1, 60));
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "accessTokenExpirationMs", 3600000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshTokenExpirationMs", 604800000L);
+        tokenProvider.init();
+
+        filter = new JwtAuthenticationFilter(tokenProvider);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        token = tokenProvider.generateAccessToken(com.progresstracking.model.User.builder()
+                .id(1L)
+                .username("testuser")
+                .role(com.progresstracking.model.User.Role.STUDENT)
+                .build());
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void filterPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    @Benchmark
+    public void legacyFilterPath(Blackhole blackhole) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        String jwt = request.getHeader("Authorization").substring(7);
+
+        // validateToken
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt);
+        // getAuthentication -> getUsernameFromToken
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities()));
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
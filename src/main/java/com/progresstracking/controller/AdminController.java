@@ -0,0 +1,58 @@
+package com.progresstracking.controller;
+
+import com.progresstracking.dto.admin.CacheStatsResponse;
+import com.progresstracking.dto.admin.CompletionConsistencyResponse;
+import com.progresstracking.service.CompletionRollupService;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.cache.PublicSyllabusCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final CompletionRollupService completionRollupService;
+    private final ItemMetadataCache itemMetadataCache;
+    private final PublicSyllabusCache publicSyllabusCache;
+
+    @PostMapping("/completion/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildCompletionRollup() {
+        int nodes = completionRollupService.rebuildAll();
+        return ResponseEntity.ok(Map.of("nodes", nodes));
+    }
+
+    @GetMapping("/completion/consistency")
+    public ResponseEntity<CompletionConsistencyResponse> checkCompletionConsistency() {
+        CompletionConsistencyResponse report = completionRollupService.checkConsistency();
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/cache/item-metadata")
+    public ResponseEntity<CacheStatsResponse> getItemMetadataCacheStats() {
+        return ResponseEntity.ok(itemMetadataCache.getStats());
+    }
+
+    @DeleteMapping("/cache/item-metadata")
+    public ResponseEntity<Void> clearItemMetadataCache() {
+        itemMetadataCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/cache/public-syllabi")
+    public ResponseEntity<CacheStatsResponse> getPublicSyllabusCacheStats() {
+        return ResponseEntity.ok(publicSyllabusCache.getStats());
+    }
+
+    @DeleteMapping("/cache/public-syllabi")
+    public ResponseEntity<Void> clearPublicSyllabusCache() {
+        publicSyllabusCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -3,21 +3,34 @@ package com.progresstracking.controller;
 import com.progresstracking.dto.analytics.CompletionSummaryResponse;
 import com.progresstracking.dto.analytics.ProgressSummaryResponse;
 import com.progresstracking.dto.analytics.TimeDistributionResponse;
+import com.progresstracking.dto.analytics.WindowSummaryResponse;
+import com.progresstracking.dto.progress.ProgressEntryBatchRequest;
+import com.progresstracking.dto.progress.ProgressEntryBatchResponse;
 import com.progresstracking.dto.progress.ProgressEntryRequest;
 import com.progresstracking.dto.progress.ProgressEntryResponse;
+import com.progresstracking.dto.progress.ProgressImportResponse;
+import com.progresstracking.security.UserPrincipal;
+import com.progresstracking.service.ProgressExportService;
+import com.progresstracking.service.ProgressImportService;
 import com.progresstracking.service.ProgressService;
+import com.progresstracking.service.importer.ImportFormat;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -28,20 +41,48 @@ import java.util.Map;
 public class ProgressController {
 
     private final ProgressService progressService;
+    private final ProgressImportService progressImportService;
+    private final ProgressExportService progressExportService;
 
     @PostMapping
    public ResponseEntity<ProgressEntryResponse> createProgressEntry(
             @Valid @RequestBody ProgressEntryRequest progressEntryRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ProgressEntryResponse progressEntry = progressService.createProgressEntry(progressEntryRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ProgressEntryResponse progressEntry = progressService.createProgressEntry(progressEntryRequest, userPrincipal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(progressEntry);
     }
 
+    @PostMapping("/batch")
+   public ResponseEntity<ProgressEntryBatchResponse> createProgressEntries(
+            @Valid @RequestBody ProgressEntryBatchRequest batchRequest,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ProgressEntryBatchResponse result = progressService.createProgressEntries(batchRequest, userPrincipal.getId());
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+   public ResponseEntity<ProgressImportResponse> importProgress(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ProgressImportResponse result = progressImportService.importProgress(body, ImportFormat.fromContentType(contentType),
+                userPrincipal.getId());
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping("/by-key")
+   public ResponseEntity<ProgressEntryResponse> upsertProgressEntry(
+            @Valid @RequestBody ProgressEntryRequest progressEntryRequest,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ProgressEntryResponse result = progressService.upsertProgressEntry(progressEntryRequest, userPrincipal.getId());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
    public ResponseEntity<ProgressEntryResponse> getProgressEntry(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ProgressEntryResponse progressEntry = progressService.getProgressEntryById(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ProgressEntryResponse progressEntry = progressService.getProgressEntryById(id, userPrincipal.getId());
         return ResponseEntity.ok(progressEntry);
     }
 
@@ -49,24 +90,24 @@ public class ProgressController {
    public ResponseEntity<ProgressEntryResponse> updateProgressEntry(
             @PathVariable Long id,
             @Valid @RequestBody ProgressEntryRequest progressEntryRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ProgressEntryResponse progressEntry = progressService.updateProgressEntry(id, progressEntryRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ProgressEntryResponse progressEntry = progressService.updateProgressEntry(id, progressEntryRequest, userPrincipal.getId());
         return ResponseEntity.ok(progressEntry);
     }
 
     @DeleteMapping("/{id}")
    public ResponseEntity<Void> deleteProgressEntry(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        progressService.deleteProgressEntry(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        progressService.deleteProgressEntry(id, userPrincipal.getId());
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
    public ResponseEntity<Page<ProgressEntryResponse>> getUserProgressEntries(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
             Pageable pageable) {
-        Page<ProgressEntryResponse> progressEntries = progressService.getUserProgressEntries(userDetails.getUsername(), pageable);
+        Page<ProgressEntryResponse> progressEntries = progressService.getUserProgressEntries(userPrincipal.getId(), pageable);
         return ResponseEntity.ok(progressEntries);
     }
 
@@ -74,18 +115,36 @@ public class ProgressController {
    public ResponseEntity<List<ProgressEntryResponse>> getUserProgressEntriesByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
         List<ProgressEntryResponse> progressEntries = progressService.getUserProgressEntriesByDateRange(
-                userDetails.getUsername(), startDate, endDate);
+                userPrincipal.getId(), startDate, endDate);
         return ResponseEntity.ok(progressEntries);
     }
 
+    @GetMapping("/export")
+   public void exportProgress(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            HttpServletResponse response) throws IOException {
+        ImportFormat exportFormat = ImportFormat.fromName(format);
+        response.setContentType(exportFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("progress." + exportFormat.getFileExtension())
+                .build()
+                .toString());
+        progressExportService.exportProgress(userPrincipal.getId(), startDate, endDate, exportFormat,
+                response.getOutputStream());
+    }
+
     @GetMapping("/analytics/completion/{syllabusId}")
    public ResponseEntity<CompletionSummaryResponse> getSyllabusCompletionSummary(
             @PathVariable Long syllabusId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
         CompletionSummaryResponse completionSummary = progressService.getSyllabusCompletionSummary(
-                syllabusId, userDetails.getUsername());
+                syllabusId, userPrincipal.getId());
         return ResponseEntity.ok(completionSummary);
     }
 
@@ -93,23 +152,31 @@ public class ProgressController {
    public ResponseEntity<ProgressSummaryResponse> getUserProgressSummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
         ProgressSummaryResponse progressSummary = progressService.getUserProgressSummary(
-                userDetails.getUsername(), startDate, endDate);
+                userPrincipal.getId(), startDate, endDate);
         return ResponseEntity.ok(progressSummary);
     }
 
+    @GetMapping("/analytics/windows")
+   public ResponseEntity<WindowSummaryResponse> getUserProgressWindows(
+            @RequestParam(defaultValue = "7,30,90,365") List<Integer> days,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        WindowSummaryResponse windows = progressService.getUserProgressWindows(userPrincipal.getId(), days);
+        return ResponseEntity.ok(windows);
+    }
+
     @GetMapping("/analytics/time-distribution")
    public ResponseEntity<TimeDistributionResponse> getUserTimeDistribution(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        TimeDistributionResponse timeDistribution = progressService.getUserTimeDistribution(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        TimeDistributionResponse timeDistribution = progressService.getUserTimeDistribution(userPrincipal.getId());
         return ResponseEntity.ok(timeDistribution);
     }
 
     @GetMapping("/analytics/streak")
    public ResponseEntity<Map<String, Integer>> getCurrentStreak(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Integer streak = progressService.getCurrentStreak(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Integer streak = progressService.getCurrentStreak(userPrincipal.getId());
         return ResponseEntity.ok(Map.of("streak", streak));
     }
 }
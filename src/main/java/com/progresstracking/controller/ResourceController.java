@@ -3,6 +3,7 @@ package com.progresstracking.controller;
 import com.progresstracking.dto.resource.ResourceRequest;
 import com.progresstracking.dto.resource.ResourceResponse;
 import com.progresstracking.model.Resource;
+import com.progresstracking.security.UserPrincipal;
 import com.progresstracking.service.ResourceService;
 
 import jakarta.validation.Valid;
@@ -10,7 +11,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,16 +27,16 @@ public class ResourceController {
             @PathVariable Resource.ItemType itemType,
             @PathVariable Long itemId,
             @Valid @RequestBody ResourceRequest resourceRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ResourceResponse resource = resourceService.createResource(itemId, itemType, resourceRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ResourceResponse resource = resourceService.createResource(itemId, itemType, resourceRequest, userPrincipal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(resource);
     }
 
     @GetMapping("/{id}")
        public ResponseEntity<ResourceResponse> getResource(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ResourceResponse resource = resourceService.getResourceById(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ResourceResponse resource = resourceService.getResourceById(id, userPrincipal.getId());
         return ResponseEntity.ok(resource);
     }
 
@@ -44,8 +44,8 @@ public class ResourceController {
        public ResponseEntity<List<ResourceResponse>> getResourcesByItem(
             @PathVariable Resource.ItemType itemType,
             @PathVariable Long itemId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<ResourceResponse> resources = resourceService.getResourcesByItem(itemId, itemType, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        List<ResourceResponse> resources = resourceService.getResourcesByItem(itemId, itemType, userPrincipal.getId());
         return ResponseEntity.ok(resources);
     }
 
@@ -53,16 +53,16 @@ public class ResourceController {
        public ResponseEntity<ResourceResponse> updateResource(
             @PathVariable Long id,
             @Valid @RequestBody ResourceRequest resourceRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ResourceResponse resource = resourceService.updateResource(id, resourceRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ResourceResponse resource = resourceService.updateResource(id, resourceRequest, userPrincipal.getId());
         return ResponseEntity.ok(resource);
     }
 
     @DeleteMapping("/{id}")
        public ResponseEntity<Void> deleteResource(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        resourceService.deleteResource(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        resourceService.deleteResource(id, userPrincipal.getId());
         return ResponseEntity.noContent().build();
     }
 }
@@ -2,6 +2,7 @@ package com.progresstracking.controller;
 
 import com.progresstracking.dto.subtopic.SubTopicRequest;
 import com.progresstracking.dto.subtopic.SubTopicResponse;
+import com.progresstracking.security.UserPrincipal;
 import com.progresstracking.service.SubTopicService;
 
 import jakarta.validation.Valid;
@@ -9,7 +10,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,24 +25,24 @@ public class SubTopicController {
        public ResponseEntity<SubTopicResponse> createSubTopic(
             @PathVariable Long topicId,
             @Valid @RequestBody SubTopicRequest subTopicRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SubTopicResponse subTopic = subTopicService.createSubTopic(topicId, subTopicRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SubTopicResponse subTopic = subTopicService.createSubTopic(topicId, subTopicRequest, userPrincipal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(subTopic);
     }
 
     @GetMapping("/{id}")
        public ResponseEntity<SubTopicResponse> getSubTopic(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SubTopicResponse subTopic = subTopicService.getSubTopicById(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SubTopicResponse subTopic = subTopicService.getSubTopicById(id, userPrincipal.getId());
         return ResponseEntity.ok(subTopic);
     }
 
     @GetMapping("/topic/{topicId}")
        public ResponseEntity<List<SubTopicResponse>> getSubTopicsByTopic(
             @PathVariable Long topicId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<SubTopicResponse> subTopics = subTopicService.getSubTopicsByTopic(topicId, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        List<SubTopicResponse> subTopics = subTopicService.getSubTopicsByTopic(topicId, userPrincipal.getId());
         return ResponseEntity.ok(subTopics);
     }
 
@@ -50,16 +50,16 @@ public class SubTopicController {
        public ResponseEntity<SubTopicResponse> updateSubTopic(
             @PathVariable Long id,
             @Valid @RequestBody SubTopicRequest subTopicRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SubTopicResponse subTopic = subTopicService.updateSubTopic(id, subTopicRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SubTopicResponse subTopic = subTopicService.updateSubTopic(id, subTopicRequest, userPrincipal.getId());
         return ResponseEntity.ok(subTopic);
     }
 
     @DeleteMapping("/{id}")
        public ResponseEntity<Void> deleteSubTopic(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        subTopicService.deleteSubTopic(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        subTopicService.deleteSubTopic(id, userPrincipal.getId());
         return ResponseEntity.noContent().build();
     }
 
@@ -67,8 +67,8 @@ public class SubTopicController {
        public ResponseEntity<Void> reorderSubTopics(
             @PathVariable Long topicId,
             @RequestBody List<Long> subTopicIds,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        subTopicService.reorderSubTopics(topicId, subTopicIds, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        subTopicService.reorderSubTopics(topicId, subTopicIds, userPrincipal.getId());
         return ResponseEntity.ok().build();
     }
 }
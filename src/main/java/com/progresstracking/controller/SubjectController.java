@@ -2,13 +2,13 @@ package com.progresstracking.controller;
 
 import com.progresstracking.dto.subject.SubjectRequest;
 import com.progresstracking.dto.subject.SubjectResponse;
+import com.progresstracking.security.UserPrincipal;
 import com.progresstracking.service.SubjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,24 +24,24 @@ public class SubjectController {
    public ResponseEntity<SubjectResponse> createSubject(
             @PathVariable Long syllabusId,
             @Valid @RequestBody SubjectRequest subjectRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SubjectResponse subject = subjectService.createSubject(syllabusId, subjectRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SubjectResponse subject = subjectService.createSubject(syllabusId, subjectRequest, userPrincipal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(subject);
     }
 
     @GetMapping("/{id}")
    public ResponseEntity<SubjectResponse> getSubject(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SubjectResponse subject = subjectService.getSubjectById(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SubjectResponse subject = subjectService.getSubjectById(id, userPrincipal.getId());
         return ResponseEntity.ok(subject);
     }
 
     @GetMapping("/syllabus/{syllabusId}")
    public ResponseEntity<List<SubjectResponse>> getSubjectsBySyllabus(
             @PathVariable Long syllabusId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<SubjectResponse> subjects = subjectService.getSubjectsBySyllabus(syllabusId, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        List<SubjectResponse> subjects = subjectService.getSubjectsBySyllabus(syllabusId, userPrincipal.getId());
         return ResponseEntity.ok(subjects);
     }
 
@@ -49,16 +49,16 @@ public class SubjectController {
    public ResponseEntity<SubjectResponse> updateSubject(
             @PathVariable Long id,
             @Valid @RequestBody SubjectRequest subjectRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SubjectResponse subject = subjectService.updateSubject(id, subjectRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SubjectResponse subject = subjectService.updateSubject(id, subjectRequest, userPrincipal.getId());
         return ResponseEntity.ok(subject);
     }
 
     @DeleteMapping("/{id}")
    public ResponseEntity<Void> deleteSubject(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        subjectService.deleteSubject(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        subjectService.deleteSubject(id, userPrincipal.getId());
         return ResponseEntity.noContent().build();
     }
 
@@ -66,8 +66,8 @@ public class SubjectController {
    public ResponseEntity<Void> reorderSubjects(
             @PathVariable Long syllabusId,
             @RequestBody List<Long> subjectIds,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        subjectService.reorderSubjects(syllabusId, subjectIds, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        subjectService.reorderSubjects(syllabusId, subjectIds, userPrincipal.getId());
         return ResponseEntity.ok().build();
     }
 }
@@ -2,18 +2,24 @@ package com.progresstracking.controller;
 
 import com.progresstracking.dto.syllabus.SyllabusRequest;
 import com.progresstracking.dto.syllabus.SyllabusResponse;
+import com.progresstracking.dto.syllabus.SyllabusTreeResponse;
+import com.progresstracking.security.UserPrincipal;
 import com.progresstracking.service.SyllabusService;
+import com.progresstracking.service.cache.PublicSyllabusCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/syllabi")
@@ -21,73 +27,120 @@ import java.util.Map;
 public class SyllabusController {
 
     private final SyllabusService syllabusService;
+    private final PublicSyllabusCache publicSyllabusCache;
 
     @PostMapping
     public ResponseEntity<SyllabusResponse> createSyllabus(
             @Valid @RequestBody SyllabusRequest syllabusRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SyllabusResponse syllabus = syllabusService.createSyllabus(syllabusRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SyllabusResponse syllabus = syllabusService.createSyllabus(syllabusRequest, userPrincipal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(syllabus);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<SyllabusResponse> getSyllabus(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SyllabusResponse syllabus = syllabusService.getSyllabusById(id, userDetails.getUsername());
-        return ResponseEntity.ok(syllabus);
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        // the version alone decides a 304, the syllabus itself is only loaded when it changed
+        String eTag = ETags.of("syllabus", id, syllabusService.getSyllabusVersion(id, userPrincipal.getId()));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        SyllabusResponse syllabus = syllabusService.getSyllabusById(id, userPrincipal.getId());
+        return ResponseEntity.ok().eTag(eTag).body(syllabus);
+    }
+
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<SyllabusTreeResponse> getSyllabusTree(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "true") boolean includeCompletion,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        String eTag = ETags.of(includeCompletion ? "tree" : "structure", id,
+                syllabusService.getSyllabusVersion(id, userPrincipal.getId()));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        SyllabusTreeResponse tree = syllabusService.getSyllabusTree(id, userPrincipal.getId(), includeCompletion);
+        return ResponseEntity.ok().eTag(eTag).body(tree);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<SyllabusResponse> updateSyllabus(
             @PathVariable Long id,
             @Valid @RequestBody SyllabusRequest syllabusRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        SyllabusResponse syllabus = syllabusService.updateSyllabus(id, syllabusRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SyllabusResponse syllabus = syllabusService.updateSyllabus(id, syllabusRequest, userPrincipal.getId());
         return ResponseEntity.ok(syllabus);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSyllabus(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        syllabusService.deleteSyllabus(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        syllabusService.deleteSyllabus(id, userPrincipal.getId());
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
     public ResponseEntity<Page<SyllabusResponse>> getUserSyllabi(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
             Pageable pageable) {
-        Page<SyllabusResponse> syllabi = syllabusService.getUserSyllabi(userDetails.getUsername(), pageable);
+        Page<SyllabusResponse> syllabi = syllabusService.getUserSyllabi(userPrincipal.getId(), pageable);
         return ResponseEntity.ok(syllabi);
     }
 
     @GetMapping("/public")
-    public ResponseEntity<Page<SyllabusResponse>> getPublicSyllabi(Pageable pageable) {
-        Page<SyllabusResponse> syllabi = syllabusService.getPublicSyllabi(pageable);
-        return ResponseEntity.ok(syllabi);
+    public ResponseEntity<byte[]> getPublicSyllabi(Pageable pageable) {
+        PublicSyllabusCache.CachedJson syllabi = publicSyllabusCache.getPublicPage(pageable,
+                () -> syllabusService.getPublicSyllabi(pageable));
+        return ResponseEntity.ok()
+                .cacheControl(publicCacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(syllabi.getBody());
     }
 
     @GetMapping("/public/{shareableLink}")
-    public ResponseEntity<SyllabusResponse> getSyllabusByShareableLink(@PathVariable String shareableLink) {
-        SyllabusResponse syllabus = syllabusService.getSyllabusByShareableLink(shareableLink);
-        return ResponseEntity.ok(syllabus);
+    public ResponseEntity<byte[]> getSyllabusByShareableLink(
+            @PathVariable String shareableLink,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // served from the pre-serialized copy, the database is only asked once the copy is no longer fresh
+        PublicSyllabusCache.CachedJson syllabus = publicSyllabusCache.getShared(shareableLink,
+                () -> syllabusService.getSharedSyllabusVersion(shareableLink),
+                () -> syllabusService.getSyllabusByShareableLink(shareableLink));
+        // versions are per syllabus, so the tag names the link it was served for
+        String eTag = ETags.of("shared", shareableLink, syllabus.getVersion());
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(publicCacheControl())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(publicCacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(syllabus.getBody());
     }
 
     @PostMapping("/{id}/share")
     public ResponseEntity<Map<String, String>> generateShareableLink(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        String shareableLink = syllabusService.generateShareableLink(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        String shareableLink = syllabusService.generateShareableLink(id, userPrincipal.getId());
         return ResponseEntity.ok(Map.of("shareableLink", shareableLink));
     }
 
     @DeleteMapping("/{id}/share")
     public ResponseEntity<Void> revokeShareableLink(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        syllabusService.revokeShareableLink(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        syllabusService.revokeShareableLink(id, userPrincipal.getId());
         return ResponseEntity.noContent().build();
     }
+
+    private CacheControl publicCacheControl() {
+        return CacheControl.maxAge(publicSyllabusCache.getFreshSeconds(), TimeUnit.SECONDS).cachePublic();
+    }
 }
@@ -2,6 +2,7 @@ package com.progresstracking.controller;
 
 import com.progresstracking.dto.topic.TopicRequest;
 import com.progresstracking.dto.topic.TopicResponse;
+import com.progresstracking.security.UserPrincipal;
 import com.progresstracking.service.TopicService;
 
 import jakarta.validation.Valid;
@@ -9,7 +10,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,24 +25,24 @@ public class TopicController {
        public ResponseEntity<TopicResponse> createTopic(
             @PathVariable Long subjectId,
             @Valid @RequestBody TopicRequest topicRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        TopicResponse topic = topicService.createTopic(subjectId, topicRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        TopicResponse topic = topicService.createTopic(subjectId, topicRequest, userPrincipal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(topic);
     }
 
     @GetMapping("/{id}")
        public ResponseEntity<TopicResponse> getTopic(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        TopicResponse topic = topicService.getTopicById(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        TopicResponse topic = topicService.getTopicById(id, userPrincipal.getId());
         return ResponseEntity.ok(topic);
     }
 
     @GetMapping("/subject/{subjectId}")
        public ResponseEntity<List<TopicResponse>> getTopicsBySubject(
             @PathVariable Long subjectId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<TopicResponse> topics = topicService.getTopicsBySubject(subjectId, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        List<TopicResponse> topics = topicService.getTopicsBySubject(subjectId, userPrincipal.getId());
         return ResponseEntity.ok(topics);
     }
 
@@ -50,16 +50,16 @@ public class TopicController {
        public ResponseEntity<TopicResponse> updateTopic(
             @PathVariable Long id,
             @Valid @RequestBody TopicRequest topicRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        TopicResponse topic = topicService.updateTopic(id, topicRequest, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        TopicResponse topic = topicService.updateTopic(id, topicRequest, userPrincipal.getId());
         return ResponseEntity.ok(topic);
     }
 
     @DeleteMapping("/{id}")
        public ResponseEntity<Void> deleteTopic(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        topicService.deleteTopic(id, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        topicService.deleteTopic(id, userPrincipal.getId());
         return ResponseEntity.noContent().build();
     }
 
@@ -67,8 +67,8 @@ public class TopicController {
        public ResponseEntity<Void> reorderTopics(
             @PathVariable Long subjectId,
             @RequestBody List<Long> topicIds,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        topicService.reorderTopics(subjectId, topicIds, userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        topicService.reorderTopics(subjectId, topicIds, userPrincipal.getId());
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,22 @@
+package com.progresstracking.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private Integer size;
+    private Integer maxSize;
+    private Long ttlSeconds;
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Long expirations;
+    private Double hitRate;
+}
@@ -0,0 +1,34 @@
+package com.progresstracking.dto.admin;
+
+import com.progresstracking.model.NodeCompletion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionConsistencyResponse {
+
+    private Integer checkedSyllabi;
+    private Integer checkedNodes;
+    private List<MismatchDto> mismatches;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MismatchDto {
+        private NodeCompletion.NodeType nodeType;
+        private Long nodeId;
+        private Long syllabusId;
+        private Double storedScore;
+        private Double liveScore;
+        private Integer storedCompletedChildren;
+        private Integer liveCompletedChildren;
+    }
+}
@@ -0,0 +1,31 @@
+package com.progresstracking.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WindowSummaryResponse {
+
+    private LocalDate endDate;
+    private List<WindowDto> windows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WindowDto {
+        private Integer days;
+        private LocalDate startDate;
+        private Integer totalDaysWithProgress;
+        private Integer totalTimeSpentMinutes;
+        private Integer itemsProgressed;
+    }
+}
@@ -0,0 +1,24 @@
+package com.progresstracking.dto.progress;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressEntryBatchRequest {
+
+    public static final int MAX_ENTRIES = 5000;
+
+    // entries are checked one by one so a single bad entry does not reject the whole batch
+    @NotEmpty(message = "At least one entry is required")
+    @Size(max = MAX_ENTRIES, message = "At most " + MAX_ENTRIES + " entries can be sent at once")
+    private List<ProgressEntryRequest> entries;
+}
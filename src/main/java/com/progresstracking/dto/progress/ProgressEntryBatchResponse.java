@@ -0,0 +1,36 @@
+package com.progresstracking.dto.progress;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressEntryBatchResponse {
+
+    private Integer created;
+    private Integer duplicates;
+    private Integer failed;
+    private List<EntryResultDto> results;
+
+    public enum Outcome {
+        CREATED, DUPLICATE, INVALID, NOT_FOUND, FORBIDDEN
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EntryResultDto {
+        // position of the entry in the request
+        private Integer index;
+        private Outcome outcome;
+        private Long id;
+        private String message;
+    }
+}
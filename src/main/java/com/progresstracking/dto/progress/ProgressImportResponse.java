@@ -0,0 +1,35 @@
+package com.progresstracking.dto.progress;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressImportResponse {
+
+    // lines holding a record, so neither the CSV header nor blank lines
+    private Long recordsRead;
+    private Long imported;
+    private Long duplicates;
+    private Long failed;
+    private Integer chunks;
+    // the first errors of the import; errorsTruncated is set when there were more
+    private List<LineErrorDto> errors;
+    private Boolean errorsTruncated;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineErrorDto {
+        private Long line;
+        private ProgressEntryBatchResponse.Outcome outcome;
+        private String message;
+    }
+}
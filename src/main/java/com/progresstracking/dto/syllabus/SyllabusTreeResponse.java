@@ -0,0 +1,40 @@
+package com.progresstracking.dto.syllabus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyllabusTreeResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private boolean isPublic;
+    // null when completion was not requested
+    private Double completionPercentage;
+    private List<NodeDto> subjects;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NodeDto {
+        private Long id;
+        private String title;
+        private String description;
+        private Integer order;
+        private LocalDate targetCompletionDate;
+        private Double completionPercentage;
+        private Integer resourceCount;
+        // topics of a subject, subtopics of a topic, empty for a subtopic
+        private List<NodeDto> children;
+    }
+}
@@ -0,0 +1,46 @@
+package com.progresstracking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "node_completion",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"node_type", "node_id"}),
+        indexes = @Index(name = "idx_node_completion_syllabus_id", columnList = "syllabus_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NodeCompletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "node_completion_seq")
+    @SequenceGenerator(name = "node_completion_seq", sequenceName = "node_completion_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "node_type", nullable = false)
+    private NodeType nodeType;
+
+    @Column(name = "node_id", nullable = false)
+    private Long nodeId;
+
+    @Column(name = "syllabus_id", nullable = false)
+    private Long syllabusId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(name = "completed_children", nullable = false)
+    private Integer completedChildren;
+
+    @Column(name = "total_children", nullable = false)
+    private Integer totalChildren;
+
+    public enum NodeType {
+        SYLLABUS, SUBJECT, TOPIC, SUBTOPIC
+    }
+}
@@ -9,15 +9,22 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "progress_entries")
+@Table(name = "progress_entries",
+        indexes = @Index(name = "idx_progress_entries_user_subject", columnList = "user_id, subject_id"),
+        uniqueConstraints = @UniqueConstraint(name = ProgressEntry.KEY_CONSTRAINT,
+                columnNames = {"user_id", "item_type", "item_id", "date"}))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProgressEntry {
 
+    // At most one entry per user, item and day
+    public static final String KEY_CONSTRAINT = "uk_progress_entries_user_item_date";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progress_entries_seq")
+    @SequenceGenerator(name = "progress_entries_seq", sequenceName = "progress_entries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -31,6 +38,13 @@ public class ProgressEntry {
     @Column(name = "item_type", nullable = false)
     private ItemType itemType;
 
+    // Denormalized from the item so per-subject and per-syllabus aggregates need no tree walk
+    @Column(name = "subject_id")
+    private Long subjectId;
+
+    @Column(name = "syllabus_id")
+    private Long syllabusId;
+
     @Column(nullable = false)
     private LocalDate date;
 
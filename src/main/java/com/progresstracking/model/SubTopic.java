@@ -11,7 +11,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "subtopics")
+@Table(name = "subtopics",
+        indexes = @Index(name = "idx_subtopics_syllabus_id", columnList = "syllabus_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,13 +20,21 @@ import java.util.Set;
 public class SubTopic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subtopics_seq")
+    @SequenceGenerator(name = "subtopics_seq", sequenceName = "subtopics_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topic_id", nullable = false)
     private Topic topic;
 
+    // Denormalized from the topic so a whole syllabus or subject can be read without walking the tree
+    @Column(name = "subject_id")
+    private Long subjectId;
+
+    @Column(name = "syllabus_id")
+    private Long syllabusId;
+
     @Column(nullable = false)
     private String title;
 
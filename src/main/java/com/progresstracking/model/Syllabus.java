@@ -14,7 +14,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "syllabi")
+@Table(name = "syllabi",
+        indexes = @Index(name = "idx_syllabi_shareable_link", columnList = "shareable_link", unique = true))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +24,8 @@ import java.util.Set;
 public class Syllabus {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "syllabi_seq")
+    @SequenceGenerator(name = "syllabi_seq", sequenceName = "syllabi_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,6 +44,11 @@ public class Syllabus {
     @Column(name = "shareable_link")
     private String shareableLink;
 
+    // Bumped on every change to the syllabus or anything shown with it, backs the ETag of its responses
+    @Column(name = "version")
+    @Builder.Default
+    private Long version = 0L;
+
     @OneToMany(mappedBy = "syllabus", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<Subject> subjects = new HashSet<>();
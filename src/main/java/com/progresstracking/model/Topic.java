@@ -11,7 +11,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "topics")
+@Table(name = "topics",
+        indexes = @Index(name = "idx_topics_syllabus_id", columnList = "syllabus_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,13 +20,18 @@ import java.util.Set;
 public class Topic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topics_seq")
+    @SequenceGenerator(name = "topics_seq", sequenceName = "topics_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "subject_id", nullable = false)
     private Subject subject;
 
+    // Denormalized from the subject so a whole syllabus can be read without walking the tree
+    @Column(name = "syllabus_id")
+    private Long syllabusId;
+
     @Column(nullable = false)
     private String title;
 
@@ -0,0 +1,36 @@
+package com.progresstracking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "user_daily_activity",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "date"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDailyActivity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_daily_activity_seq")
+    @SequenceGenerator(name = "user_daily_activity_seq", sequenceName = "user_daily_activity_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Integer minutes;
+
+    @Column(nullable = false)
+    private Integer items;
+}
@@ -0,0 +1,43 @@
+package com.progresstracking.repository;
+
+import com.progresstracking.model.NodeCompletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NodeCompletionRepository extends JpaRepository<NodeCompletion, Long> {
+    
+    Optional<NodeCompletion> findByNodeTypeAndNodeId(NodeCompletion.NodeType nodeType, Long nodeId);
+    
+    List<NodeCompletion> findByNodeTypeAndNodeIdIn(NodeCompletion.NodeType nodeType, Collection<Long> nodeIds);
+    
+    List<NodeCompletion> findBySyllabusId(Long syllabusId);
+    
+    List<NodeCompletion> findBySyllabusIdIn(Collection<Long> syllabusIds);
+    
+    // (childId, score) of the children of one node, score null for a child that is not rolled up
+    @Query("SELECT st.id, n.score FROM SubTopic st LEFT JOIN NodeCompletion n " +
+           "ON n.nodeType = com.progresstracking.model.NodeCompletion$NodeType.SUBTOPIC AND n.nodeId = st.id " +
+           "WHERE st.topic.id = ?1")
+    List<Object[]> findSubTopicScoresByTopicId(Long topicId);
+    
+    @Query("SELECT t.id, n.score FROM Topic t LEFT JOIN NodeCompletion n " +
+           "ON n.nodeType = com.progresstracking.model.NodeCompletion$NodeType.TOPIC AND n.nodeId = t.id " +
+           "WHERE t.subject.id = ?1")
+    List<Object[]> findTopicScoresBySubjectId(Long subjectId);
+    
+    @Query("SELECT s.id, n.score FROM Subject s LEFT JOIN NodeCompletion n " +
+           "ON n.nodeType = com.progresstracking.model.NodeCompletion$NodeType.SUBJECT AND n.nodeId = s.id " +
+           "WHERE s.syllabus.id = ?1")
+    List<Object[]> findSubjectScoresBySyllabusId(Long syllabusId);
+    
+    @Modifying
+    @Query("DELETE FROM NodeCompletion n WHERE n.syllabusId = ?1")
+    void deleteBySyllabusId(Long syllabusId);
+}
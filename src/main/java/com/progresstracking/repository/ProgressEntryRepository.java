@@ -2,26 +2,47 @@ package com.progresstracking.repository;
 
 import com.progresstracking.model.ProgressEntry;
 import com.progresstracking.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProgressEntryRepository extends JpaRepository<ProgressEntry, Long> {
+public interface ProgressEntryRepository extends JpaRepository<ProgressEntry, Long>, ProgressEntryRepositoryCustom {
     
     List<ProgressEntry> findByUserAndItemTypeAndItemId(User user, ProgressEntry.ItemType itemType, Long itemId);
     
-    Page<ProgressEntry> findByUser(User user, Pageable pageable);
+    Page<ProgressEntry> findByUserId(Long userId, Pageable pageable);
     
-    List<ProgressEntry> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
+    List<ProgressEntry> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
     
-    Optional<ProgressEntry> findByUserAndItemTypeAndItemIdAndDate(User user, ProgressEntry.ItemType itemType, Long itemId, LocalDate date);
+    // read in fetch-size rounds from an open cursor; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM ProgressEntry p WHERE p.user.id = ?1 AND p.date BETWEEN ?2 AND ?3 ORDER BY p.date, p.id")
+    Stream<ProgressEntry> streamByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    @Query("SELECT DISTINCT p.status FROM ProgressEntry p WHERE p.user.id = ?1 AND p.itemType = ?2 AND p.itemId = ?3")
+    List<ProgressEntry.Status> findStatusesByUserIdAndItem(Long userId, ProgressEntry.ItemType itemType, Long itemId);
+    
+    Optional<ProgressEntry> findByUserIdAndItemTypeAndItemIdAndDate(Long userId, ProgressEntry.ItemType itemType, Long itemId, LocalDate date);
+    
+    // (itemType, itemId, date) of the user's entries on any of the items within the date range
+    @Query("SELECT p.itemType, p.itemId, p.date FROM ProgressEntry p " +
+           "WHERE p.user.id = ?1 AND p.itemId IN ?2 AND p.date BETWEEN ?3 AND ?4")
+    List<Object[]> findKeysByUserIdAndItemIds(Long userId, Collection<Long> itemIds, LocalDate startDate, LocalDate endDate);
     
     @Query("SELECT COUNT(DISTINCT p.date) FROM ProgressEntry p WHERE p.user = ?1 AND p.date BETWEEN ?2 AND ?3")
     Long countDistinctDatesByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
@@ -34,4 +55,30 @@ public interface ProgressEntryRepository extends JpaRepository<ProgressEntry, Lo
     
     @Query("SELECT p.itemType, SUM(p.timeSpentMinutes) FROM ProgressEntry p WHERE p.user = ?1 GROUP BY p.itemType")
     List<Object[]> sumTimeSpentByUserGroupByItemType(User user);
+    
+    @Query("SELECT SUM(p.timeSpentMinutes) FROM ProgressEntry p WHERE p.user.id = ?1")
+    Long sumTimeSpentByUserId(Long userId);
+    
+    // (subjectId, subjectTitle, minutes)
+    @Query("SELECT s.id, s.title, SUM(p.timeSpentMinutes) FROM ProgressEntry p JOIN Subject s ON s.id = p.subjectId " +
+           "WHERE p.user.id = ?1 AND p.timeSpentMinutes IS NOT NULL GROUP BY s.id, s.title")
+    List<Object[]> sumTimeSpentByUserIdGroupBySubject(Long userId);
+    
+    // (itemId, status) of the syllabus owner's entries on the subjects, topics and subtopics of the given syllabi
+    @Query("SELECT p.itemId, p.status FROM ProgressEntry p JOIN Subject s ON s.id = p.itemId " +
+           "WHERE p.itemType = com.progresstracking.model.ProgressEntry$ItemType.SUBJECT " +
+           "AND s.syllabus.id IN ?1 AND p.user.id = s.syllabus.user.id")
+    List<Object[]> findSubjectStatusesBySyllabusIds(Collection<Long> syllabusIds);
+    
+    @Query("SELECT p.itemId, p.status FROM ProgressEntry p JOIN Topic t ON t.id = p.itemId " +
+           "JOIN Syllabus sy ON sy.id = t.syllabusId " +
+           "WHERE p.itemType = com.progresstracking.model.ProgressEntry$ItemType.TOPIC " +
+           "AND t.syllabusId IN ?1 AND p.user.id = sy.user.id")
+    List<Object[]> findTopicStatusesBySyllabusIds(Collection<Long> syllabusIds);
+    
+    @Query("SELECT p.itemId, p.status FROM ProgressEntry p JOIN SubTopic st ON st.id = p.itemId " +
+           "JOIN Syllabus sy ON sy.id = st.syllabusId " +
+           "WHERE p.itemType = com.progresstracking.model.ProgressEntry$ItemType.SUBTOPIC " +
+           "AND st.syllabusId IN ?1 AND p.user.id = sy.user.id")
+    List<Object[]> findSubTopicStatusesBySyllabusIds(Collection<Long> syllabusIds);
 }
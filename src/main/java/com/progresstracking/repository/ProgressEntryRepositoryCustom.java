@@ -0,0 +1,21 @@
+package com.progresstracking.repository;
+
+import com.progresstracking.model.ProgressEntry;
+
+import java.util.List;
+
+public interface ProgressEntryRepositoryCustom {
+
+    /**
+     * Inserts the entry, or updates the stored one with the same (user, itemType, itemId, date) key, in a single
+     * statement. Returns the id of the row that now holds the entry.
+     */
+    Long upsertByKey(ProgressEntry progressEntry);
+    
+    /**
+     * Inserts the entries whose (user, itemType, itemId, date) key is still free and skips the others, including
+     * ones a concurrent writer inserted after the caller checked. Returns the inserted entries, with their ids set,
+     * in the order given. The entries must have distinct keys.
+     */
+    List<ProgressEntry> insertAllSkippingDuplicates(List<ProgressEntry> progressEntries);
+}
@@ -0,0 +1,176 @@
+package com.progresstracking.repository;
+
+import com.progresstracking.model.ProgressEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native upsert on the unique (user_id, item_type, item_id, date) key. PostgreSQL gets INSERT ... ON CONFLICT DO
+ * UPDATE and returns the id directly; other databases (H2 in tests) get a standard MERGE followed by an id lookup.
+ * Bulk inserts that skip taken keys work the same way: multi-row INSERT ... ON CONFLICT DO NOTHING on PostgreSQL,
+ * one insert-only MERGE per entry elsewhere.
+ */
+public class ProgressEntryRepositoryCustomImpl implements ProgressEntryRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO progress_entries (id, user_id, item_type, item_id, date, subject_id, syllabus_id, " +
+            "status, time_spent_minutes, notes) " +
+            "VALUES (nextval('progress_entries_seq'), :userId, :itemType, :itemId, :date, :subjectId, :syllabusId, " +
+            ":status, :timeSpentMinutes, :notes) " +
+            "ON CONFLICT (user_id, item_type, item_id, date) DO UPDATE SET " +
+            "subject_id = EXCLUDED.subject_id, syllabus_id = EXCLUDED.syllabus_id, status = EXCLUDED.status, " +
+            "time_spent_minutes = EXCLUDED.time_spent_minutes, notes = EXCLUDED.notes " +
+            "RETURNING id";
+
+    private static final String MERGE_UPSERT =
+            "MERGE INTO progress_entries t " +
+            "USING (VALUES (:userId, :itemType, :itemId, :date, :subjectId, :syllabusId, :status, " +
+            ":timeSpentMinutes, :notes)) " +
+            "AS s (user_id, item_type, item_id, date, subject_id, syllabus_id, status, time_spent_minutes, notes) " +
+            "ON t.user_id = s.user_id AND t.item_type = s.item_type AND t.item_id = s.item_id AND t.date = s.date " +
+            "WHEN MATCHED THEN UPDATE SET subject_id = s.subject_id, syllabus_id = s.syllabus_id, " +
+            "status = s.status, time_spent_minutes = s.time_spent_minutes, notes = s.notes " +
+            "WHEN NOT MATCHED THEN INSERT (id, user_id, item_type, item_id, date, subject_id, syllabus_id, status, " +
+            "time_spent_minutes, notes) VALUES (NEXT VALUE FOR progress_entries_seq, s.user_id, s.item_type, " +
+            "s.item_id, s.date, s.subject_id, s.syllabus_id, s.status, s.time_spent_minutes, s.notes)";
+
+    private static final String POSTGRES_INSERT_COLUMNS =
+            "INSERT INTO progress_entries (id, user_id, item_type, item_id, date, subject_id, syllabus_id, " +
+            "status, time_spent_minutes, notes) VALUES ";
+
+    private static final String POSTGRES_INSERT_SKIPPING_DUPLICATES =
+            " ON CONFLICT (user_id, item_type, item_id, date) DO NOTHING RETURNING id, item_type, item_id, date";
+
+    private static final String MERGE_INSERT =
+            "MERGE INTO progress_entries t " +
+            "USING (VALUES (:userId, :itemType, :itemId, :date, :subjectId, :syllabusId, :status, " +
+            ":timeSpentMinutes, :notes)) " +
+            "AS s (user_id, item_type, item_id, date, subject_id, syllabus_id, status, time_spent_minutes, notes) " +
+            "ON t.user_id = s.user_id AND t.item_type = s.item_type AND t.item_id = s.item_id AND t.date = s.date " +
+            "WHEN NOT MATCHED THEN INSERT (id, user_id, item_type, item_id, date, subject_id, syllabus_id, status, " +
+            "time_spent_minutes, notes) VALUES (NEXT VALUE FOR progress_entries_seq, s.user_id, s.item_type, " +
+            "s.item_id, s.date, s.subject_id, s.syllabus_id, s.status, s.time_spent_minutes, s.notes)";
+
+    // 10 parameters per row keeps a statement far below the PostgreSQL limit of 65535
+    private static final int INSERT_ROWS_PER_STATEMENT = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Long upsertByKey(ProgressEntry progressEntry) {
+        if (isPostgres()) {
+            Object id = bind(entityManager.createNativeQuery(POSTGRES_UPSERT), progressEntry).getSingleResult();
+            return ((Number) id).longValue();
+        }
+
+        bind(entityManager.createNativeQuery(MERGE_UPSERT), progressEntry).executeUpdate();
+        return findIdByKey(progressEntry);
+    }
+
+    @Override
+    public List<ProgressEntry> insertAllSkippingDuplicates(List<ProgressEntry> progressEntries) {
+        List<ProgressEntry> inserted = new ArrayList<>();
+        if (!isPostgres()) {
+            for (ProgressEntry progressEntry : progressEntries) {
+                if (bind(entityManager.createNativeQuery(MERGE_INSERT), progressEntry).executeUpdate() > 0) {
+                    progressEntry.setId(findIdByKey(progressEntry));
+                    inserted.add(progressEntry);
+                }
+            }
+            return inserted;
+        }
+
+        Map<String, Long> idsByKey = new HashMap<>();
+        for (int start = 0; start < progressEntries.size(); start += INSERT_ROWS_PER_STATEMENT) {
+            List<ProgressEntry> rows = progressEntries.subList(start,
+                    Math.min(start + INSERT_ROWS_PER_STATEMENT, progressEntries.size()));
+            insertRowsSkippingDuplicates(rows, idsByKey);
+        }
+        for (ProgressEntry progressEntry : progressEntries) {
+            Long id = idsByKey.get(key(progressEntry.getItemType().name(), progressEntry.getItemId(),
+                    progressEntry.getDate()));
+            if (id != null) {
+                progressEntry.setId(id);
+                inserted.add(progressEntry);
+            }
+        }
+        return inserted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void insertRowsSkippingDuplicates(List<ProgressEntry> rows, Map<String, Long> idsByKey) {
+        StringBuilder sql = new StringBuilder(POSTGRES_INSERT_COLUMNS);
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i > 0 ? ", " : "")
+                    .append("(nextval('progress_entries_seq'), :userId").append(i)
+                    .append(", :itemType").append(i).append(", :itemId").append(i).append(", :date").append(i)
+                    .append(", :subjectId").append(i).append(", :syllabusId").append(i).append(", :status").append(i)
+                    .append(", :timeSpentMinutes").append(i).append(", :notes").append(i).append(")");
+        }
+        sql.append(POSTGRES_INSERT_SKIPPING_DUPLICATES);
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        query.addSynchronizedEntityClass(ProgressEntry.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("item_type", StandardBasicTypes.STRING)
+                .addScalar("item_id", StandardBasicTypes.LONG)
+                .addScalar("date", StandardBasicTypes.LOCAL_DATE);
+        for (int i = 0; i < rows.size(); i++) {
+            bindRow(query, rows.get(i), String.valueOf(i));
+        }
+        for (Object[] row : query.getResultList()) {
+            idsByKey.put(key((String) row[1], (Long) row[2], (LocalDate) row[3]), (Long) row[0]);
+        }
+    }
+
+    private Long findIdByKey(ProgressEntry progressEntry) {
+        return entityManager.createQuery("SELECT p.id FROM ProgressEntry p WHERE p.user.id = ?1 " +
+                        "AND p.itemType = ?2 AND p.itemId = ?3 AND p.date = ?4", Long.class)
+                .setParameter(1, progressEntry.getUser().getId())
+                .setParameter(2, progressEntry.getItemType())
+                .setParameter(3, progressEntry.getItemId())
+                .setParameter(4, progressEntry.getDate())
+                .getSingleResult();
+    }
+
+    private String key(String itemType, Long itemId, LocalDate date) {
+        return itemType + ":" + itemId + ":" + date;
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object> bind(jakarta.persistence.Query query, ProgressEntry progressEntry) {
+        NativeQuery<Object> nativeQuery = query.unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(ProgressEntry.class);
+        bindRow(nativeQuery, progressEntry, "");
+        return nativeQuery;
+    }
+
+    private void bindRow(NativeQuery<?> query, ProgressEntry progressEntry, String suffix) {
+        // typed bindings, so null minutes, notes or ids still reach the database with a column type
+        query.setParameter("userId" + suffix, progressEntry.getUser().getId(), StandardBasicTypes.LONG)
+                .setParameter("itemType" + suffix, progressEntry.getItemType().name(), StandardBasicTypes.STRING)
+                .setParameter("itemId" + suffix, progressEntry.getItemId(), StandardBasicTypes.LONG)
+                .setParameter("date" + suffix, progressEntry.getDate(), StandardBasicTypes.LOCAL_DATE)
+                .setParameter("subjectId" + suffix, progressEntry.getSubjectId(), StandardBasicTypes.LONG)
+                .setParameter("syllabusId" + suffix, progressEntry.getSyllabusId(), StandardBasicTypes.LONG)
+                .setParameter("status" + suffix, progressEntry.getStatus().name(), StandardBasicTypes.STRING)
+                .setParameter("timeSpentMinutes" + suffix, progressEntry.getTimeSpentMinutes(), StandardBasicTypes.INTEGER)
+                .setParameter("notes" + suffix, progressEntry.getNotes(), StandardBasicTypes.STRING);
+    }
+}
@@ -2,6 +2,7 @@ package com.progresstracking.repository;
 
 import com.progresstracking.model.Resource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,9 +25,35 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
            "(:itemType = com.progresstracking.model.Resource$ItemType.SUBTOPIC AND r.subTopic.id = :itemId))")
     List<Resource> findByItemTypeAndItemId(@Param("itemType") Resource.ItemType itemType, @Param("itemId") Long itemId);
 
+    // (subjectId, topicId, subTopicId, count) for every item of the syllabus that has resources
+    @Query("SELECT r.subject.id, r.topic.id, r.subTopic.id, COUNT(r) FROM Resource r " +
+           "WHERE r.subject.id IN (SELECT s.id FROM Subject s WHERE s.syllabus.id = ?1) " +
+           "OR r.topic.id IN (SELECT t.id FROM Topic t WHERE t.syllabusId = ?1) " +
+           "OR r.subTopic.id IN (SELECT st.id FROM SubTopic st WHERE st.syllabusId = ?1) " +
+           "GROUP BY r.subject.id, r.topic.id, r.subTopic.id")
+    List<Object[]> countBySyllabusId(Long syllabusId);
+
     void deleteBySubjectId(Long subjectId);
 
     void deleteByTopicId(Long topicId);
 
     void deleteBySubTopicId(Long subTopicId);
+
+    // Bulk deletes of every resource attached to a node or anything below it
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Resource r WHERE r.subject.id IN (SELECT s.id FROM Subject s WHERE s.syllabus.id = ?1) " +
+           "OR r.topic.id IN (SELECT t.id FROM Topic t WHERE t.syllabusId = ?1) " +
+           "OR r.subTopic.id IN (SELECT st.id FROM SubTopic st WHERE st.syllabusId = ?1)")
+    int deleteSyllabusSubtree(Long syllabusId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Resource r WHERE r.subject.id = ?1 " +
+           "OR r.topic.id IN (SELECT t.id FROM Topic t WHERE t.subject.id = ?1) " +
+           "OR r.subTopic.id IN (SELECT st.id FROM SubTopic st WHERE st.subjectId = ?1)")
+    int deleteSubjectSubtree(Long subjectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Resource r WHERE r.topic.id = ?1 " +
+           "OR r.subTopic.id IN (SELECT st.id FROM SubTopic st WHERE st.topic.id = ?1)")
+    int deleteTopicSubtree(Long topicId);
 }
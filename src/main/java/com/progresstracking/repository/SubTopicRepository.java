@@ -3,16 +3,52 @@ package com.progresstracking.repository;
 import com.progresstracking.model.SubTopic;
 import com.progresstracking.model.Topic;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SubTopicRepository extends JpaRepository<SubTopic, Long> {
     
     List<SubTopic> findByTopicOrderByOrder(Topic topic);
     
+    List<SubTopic> findBySyllabusIdOrderByOrder(Long syllabusId);
+    
     @Query("SELECT MAX(st.order) FROM SubTopic st WHERE st.topic.id = ?1")
     Integer findMaxOrderByTopicId(Long topicId);
+    
+    // (id, title, parentId, syllabusId, ownerId)
+    @Query("SELECT st.id, st.title, st.topic.id, st.syllabusId, sy.user.id FROM SubTopic st " +
+           "JOIN Syllabus sy ON sy.id = st.syllabusId WHERE st.id IN ?1")
+    List<Object[]> findMetadataByIds(Collection<Long> ids);
+    
+    // (id, title, topicId)
+    @Query("SELECT st.id, st.title, st.topic.id FROM SubTopic st WHERE st.syllabusId IN ?1")
+    List<Object[]> findTitlesBySyllabusIds(Collection<Long> syllabusIds);
+    
+    // (topicId, subjectId, syllabusId)
+    @Query("SELECT st.topic.id, st.subjectId, st.syllabusId FROM SubTopic st WHERE st.id = ?1")
+    List<Object[]> findParentIdsById(Long subTopicId);
+    
+    @Query("SELECT st.syllabusId FROM SubTopic st WHERE st.id = ?1")
+    Optional<Long> findSyllabusIdById(Long subTopicId);
+    
+    @Query("SELECT st.id, st.topic.id FROM SubTopic st WHERE st.syllabusId IN ?1 ORDER BY st.order, st.id")
+    List<Object[]> findIdsBySyllabusIds(Collection<Long> syllabusIds);
+    
+    @Modifying
+    @Query("DELETE FROM SubTopic st WHERE st.syllabusId = ?1")
+    int deleteBySyllabusId(Long syllabusId);
+    
+    @Modifying
+    @Query("DELETE FROM SubTopic st WHERE st.subjectId = ?1")
+    int deleteBySubjectId(Long subjectId);
+    
+    @Modifying
+    @Query("DELETE FROM SubTopic st WHERE st.topic.id = ?1")
+    int deleteByTopicId(Long topicId);
 }
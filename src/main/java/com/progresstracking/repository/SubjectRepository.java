@@ -3,10 +3,13 @@ package com.progresstracking.repository;
 import com.progresstracking.model.Subject;
 import com.progresstracking.model.Syllabus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
@@ -15,4 +18,29 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
     
     @Query("SELECT MAX(s.order) FROM Subject s WHERE s.syllabus.id = ?1")
     Integer findMaxOrderBySyllabusId(Long syllabusId);
+    
+    @Query("SELECT s.syllabus.id, COUNT(s) FROM Subject s WHERE s.syllabus.id IN ?1 GROUP BY s.syllabus.id")
+    List<Object[]> countBySyllabusIds(Collection<Long> syllabusIds);
+    
+    // (id, title, parentId, syllabusId, ownerId)
+    @Query("SELECT s.id, s.title, s.syllabus.id, s.syllabus.id, s.syllabus.user.id FROM Subject s WHERE s.id IN ?1")
+    List<Object[]> findMetadataByIds(Collection<Long> ids);
+    
+    // (id, title, syllabusId)
+    @Query("SELECT s.id, s.title, s.syllabus.id FROM Subject s WHERE s.syllabus.id IN ?1")
+    List<Object[]> findTitlesBySyllabusIds(Collection<Long> syllabusIds);
+    
+    @Query("SELECT s.syllabus.id FROM Subject s WHERE s.id = ?1")
+    Optional<Long> findSyllabusIdById(Long subjectId);
+    
+    @Query("SELECT s.id, s.syllabus.id FROM Subject s WHERE s.syllabus.id IN ?1 ORDER BY s.order, s.id")
+    List<Object[]> findIdsBySyllabusIds(Collection<Long> syllabusIds);
+    
+    @Modifying
+    @Query("DELETE FROM Subject s WHERE s.syllabus.id = ?1")
+    int deleteBySyllabusId(Long syllabusId);
+    
+    @Modifying
+    @Query("DELETE FROM Subject s WHERE s.id = ?1")
+    int deleteRowById(Long id);
 }
@@ -2,9 +2,13 @@ package com.progresstracking.repository;
 
 import com.progresstracking.model.Syllabus;
 import com.progresstracking.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -14,15 +18,44 @@ import java.util.Optional;
 @Repository
 public interface SyllabusRepository extends JpaRepository<Syllabus, Long> {
     
-    Page<Syllabus> findByUser(User user, Pageable pageable);
+    Page<Syllabus> findByUserId(Long userId, Pageable pageable);
     
     List<Syllabus> findByUser(User user);
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT s FROM Syllabus s WHERE s.isPublic = true")
     Page<Syllabus> findAllPublic(Pageable pageable);
     
     Optional<Syllabus> findByShareableLink(String shareableLink);
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT s FROM Syllabus s WHERE s.user = ?1 OR s.isPublic = true")
     Page<Syllabus> findByUserOrPublic(User user, Pageable pageable);
+    
+    // serializes completion rollup writers of one syllabus
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Syllabus s WHERE s.id = ?1")
+    Optional<Syllabus> findByIdForUpdate(Long id);
+    
+    @Query("SELECT s.id, s.title FROM Syllabus s WHERE s.user.id = ?1")
+    List<Object[]> findTitlesByUserId(Long userId);
+    
+    @Query("SELECT s.id FROM Syllabus s WHERE s.id > ?1 ORDER BY s.id")
+    List<Long> findIdsAfter(Long afterId, Pageable pageable);
+    
+    // (version, ownerId, isPublic)
+    @Query("SELECT COALESCE(s.version, 0), s.user.id, s.isPublic FROM Syllabus s WHERE s.id = ?1")
+    List<Object[]> findVersionById(Long id);
+    
+    @Query("SELECT COALESCE(s.version, 0) FROM Syllabus s WHERE s.shareableLink = ?1")
+    Optional<Long> findVersionByShareableLink(String shareableLink);
+    
+    // flushes first so a pending update of the same row cannot write back the old version
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Syllabus s SET s.version = COALESCE(s.version, 0) + 1 WHERE s.id = ?1")
+    int incrementVersion(Long id);
+    
+    @Modifying
+    @Query("DELETE FROM Syllabus s WHERE s.id = ?1")
+    int deleteRowById(Long id);
 }
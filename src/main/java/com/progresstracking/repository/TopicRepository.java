@@ -3,16 +3,52 @@ package com.progresstracking.repository;
 import com.progresstracking.model.Subject;
 import com.progresstracking.model.Topic;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Long> {
     
     List<Topic> findBySubjectOrderByOrder(Subject subject);
     
+    List<Topic> findBySyllabusIdOrderByOrder(Long syllabusId);
+    
     @Query("SELECT MAX(t.order) FROM Topic t WHERE t.subject.id = ?1")
     Integer findMaxOrderBySubjectId(Long subjectId);
+    
+    // (id, title, parentId, syllabusId, ownerId)
+    @Query("SELECT t.id, t.title, t.subject.id, t.syllabusId, sy.user.id FROM Topic t " +
+           "JOIN Syllabus sy ON sy.id = t.syllabusId WHERE t.id IN ?1")
+    List<Object[]> findMetadataByIds(Collection<Long> ids);
+    
+    // (id, title, subjectId)
+    @Query("SELECT t.id, t.title, t.subject.id FROM Topic t WHERE t.syllabusId IN ?1")
+    List<Object[]> findTitlesBySyllabusIds(Collection<Long> syllabusIds);
+    
+    // (subjectId, syllabusId)
+    @Query("SELECT t.subject.id, t.syllabusId FROM Topic t WHERE t.id = ?1")
+    List<Object[]> findParentIdsById(Long topicId);
+    
+    @Query("SELECT t.syllabusId FROM Topic t WHERE t.id = ?1")
+    Optional<Long> findSyllabusIdById(Long topicId);
+    
+    @Query("SELECT t.id, t.subject.id FROM Topic t WHERE t.syllabusId IN ?1 ORDER BY t.order, t.id")
+    List<Object[]> findIdsBySyllabusIds(Collection<Long> syllabusIds);
+    
+    @Modifying
+    @Query("DELETE FROM Topic t WHERE t.syllabusId = ?1")
+    int deleteBySyllabusId(Long syllabusId);
+    
+    @Modifying
+    @Query("DELETE FROM Topic t WHERE t.subject.id = ?1")
+    int deleteBySubjectId(Long subjectId);
+    
+    @Modifying
+    @Query("DELETE FROM Topic t WHERE t.id = ?1")
+    int deleteRowById(Long id);
 }
@@ -0,0 +1,49 @@
+package com.progresstracking.repository;
+
+import com.progresstracking.model.UserDailyActivity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserDailyActivityRepository extends JpaRepository<UserDailyActivity, Long>,
+        UserDailyActivityRepositoryCustom {
+    
+    List<UserDailyActivity> findByUserIdOrderByDate(Long userId);
+    
+    List<UserDailyActivity> findByUserIdAndDateBetweenOrderByDate(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    @Query("SELECT MIN(a.date) FROM UserDailyActivity a WHERE a.userId = ?1")
+    LocalDate findFirstDateByUserId(Long userId);
+    
+    @Query("SELECT MAX(a.date) FROM UserDailyActivity a WHERE a.userId = ?1")
+    LocalDate findLastDateByUserId(Long userId);
+    
+    @Query("SELECT a.date FROM UserDailyActivity a WHERE a.userId = ?1 AND a.date <= ?2 ORDER BY a.date DESC")
+    List<LocalDate> findDatesByUserIdOnOrBefore(Long userId, LocalDate date, Pageable pageable);
+    
+    @Query("SELECT a.date FROM UserDailyActivity a WHERE a.userId = ?1 AND a.date >= ?2 ORDER BY a.date")
+    List<LocalDate> findDatesByUserIdOnOrAfter(Long userId, LocalDate date, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE UserDailyActivity a SET a.minutes = a.minutes + ?3, a.items = a.items + ?4 " +
+           "WHERE a.userId = ?1 AND a.date = ?2")
+    int addToDay(Long userId, LocalDate date, int minutes, int items);
+    
+    @Modifying
+    @Query("UPDATE UserDailyActivity a SET a.minutes = ?3, a.items = ?4 WHERE a.userId = ?1 AND a.date = ?2")
+    int setDay(Long userId, LocalDate date, int minutes, int items);
+    
+    @Query("SELECT COALESCE(SUM(p.timeSpentMinutes), 0), COUNT(p) FROM ProgressEntry p " +
+           "WHERE p.user.id = ?1 AND p.date = ?2")
+    List<Object[]> sumEntriesByUserIdAndDate(Long userId, LocalDate date);
+    
+    @Modifying
+    @Query("DELETE FROM UserDailyActivity a WHERE a.userId = ?1 AND a.date = ?2 AND a.items <= 0")
+    int deleteIfEmpty(Long userId, LocalDate date);
+}
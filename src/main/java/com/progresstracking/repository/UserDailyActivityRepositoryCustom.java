@@ -0,0 +1,12 @@
+package com.progresstracking.repository;
+
+import java.time.LocalDate;
+
+public interface UserDailyActivityRepositoryCustom {
+
+    /**
+     * Inserts the day row unless one already exists for (userId, date). Returns 1 when this call inserted it and
+     * 0 when another writer got there first, in which case the caller adds to that row instead.
+     */
+    int insertDayIfAbsent(Long userId, LocalDate date, int minutes, int items);
+}
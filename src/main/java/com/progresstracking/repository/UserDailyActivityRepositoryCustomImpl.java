@@ -0,0 +1,52 @@
+package com.progresstracking.repository;
+
+import com.progresstracking.model.UserDailyActivity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDate;
+
+/**
+ * Conflict-free insert of a day row on the unique (user_id, date) key. PostgreSQL gets INSERT ... ON CONFLICT DO
+ * NOTHING, which waits for a concurrent insert of the same day and then skips; other databases (H2 in tests) get a
+ * standard MERGE that only inserts.
+ */
+public class UserDailyActivityRepositoryCustomImpl implements UserDailyActivityRepositoryCustom {
+
+    private static final String POSTGRES_INSERT =
+            "INSERT INTO user_daily_activity (id, user_id, date, minutes, items) " +
+            "VALUES (nextval('user_daily_activity_seq'), :userId, :date, :minutes, :items) " +
+            "ON CONFLICT (user_id, date) DO NOTHING";
+
+    private static final String MERGE_INSERT =
+            "MERGE INTO user_daily_activity t " +
+            "USING (VALUES (:userId, :date, :minutes, :items)) AS s (user_id, date, minutes, items) " +
+            "ON t.user_id = s.user_id AND t.date = s.date " +
+            "WHEN NOT MATCHED THEN INSERT (id, user_id, date, minutes, items) " +
+            "VALUES (NEXT VALUE FOR user_daily_activity_seq, s.user_id, s.date, s.minutes, s.items)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int insertDayIfAbsent(Long userId, LocalDate date, int minutes, int items) {
+        return entityManager.createNativeQuery(isPostgres() ? POSTGRES_INSERT : MERGE_INSERT)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(UserDailyActivity.class)
+                .setParameter("userId", userId, StandardBasicTypes.LONG)
+                .setParameter("date", date, StandardBasicTypes.LOCAL_DATE)
+                .setParameter("minutes", minutes, StandardBasicTypes.INTEGER)
+                .setParameter("items", items, StandardBasicTypes.INTEGER)
+                .executeUpdate();
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
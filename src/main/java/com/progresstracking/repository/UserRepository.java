@@ -1,9 +1,15 @@
 package com.progresstracking.repository;
 
 import com.progresstracking.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +24,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     
     Optional<User> findByVerificationToken(String token);
+    
+    @Query("SELECT u.emailVerified FROM User u WHERE u.id = ?1")
+    Optional<Boolean> findEmailVerifiedById(Long id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = ?1")
+    Optional<User> findByIdForUpdate(Long id);
+    
+    // (currentStreak, longestStreak, lastActivityDate), read from the database rather than the persistence context
+    @Query("SELECT u.currentStreak, u.longestStreak, u.lastActivityDate FROM User u WHERE u.id = ?1")
+    List<Object[]> findStreakById(Long id);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.currentStreak = ?2, u.longestStreak = ?3, u.lastActivityDate = ?4 WHERE u.id = ?1")
+    void updateStreak(Long id, Integer currentStreak, Integer longestStreak, LocalDate lastActivityDate);
 }
@@ -1,5 +1,6 @@
 package com.progresstracking.security;
 
+import com.progresstracking.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
@@ -20,7 +22,11 @@ import java.util.function.Function;
 @Slf4j
 public class JwtTokenProvider {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserStatusCache userStatusCache;
 
     @Value("${app.jwt.secret}")
     private String jwtSecret;
@@ -33,13 +39,27 @@ public class JwtTokenProvider {
 
     private Key key;
 
+    // thread-safe once built, so every request shares it instead of rebuilding it per call
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
-    public String generateAccessToken(String username) {
-        return generateToken(username, accessTokenExpirationMs);
+    public String generateAccessToken(User user) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + accessTokenExpirationMs);
+
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(key)
+                .compact();
     }
 
     public String generateRefreshToken(String username) {
@@ -72,17 +92,16 @@ public class JwtTokenProvider {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the signature and expiry of the token and returns its claims, parsing it exactly once.
+     * An invalid token is logged and yields an empty result.
+     */
+    public Optional<Claims> parseToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return Optional.of(getAllClaimsFromToken(token));
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -91,12 +110,39 @@ public class JwtTokenProvider {
             log.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
+        } catch (JwtException ex) {
+            log.error("Invalid JWT signature");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
     }
 
     public Authentication getAuthentication(String token) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(getUsernameFromToken(token));
+        return getAuthentication(getAllClaimsFromToken(token));
+    }
+
+    /**
+     * Builds the authentication from the token's id and role claims. Tokens issued before those claims existed
+     * fall back to loading the user by name. Returns null when the user no longer exists.
+     */
+    public Authentication getAuthentication(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+
+        UserDetails userDetails;
+        if (userId != null && role != null) {
+            Optional<Boolean> emailVerified = userStatusCache.getEmailVerified(userId.longValue());
+            if (emailVerified.isEmpty()) {
+                return null;
+            }
+            userDetails = new UserPrincipal(userId.longValue(), claims.getSubject(), User.Role.valueOf(role),
+                    emailVerified.get());
+        } else {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        }
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 }
@@ -0,0 +1,57 @@
+package com.progresstracking.security;
+
+import com.progresstracking.model.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Authenticated user as seen by controllers and services, carrying the user id so ownership checks need no
+ * lookup. Built from the claims of an access token on every request, or from the user row at login.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final User.Role role;
+    private final boolean enabled;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String username, User.Role role, boolean enabled) {
+        this(id, username, "", role, enabled);
+    }
+
+    public UserPrincipal(Long id, String username, String password, User.Role role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.enabled = enabled;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+}
@@ -0,0 +1,73 @@
+package com.progresstracking.security;
+
+import com.progresstracking.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Short-lived view of whether a user still exists and has a verified email. Token authentication consults it
+ * so that a removed user loses access within the TTL without a query on every request. Disabled, it answers
+ * every lookup from the token alone.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Long, CachedStatus> statusByUser;
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${app.cache.user-status.enabled:true}") boolean enabled,
+                           @Value("${app.cache.user-status.max-size:10000}") int maxSize,
+                           @Value("${app.cache.user-status.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.statusByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedStatus> eldest) {
+                return size() > UserStatusCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns whether the user's email is verified, or empty when the user no longer exists.
+     */
+    public Optional<Boolean> getEmailVerified(Long userId) {
+        if (!enabled) {
+            return Optional.of(true);
+        }
+
+        synchronized (this) {
+            CachedStatus cached = statusByUser.get(userId);
+            if (cached != null && System.nanoTime() - cached.loadedAt <= ttlNanos) {
+                return cached.emailVerified;
+            }
+        }
+
+        Optional<Boolean> emailVerified = userRepository.findEmailVerifiedById(userId);
+        synchronized (this) {
+            statusByUser.put(userId, new CachedStatus(emailVerified, System.nanoTime()));
+        }
+        return emailVerified;
+    }
+
+    private static class CachedStatus {
+        private final Optional<Boolean> emailVerified;
+        private final long loadedAt;
+
+        private CachedStatus(Optional<Boolean> emailVerified, long loadedAt) {
+            this.emailVerified = emailVerified;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.progresstracking.service;
+
+import com.progresstracking.dto.admin.CompletionConsistencyResponse;
+import com.progresstracking.model.NodeCompletion;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface CompletionRollupService {
+
+    Double getCompletion(NodeCompletion.NodeType nodeType, Long nodeId);
+    
+    Map<Long, Double> calculateCompletion(Collection<Long> syllabusIds);
+    
+    Map<NodeCompletion.NodeType, Map<Long, Double>> getSyllabusNodeCompletions(Long syllabusId);
+    
+    void refreshSyllabus(Long syllabusId);
+    
+    void refreshNode(NodeCompletion.NodeType nodeType, Long nodeId);
+    
+    void removeSyllabus(Long syllabusId);
+    
+    int rebuildAll();
+    
+    CompletionConsistencyResponse checkConsistency();
+}
@@ -0,0 +1,26 @@
+package com.progresstracking.service;
+
+import com.progresstracking.model.UserDailyActivity;
+import com.progresstracking.service.cache.ActivityPrefixSums;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyActivityService {
+
+    void recordEntryAdded(Long userId, LocalDate date, Integer timeSpentMinutes);
+    
+    void recordEntriesAdded(Long userId, LocalDate date, int timeSpentMinutes, int entries);
+    
+    void recordEntryRemoved(Long userId, LocalDate date, Integer timeSpentMinutes);
+    
+    void recordEntryChanged(Long userId, LocalDate date, Integer previousTimeSpentMinutes, Integer timeSpentMinutes);
+    
+    void refreshDay(Long userId, LocalDate date);
+    
+    List<UserDailyActivity> getDailyActivity(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    ActivityPrefixSums getPrefixSums(Long userId);
+    
+    Integer getCurrentStreak(Long userId);
+}
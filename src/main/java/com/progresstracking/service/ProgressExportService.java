@@ -0,0 +1,13 @@
+package com.progresstracking.service;
+
+import com.progresstracking.service.importer.ImportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ProgressExportService {
+
+    void exportProgress(Long userId, LocalDate startDate, LocalDate endDate, ImportFormat format, OutputStream out)
+            throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.progresstracking.service;
+
+import com.progresstracking.dto.progress.ProgressImportResponse;
+import com.progresstracking.service.importer.ImportFormat;
+
+import java.io.InputStream;
+
+public interface ProgressImportService {
+
+    ProgressImportResponse importProgress(InputStream body, ImportFormat format, Long userId);
+}
@@ -3,6 +3,9 @@ package com.progresstracking.service;
 import com.progresstracking.dto.analytics.CompletionSummaryResponse;
 import com.progresstracking.dto.analytics.ProgressSummaryResponse;
 import com.progresstracking.dto.analytics.TimeDistributionResponse;
+import com.progresstracking.dto.analytics.WindowSummaryResponse;
+import com.progresstracking.dto.progress.ProgressEntryBatchRequest;
+import com.progresstracking.dto.progress.ProgressEntryBatchResponse;
 import com.progresstracking.dto.progress.ProgressEntryRequest;
 import com.progresstracking.dto.progress.ProgressEntryResponse;
 import org.springframework.data.domain.Page;
@@ -13,17 +16,21 @@ import java.util.List;
 
 public interface ProgressService {
 
-    ProgressEntryResponse createProgressEntry(ProgressEntryRequest progressEntryRequest, String username);
+    ProgressEntryResponse createProgressEntry(ProgressEntryRequest progressEntryRequest, Long userId);
     
-    ProgressEntryResponse getProgressEntryById(Long id, String username);
+    ProgressEntryResponse upsertProgressEntry(ProgressEntryRequest progressEntryRequest, Long userId);
     
-    ProgressEntryResponse updateProgressEntry(Long id, ProgressEntryRequest progressEntryRequest, String username);
+    ProgressEntryBatchResponse createProgressEntries(ProgressEntryBatchRequest batchRequest, Long userId);
     
-    void deleteProgressEntry(Long id, String username);
+    ProgressEntryResponse getProgressEntryById(Long id, Long userId);
     
-    Page<ProgressEntryResponse> getUserProgressEntries(String username, Pageable pageable);
+    ProgressEntryResponse updateProgressEntry(Long id, ProgressEntryRequest progressEntryRequest, Long userId);
     
-    List<ProgressEntryResponse> getUserProgressEntriesByDateRange(String username, LocalDate startDate, LocalDate endDate);
+    void deleteProgressEntry(Long id, Long userId);
+    
+    Page<ProgressEntryResponse> getUserProgressEntries(Long userId, Pageable pageable);
+    
+    List<ProgressEntryResponse> getUserProgressEntriesByDateRange(Long userId, LocalDate startDate, LocalDate endDate);
     
     Double calculateSyllabusCompletionPercentage(Long syllabusId);
     
@@ -33,11 +40,13 @@ public interface ProgressService {
     
     Double calculateSubTopicCompletionPercentage(Long subTopicId);
     
-    CompletionSummaryResponse getSyllabusCompletionSummary(Long syllabusId, String username);
+    CompletionSummaryResponse getSyllabusCompletionSummary(Long syllabusId, Long userId);
+    
+    ProgressSummaryResponse getUserProgressSummary(Long userId, LocalDate startDate, LocalDate endDate);
     
-    ProgressSummaryResponse getUserProgressSummary(String username, LocalDate startDate, LocalDate endDate);
+    WindowSummaryResponse getUserProgressWindows(Long userId, List<Integer> windowDays);
     
-    TimeDistributionResponse getUserTimeDistribution(String username);
+    TimeDistributionResponse getUserTimeDistribution(Long userId);
     
-    Integer getCurrentStreak(String username);
+    Integer getCurrentStreak(Long userId);
 }
@@ -8,13 +8,13 @@ import java.util.List;
 
 public interface ResourceService {
 
-    ResourceResponse createResource(Long itemId, Resource.ItemType itemType, ResourceRequest resourceRequest, String username);
+    ResourceResponse createResource(Long itemId, Resource.ItemType itemType, ResourceRequest resourceRequest, Long userId);
     
-    ResourceResponse getResourceById(Long id, String username);
+    ResourceResponse getResourceById(Long id, Long userId);
     
-    List<ResourceResponse> getResourcesByItem(Long itemId, Resource.ItemType itemType, String username);
+    List<ResourceResponse> getResourcesByItem(Long itemId, Resource.ItemType itemType, Long userId);
     
-    ResourceResponse updateResource(Long id, ResourceRequest resourceRequest, String username);
+    ResourceResponse updateResource(Long id, ResourceRequest resourceRequest, Long userId);
     
-    void deleteResource(Long id, String username);
+    void deleteResource(Long id, Long userId);
 }
@@ -7,15 +7,15 @@ import java.util.List;
 
 public interface SubTopicService {
 
-    SubTopicResponse createSubTopic(Long topicId, SubTopicRequest subTopicRequest, String username);
+    SubTopicResponse createSubTopic(Long topicId, SubTopicRequest subTopicRequest, Long userId);
     
-    SubTopicResponse getSubTopicById(Long id, String username);
+    SubTopicResponse getSubTopicById(Long id, Long userId);
     
-    List<SubTopicResponse> getSubTopicsByTopic(Long topicId, String username);
+    List<SubTopicResponse> getSubTopicsByTopic(Long topicId, Long userId);
     
-    SubTopicResponse updateSubTopic(Long id, SubTopicRequest subTopicRequest, String username);
+    SubTopicResponse updateSubTopic(Long id, SubTopicRequest subTopicRequest, Long userId);
     
-    void deleteSubTopic(Long id, String username);
+    void deleteSubTopic(Long id, Long userId);
     
-    void reorderSubTopics(Long topicId, List<Long> subTopicIds, String username);
+    void reorderSubTopics(Long topicId, List<Long> subTopicIds, Long userId);
 }
@@ -7,15 +7,15 @@ import java.util.List;
 
 public interface SubjectService {
 
-    SubjectResponse createSubject(Long syllabusId, SubjectRequest subjectRequest, String username);
+    SubjectResponse createSubject(Long syllabusId, SubjectRequest subjectRequest, Long userId);
     
-    SubjectResponse getSubjectById(Long id, String username);
+    SubjectResponse getSubjectById(Long id, Long userId);
     
-    List<SubjectResponse> getSubjectsBySyllabus(Long syllabusId, String username);
+    List<SubjectResponse> getSubjectsBySyllabus(Long syllabusId, Long userId);
     
-    SubjectResponse updateSubject(Long id, SubjectRequest subjectRequest, String username);
+    SubjectResponse updateSubject(Long id, SubjectRequest subjectRequest, Long userId);
     
-    void deleteSubject(Long id, String username);
+    void deleteSubject(Long id, Long userId);
     
-    void reorderSubjects(Long syllabusId, List<Long> subjectIds, String username);
+    void reorderSubjects(Long syllabusId, List<Long> subjectIds, Long userId);
 }
@@ -2,26 +2,33 @@ package com.progresstracking.service;
 
 import com.progresstracking.dto.syllabus.SyllabusRequest;
 import com.progresstracking.dto.syllabus.SyllabusResponse;
+import com.progresstracking.dto.syllabus.SyllabusTreeResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface SyllabusService {
 
-    SyllabusResponse createSyllabus(SyllabusRequest syllabusRequest, String username);
+    SyllabusResponse createSyllabus(SyllabusRequest syllabusRequest, Long userId);
     
-    SyllabusResponse getSyllabusById(Long id, String username);
+    SyllabusResponse getSyllabusById(Long id, Long userId);
     
-    SyllabusResponse updateSyllabus(Long id, SyllabusRequest syllabusRequest, String username);
+    SyllabusTreeResponse getSyllabusTree(Long id, Long userId, boolean includeCompletion);
     
-    void deleteSyllabus(Long id, String username);
+    Long getSyllabusVersion(Long id, Long userId);
     
-    Page<SyllabusResponse> getUserSyllabi(String username, Pageable pageable);
+    Long getSharedSyllabusVersion(String shareableLink);
+    
+    SyllabusResponse updateSyllabus(Long id, SyllabusRequest syllabusRequest, Long userId);
+    
+    void deleteSyllabus(Long id, Long userId);
+    
+    Page<SyllabusResponse> getUserSyllabi(Long userId, Pageable pageable);
     
     Page<SyllabusResponse> getPublicSyllabi(Pageable pageable);
     
     SyllabusResponse getSyllabusByShareableLink(String shareableLink);
     
-    String generateShareableLink(Long id, String username);
+    String generateShareableLink(Long id, Long userId);
     
-    void revokeShareableLink(Long id, String username);
+    void revokeShareableLink(Long id, Long userId);
 }
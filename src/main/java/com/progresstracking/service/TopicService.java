@@ -7,15 +7,15 @@ import java.util.List;
 
 public interface TopicService {
 
-    TopicResponse createTopic(Long subjectId, TopicRequest topicRequest, String username);
+    TopicResponse createTopic(Long subjectId, TopicRequest topicRequest, Long userId);
     
-    TopicResponse getTopicById(Long id, String username);
+    TopicResponse getTopicById(Long id, Long userId);
     
-    List<TopicResponse> getTopicsBySubject(Long subjectId, String username);
+    List<TopicResponse> getTopicsBySubject(Long subjectId, Long userId);
     
-    TopicResponse updateTopic(Long id, TopicRequest topicRequest, String username);
+    TopicResponse updateTopic(Long id, TopicRequest topicRequest, Long userId);
     
-    void deleteTopic(Long id, String username);
+    void deleteTopic(Long id, Long userId);
     
-    void reorderTopics(Long subjectId, List<Long> topicIds, String username);
+    void reorderTopics(Long subjectId, List<Long> topicIds, Long userId);
 }
@@ -0,0 +1,92 @@
+package com.progresstracking.service.cache;
+
+import com.progresstracking.repository.UserDailyActivityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-user {@link ActivityPrefixSums}, built from user_daily_activity on first use and dropped whenever one of the
+ * user's progress entries changes. Bounded to the most recently used users. A build that overlapped an
+ * invalidation of the same user is returned to its caller but not cached.
+ */
+@Component
+public class ActivityPrefixCache {
+
+    private final UserDailyActivityRepository userDailyActivityRepository;
+
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final Map<Long, CachedSums> sumsByUser;
+    private final CacheGenerations<Long> generations;
+
+    public ActivityPrefixCache(UserDailyActivityRepository userDailyActivityRepository,
+                               @Value("${app.cache.activity-prefix.max-users:1000}") int maxUsers,
+                               @Value("${app.cache.activity-prefix.ttl-seconds:3600}") long ttlSeconds) {
+        this.userDailyActivityRepository = userDailyActivityRepository;
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.generations = new CacheGenerations<>(maxUsers);
+        this.sumsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSums> eldest) {
+                return size() > ActivityPrefixCache.this.maxUsers;
+            }
+        };
+    }
+
+    public ActivityPrefixSums get(Long userId) {
+        long generation;
+        synchronized (this) {
+            CachedSums cached = sumsByUser.get(userId);
+            if (cached != null && System.nanoTime() - cached.builtAt <= ttlNanos) {
+                return cached.sums;
+            }
+            generation = generations.current(userId);
+        }
+
+        ActivityPrefixSums sums = ActivityPrefixSums.of(userDailyActivityRepository.findByUserIdOrderByDate(userId));
+        synchronized (this) {
+            if (generations.current(userId) == generation) {
+                sumsByUser.put(userId, new CachedSums(sums, System.nanoTime()));
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * Drops the user's sums now and again once the surrounding transaction completes, so a rebuild that raced
+     * the write cannot keep the pre-commit totals.
+     */
+    public void invalidate(Long userId) {
+        Runnable evict = () -> {
+            synchronized (this) {
+                sumsByUser.remove(userId);
+                generations.invalidate(userId);
+            }
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private static class CachedSums {
+        private final ActivityPrefixSums sums;
+        private final long builtAt;
+
+        private CachedSums(ActivityPrefixSums sums, long builtAt) {
+            this.sums = sums;
+            this.builtAt = builtAt;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.progresstracking.service.cache;
+
+import com.progresstracking.model.UserDailyActivity;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cumulative minutes and items over a user's active days, in date order. Slot {@code i} holds the totals of the
+ * first {@code i} active days, so the totals of any date range are the difference of the two slots found by
+ * binary search on the active dates. Memory follows the number of active days, not the span between them.
+ */
+public class ActivityPrefixSums {
+
+    private final long[] epochDays;
+    private final long[] minutes;
+    private final long[] items;
+
+    private ActivityPrefixSums(long[] epochDays, long[] minutes, long[] items) {
+        this.epochDays = epochDays;
+        this.minutes = minutes;
+        this.items = items;
+    }
+
+    /**
+     * Builds the sums from the user's rollup rows, which must be ordered by date.
+     */
+    public static ActivityPrefixSums of(List<UserDailyActivity> days) {
+        long[] epochDays = new long[days.size()];
+        long[] minutes = new long[days.size() + 1];
+        long[] items = new long[days.size() + 1];
+
+        for (int i = 0; i < days.size(); i++) {
+            UserDailyActivity day = days.get(i);
+            epochDays[i] = day.getDate().toEpochDay();
+            minutes[i + 1] = minutes[i] + day.getMinutes();
+            items[i + 1] = items[i] + day.getItems();
+        }
+        return new ActivityPrefixSums(epochDays, minutes, items);
+    }
+
+    public long minutesBetween(LocalDate startDate, LocalDate endDate) {
+        return minutes[slotAfter(endDate)] - minutes[slotBefore(startDate)];
+    }
+
+    public long itemsBetween(LocalDate startDate, LocalDate endDate) {
+        return items[slotAfter(endDate)] - items[slotBefore(startDate)];
+    }
+
+    public int activeDaysBetween(LocalDate startDate, LocalDate endDate) {
+        return slotAfter(endDate) - slotBefore(startDate);
+    }
+
+    /**
+     * Number of active days before {@code date}.
+     */
+    private int slotBefore(LocalDate date) {
+        return firstSlotAtOrAfter(date.toEpochDay());
+    }
+
+    /**
+     * Number of active days up to and including {@code date}.
+     */
+    private int slotAfter(LocalDate date) {
+        return firstSlotAtOrAfter(date.toEpochDay() + 1);
+    }
+
+    private int firstSlotAtOrAfter(long epochDay) {
+        int slot = Arrays.binarySearch(epochDays, epochDay);
+        return slot >= 0 ? slot : -slot - 1;
+    }
+}
@@ -0,0 +1,42 @@
+package com.progresstracking.service.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Invalidation generations of cache keys, so a load that raced an invalidation is not put back. A loader reads
+ * {@link #current} before querying and only stores its result if the value is unchanged afterwards.
+ * <p>
+ * Generations come from one increasing clock. Only the most recently invalidated keys are remembered; a key that
+ * is not reports the highest generation forgotten so far, which is newer than anything a loader could have read
+ * before that key's last invalidation. Forgetting a key can therefore only cost a skipped put, never a stale one.
+ * Not thread-safe; callers hold their cache's lock.
+ */
+class CacheGenerations<K> {
+
+    private final int maxKeys;
+    private final Map<K, Long> generations = new HashMap<>();
+    private long clock;
+    private long floor;
+
+    CacheGenerations(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    long current(K key) {
+        return generations.getOrDefault(key, floor);
+    }
+
+    void invalidate(K key) {
+        if (generations.size() >= maxKeys) {
+            // drop them all at once rather than tracking recency; in-flight loads of any key just skip their put
+            invalidateAll();
+        }
+        generations.put(key, ++clock);
+    }
+
+    void invalidateAll() {
+        generations.clear();
+        floor = ++clock;
+    }
+}
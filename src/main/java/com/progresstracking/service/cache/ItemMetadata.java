@@ -0,0 +1,28 @@
+package com.progresstracking.service.cache;
+
+import com.progresstracking.model.ProgressEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The parts of a subject, topic or subtopic that are read on almost every request but rarely change: its title,
+ * where it hangs in the tree and who owns the syllabus it belongs to. Enough to authorize the owner without loading
+ * the chain of parents; whether anybody else may read it is checked live by {@link ItemMetadataCache#isReadableBy}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ItemMetadata {
+
+    private final ProgressEntry.ItemType itemType;
+    private final Long id;
+    private final String title;
+    private final Long parentId;
+    private final Long syllabusId;
+    private final Long ownerId;
+
+    public boolean isOwnedBy(Long userId) {
+        return ownerId.equals(userId);
+    }
+}
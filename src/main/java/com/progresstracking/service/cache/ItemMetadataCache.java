@@ -0,0 +1,227 @@
+package com.progresstracking.service.cache;
+
+import com.progresstracking.dto.admin.CacheStatsResponse;
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.SyllabusRepository;
+import com.progresstracking.repository.TopicRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Bounded, in-process cache of {@link ItemMetadata} keyed by item type and id. Entries are evicted least recently
+ * used once the cache is full and expire after a fixed time to live, so a missed invalidation heals on its own.
+ * <p>
+ * Writers that change a title or remove items call one of the invalidate methods. The entry is dropped right away
+ * and again once the surrounding transaction completes, so a reader that reloaded it in between cannot keep the
+ * pre-commit value around. A load that overlapped an invalidation of the same item is returned but not cached.
+ * <p>
+ * Invalidation only reaches this instance, so nothing that can change under another instance is cached for long:
+ * the owner of a syllabus never changes, and its visibility is not cached at all but read by
+ * {@link #isReadableBy} with the same single-row lookup as the syllabus version.
+ */
+@Component
+public class ItemMetadataCache {
+
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final SubTopicRepository subTopicRepository;
+    private final SyllabusRepository syllabusRepository;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, CachedItem> items;
+    private final CacheGenerations<String> generations;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public ItemMetadataCache(SubjectRepository subjectRepository,
+                             TopicRepository topicRepository,
+                             SubTopicRepository subTopicRepository,
+                             SyllabusRepository syllabusRepository,
+                             @Value("${app.cache.item-metadata.max-size:10000}") int maxSize,
+                             @Value("${app.cache.item-metadata.ttl-seconds:600}") long ttlSeconds) {
+        this.subjectRepository = subjectRepository;
+        this.topicRepository = topicRepository;
+        this.subTopicRepository = subTopicRepository;
+        this.syllabusRepository = syllabusRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.generations = new CacheGenerations<>(maxSize);
+        this.items = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedItem> eldest) {
+                if (size() > ItemMetadataCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<ItemMetadata> get(ProgressEntry.ItemType itemType, Long id) {
+        return Optional.ofNullable(getAll(itemType, Collections.singletonList(id)).get(id));
+    }
+
+    /**
+     * Returns the metadata of every item that exists, loading all misses with a single query. Ids of items that
+     * do not exist are absent from the result and are not cached.
+     */
+    public Map<Long, ItemMetadata> getAll(ProgressEntry.ItemType itemType, Collection<Long> ids) {
+        Map<Long, ItemMetadata> result = new HashMap<>();
+        Map<Long, Long> missing = new HashMap<>();
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (Long id : ids) {
+                String key = key(itemType, id);
+                CachedItem cached = items.get(key);
+                if (cached != null && now - cached.loadedAt > ttlNanos) {
+                    items.remove(key);
+                    expirations++;
+                    cached = null;
+                }
+                if (cached != null) {
+                    hits++;
+                    result.put(id, cached.metadata);
+                } else if (!missing.containsKey(id)) {
+                    missing.put(id, generations.current(key));
+                    misses++;
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<ItemMetadata> loaded = load(itemType, missing.keySet());
+            synchronized (this) {
+                long now = System.nanoTime();
+                for (ItemMetadata metadata : loaded) {
+                    String key = key(itemType, metadata.getId());
+                    if (generations.current(key) == missing.get(metadata.getId())) {
+                        items.put(key, new CachedItem(metadata, now));
+                    }
+                    result.put(metadata.getId(), metadata);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether the user may read the item: its owner always, anybody else only while the syllabus is public, which
+     * is checked against the database on every call.
+     */
+    public boolean isReadableBy(ItemMetadata item, Long userId) {
+        if (item.isOwnedBy(userId)) {
+            return true;
+        }
+        // (version, ownerId, isPublic)
+        List<Object[]> rows = syllabusRepository.findVersionById(item.getSyllabusId());
+        return !rows.isEmpty() && Boolean.TRUE.equals(rows.get(0)[2]);
+    }
+
+    public void invalidate(ProgressEntry.ItemType itemType, Long id) {
+        String key = key(itemType, id);
+        runNowAndAfterCompletion(() -> {
+            synchronized (this) {
+                items.remove(key);
+                generations.invalidate(key);
+            }
+        });
+    }
+
+    /**
+     * Drops every cached item of a syllabus, used when a removal cascades down the tree.
+     */
+    public void invalidateSyllabus(Long syllabusId) {
+        runNowAndAfterCompletion(() -> {
+            synchronized (this) {
+                items.values().removeIf(cached -> syllabusId.equals(cached.metadata.getSyllabusId()));
+                // items of the syllabus that are being loaded are not known by key
+                generations.invalidateAll();
+            }
+        });
+    }
+
+    public synchronized void clear() {
+        items.clear();
+        generations.invalidateAll();
+    }
+
+    public synchronized CacheStatsResponse getStats() {
+        long lookups = hits + misses;
+        return CacheStatsResponse.builder()
+                .size(items.size())
+                .maxSize(maxSize)
+                .ttlSeconds(ttlNanos / 1_000_000_000L)
+                .hits(hits)
+                .misses(misses)
+                .evictions(evictions)
+                .expirations(expirations)
+                .hitRate(lookups > 0 ? (double) hits / lookups : 0.0)
+                .build();
+    }
+
+    private List<ItemMetadata> load(ProgressEntry.ItemType itemType, Collection<Long> ids) {
+        List<Object[]> rows;
+        switch (itemType) {
+            case SUBJECT:
+                rows = subjectRepository.findMetadataByIds(ids);
+                break;
+            case TOPIC:
+                rows = topicRepository.findMetadataByIds(ids);
+                break;
+            default:
+                rows = subTopicRepository.findMetadataByIds(ids);
+                break;
+        }
+
+        List<ItemMetadata> loaded = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            loaded.add(ItemMetadata.builder()
+                    .itemType(itemType)
+                    .id((Long) row[0])
+                    .title((String) row[1])
+                    .parentId((Long) row[2])
+                    .syllabusId((Long) row[3])
+                    .ownerId((Long) row[4])
+                    .build());
+        }
+        return loaded;
+    }
+
+    private void runNowAndAfterCompletion(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private String key(ProgressEntry.ItemType itemType, Long id) {
+        return itemType.name() + ":" + id;
+    }
+
+    private static class CachedItem {
+        private final ItemMetadata metadata;
+        private final long loadedAt;
+
+        private CachedItem(ItemMetadata metadata, long loadedAt) {
+            this.metadata = metadata;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
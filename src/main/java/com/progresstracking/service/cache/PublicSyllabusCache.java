@@ -0,0 +1,271 @@
+package com.progresstracking.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progresstracking.dto.admin.CacheStatsResponse;
+import com.progresstracking.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of the unauthenticated syllabus views, the shared-link page and the public listing, so a popular
+ * link is answered from memory without touching the database or re-serializing.
+ * <p>
+ * A shared syllabus is served as is for the freshness window. Once that has passed one caller checks the syllabus
+ * version, a single indexed lookup, and keeps the stored bytes if nothing changed; everybody else keeps getting the
+ * stored bytes meanwhile. Public listing pages have no version and are simply rebuilt after the window. Revoking a
+ * link, deleting a syllabus or changing what is public evicts right away and again after the transaction completes,
+ * and a body read before that eviction is returned to its caller but not stored.
+ * <p>
+ * Listing pages are keyed by caller-chosen paging, so they live in their own, smaller LRU and cannot push shared
+ * syllabi out. Only the first pages with an ordinary size and a sort on a known property are cached at all; any
+ * other shape is served straight from {@code body}.
+ */
+@Component
+public class PublicSyllabusCache {
+
+    private static final String SHARED_PREFIX = "shared:";
+    private static final String PAGE_PREFIX = "page:";
+    private static final int MAX_CACHED_PAGE_NUMBER = 10;
+    private static final int MAX_CACHED_PAGE_SIZE = 100;
+    private static final Set<String> CACHED_SORT_PROPERTIES = Set.of("id", "title", "createdAt", "updatedAt");
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxSize;
+    private final int maxPages;
+    private final long freshNanos;
+    private final Map<String, CachedJson> entries;
+    private final Map<String, CachedJson> pages;
+    private final CacheGenerations<String> entryGenerations;
+    private final CacheGenerations<String> pageGenerations;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public PublicSyllabusCache(ObjectMapper objectMapper,
+                               @Value("${app.cache.public-syllabus.max-size:1000}") int maxSize,
+                               @Value("${app.cache.public-syllabus.max-pages:50}") int maxPages,
+                               @Value("${app.cache.public-syllabus.fresh-seconds:10}") long freshSeconds) {
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.maxPages = maxPages;
+        this.freshNanos = freshSeconds * 1_000_000_000L;
+        this.entries = boundedMap(maxSize);
+        this.pages = boundedMap(maxPages);
+        this.entryGenerations = new CacheGenerations<>(maxSize);
+        this.pageGenerations = new CacheGenerations<>(maxPages);
+    }
+
+    private Map<String, CachedJson> boundedMap(int capacity) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedJson> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the shared syllabus behind the link, revalidating a stale entry against {@code version} and only
+     * calling {@code body} when the syllabus is not cached or has changed.
+     */
+    public CachedJson getShared(String shareableLink, Supplier<Long> version, Supplier<?> body) {
+        String key = SHARED_PREFIX + shareableLink;
+        CachedJson cached = lookup(entries, key);
+        if (cached != null && !cached.revalidating) {
+            return cached;
+        }
+
+        long generation = generation(entryGenerations, key);
+        Long currentVersion;
+        try {
+            currentVersion = version.get();
+        } catch (ResourceNotFoundException ex) {
+            synchronized (this) {
+                entries.remove(key);
+            }
+            throw ex;
+        }
+
+        if (cached != null && Objects.equals(cached.version, currentVersion)) {
+            return cached;
+        }
+        return store(entries, entryGenerations, key, generation, currentVersion, body.get());
+    }
+
+    /**
+     * Returns one page of the public syllabus listing, rebuilt from {@code body} once the freshness window passed.
+     */
+    public CachedJson getPublicPage(Pageable pageable, Supplier<?> body) {
+        if (!isCacheable(pageable)) {
+            return new CachedJson(null, serialize(PAGE_PREFIX, body.get()), System.nanoTime(), false);
+        }
+
+        String key = PAGE_PREFIX + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+        CachedJson cached = lookup(pages, key);
+        if (cached != null && !cached.revalidating) {
+            return cached;
+        }
+
+        long generation = generation(pageGenerations, key);
+        return store(pages, pageGenerations, key, generation, null, body.get());
+    }
+
+    public void invalidateShared(String shareableLink) {
+        String key = SHARED_PREFIX + shareableLink;
+        runNowAndAfterCompletion(() -> {
+            synchronized (this) {
+                entries.remove(key);
+                entryGenerations.invalidate(key);
+            }
+        });
+    }
+
+    public void invalidatePublicPages() {
+        runNowAndAfterCompletion(() -> {
+            synchronized (this) {
+                pages.clear();
+                pageGenerations.invalidateAll();
+            }
+        });
+    }
+
+    public long getFreshSeconds() {
+        return freshNanos / 1_000_000_000L;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        pages.clear();
+        entryGenerations.invalidateAll();
+        pageGenerations.invalidateAll();
+    }
+
+    public synchronized CacheStatsResponse getStats() {
+        long lookups = hits + misses;
+        return CacheStatsResponse.builder()
+                .size(entries.size() + pages.size())
+                .maxSize(maxSize + maxPages)
+                .ttlSeconds(getFreshSeconds())
+                .hits(hits)
+                .misses(misses)
+                .evictions(evictions)
+                .expirations(expirations)
+                .hitRate(lookups > 0 ? (double) hits / lookups : 0.0)
+                .build();
+    }
+
+    /**
+     * Returns the fresh entry, or the stale one flagged as revalidating for the single caller that gets to refresh
+     * it. Concurrent callers see the stale entry restamped as fresh and keep serving it.
+     */
+    private synchronized CachedJson lookup(Map<String, CachedJson> cache, String key) {
+        CachedJson cached = cache.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (now - cached.checkedAt <= freshNanos) {
+            hits++;
+            return cached;
+        }
+
+        expirations++;
+        cached.checkedAt = now;
+        return new CachedJson(cached.version, cached.body, now, true);
+    }
+
+    private synchronized long generation(CacheGenerations<String> generations, String key) {
+        return generations.current(key);
+    }
+
+    /**
+     * Stores the serialized body unless the key was invalidated since {@code generation} was read.
+     */
+    private CachedJson store(Map<String, CachedJson> cache, CacheGenerations<String> generations, String key,
+                             long generation, Long version, Object body) {
+        CachedJson cached = new CachedJson(version, serialize(key, body), System.nanoTime(), false);
+        synchronized (this) {
+            if (generations.current(key) == generation) {
+                cache.put(key, cached);
+            }
+        }
+        return cached;
+    }
+
+    private byte[] serialize(String key, Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + key, ex);
+        }
+    }
+
+    private boolean isCacheable(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return false;
+        }
+        if (pageable.getPageNumber() >= MAX_CACHED_PAGE_NUMBER || pageable.getPageSize() > MAX_CACHED_PAGE_SIZE) {
+            return false;
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!CACHED_SORT_PROPERTIES.contains(order.getProperty()) || order.isIgnoreCase()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void runNowAndAfterCompletion(Runnable evict) {
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    public static final class CachedJson {
+        private final Long version;
+        private final byte[] body;
+        private long checkedAt;
+        private final boolean revalidating;
+
+        private CachedJson(Long version, byte[] body, long checkedAt, boolean revalidating) {
+            this.version = version;
+            this.body = body;
+            this.checkedAt = checkedAt;
+            this.revalidating = revalidating;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
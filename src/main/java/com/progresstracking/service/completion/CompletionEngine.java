@@ -0,0 +1,137 @@
+package com.progresstracking.service.completion;
+
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.repository.ProgressEntryRepository;
+import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.TopicRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Computes syllabus completion with a fixed number of set-based queries, independent of the size of the tree.
+ * <p>
+ * Scoring matches the per-node rules: a leaf scores 100 when any of the owner's entries is COMPLETED, 50 when
+ * any is IN_PROGRESS and 0 otherwise; a node with children is the equal-weight average of its children and
+ * ignores its own entries; a syllabus without subjects scores 0.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompletionEngine {
+
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final SubTopicRepository subTopicRepository;
+    private final ProgressEntryRepository progressEntryRepository;
+
+    @Transactional(readOnly = true)
+    public CompletionSnapshot evaluate(Long syllabusId) {
+        return evaluate(Collections.singletonList(syllabusId));
+    }
+
+    @Transactional(readOnly = true)
+    public CompletionSnapshot evaluate(Collection<Long> syllabusIds) {
+        Map<Long, List<Long>> subjectIdsBySyllabus = new HashMap<>();
+        Map<Long, List<Long>> topicIdsBySubject = new HashMap<>();
+        Map<Long, List<Long>> subTopicIdsByTopic = new HashMap<>();
+
+        if (syllabusIds.isEmpty()) {
+            return new CompletionSnapshot(subjectIdsBySyllabus, topicIdsBySubject, subTopicIdsByTopic,
+                    new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+        }
+
+        groupChildren(subjectRepository.findIdsBySyllabusIds(syllabusIds), subjectIdsBySyllabus);
+        groupChildren(topicRepository.findIdsBySyllabusIds(syllabusIds), topicIdsBySubject);
+        groupChildren(subTopicRepository.findIdsBySyllabusIds(syllabusIds), subTopicIdsByTopic);
+
+        Map<Long, Double> subjectLeafScores = scoreLeaves(progressEntryRepository.findSubjectStatusesBySyllabusIds(syllabusIds));
+        Map<Long, Double> topicLeafScores = scoreLeaves(progressEntryRepository.findTopicStatusesBySyllabusIds(syllabusIds));
+        Map<Long, Double> subTopicLeafScores = scoreLeaves(progressEntryRepository.findSubTopicStatusesBySyllabusIds(syllabusIds));
+
+        Map<Long, Double> subTopicCompletion = new HashMap<>();
+        Map<Long, Double> topicCompletion = new HashMap<>();
+        Map<Long, Double> subjectCompletion = new HashMap<>();
+        Map<Long, Double> syllabusCompletion = new HashMap<>();
+
+        for (Long syllabusId : syllabusIds) {
+            List<Long> subjectIds = subjectIdsBySyllabus.getOrDefault(syllabusId, Collections.emptyList());
+            double subjectTotal = 0.0;
+
+            for (Long subjectId : subjectIds) {
+                List<Long> topicIds = topicIdsBySubject.getOrDefault(subjectId, Collections.emptyList());
+                double subjectScore;
+
+                if (topicIds.isEmpty()) {
+                    subjectScore = subjectLeafScores.getOrDefault(subjectId, 0.0);
+                } else {
+                    double topicTotal = 0.0;
+
+                    for (Long topicId : topicIds) {
+                        List<Long> subTopicIds = subTopicIdsByTopic.getOrDefault(topicId, Collections.emptyList());
+                        double topicScore;
+
+                        if (subTopicIds.isEmpty()) {
+                            topicScore = topicLeafScores.getOrDefault(topicId, 0.0);
+                        } else {
+                            double subTopicTotal = 0.0;
+                            for (Long subTopicId : subTopicIds) {
+                                double subTopicScore = subTopicLeafScores.getOrDefault(subTopicId, 0.0);
+                                subTopicCompletion.put(subTopicId, subTopicScore);
+                                subTopicTotal += subTopicScore;
+                            }
+                            topicScore = subTopicTotal / subTopicIds.size();
+                        }
+
+                        topicCompletion.put(topicId, topicScore);
+                        topicTotal += topicScore;
+                    }
+                    subjectScore = topicTotal / topicIds.size();
+                }
+
+                subjectCompletion.put(subjectId, subjectScore);
+                subjectTotal += subjectScore;
+            }
+
+            syllabusCompletion.put(syllabusId, subjectIds.isEmpty() ? 0.0 : subjectTotal / subjectIds.size());
+        }
+
+        return new CompletionSnapshot(subjectIdsBySyllabus, topicIdsBySubject, subTopicIdsByTopic,
+                syllabusCompletion, subjectCompletion, topicCompletion, subTopicCompletion);
+    }
+
+    private void groupChildren(List<Object[]> rows, Map<Long, List<Long>> childrenByParent) {
+        // rows are (childId, parentId) already sorted by display order
+        for (Object[] row : rows) {
+            childrenByParent.computeIfAbsent((Long) row[1], k -> new ArrayList<>()).add((Long) row[0]);
+        }
+    }
+
+    private Map<Long, Double> scoreLeaves(List<Object[]> rows) {
+        // rows are (itemId, status) for every entry the syllabus owner logged against the item
+        Map<Long, Double> scores = new HashMap<>();
+        for (Object[] row : rows) {
+            Long itemId = (Long) row[0];
+            scores.merge(itemId, scoreOf((ProgressEntry.Status) row[1]), Math::max);
+        }
+        return scores;
+    }
+
+    /**
+     * Score of a leaf from the statuses of the owner's entries on it.
+     */
+    public static double scoreLeaf(Collection<ProgressEntry.Status> statuses) {
+        double score = 0.0;
+        for (ProgressEntry.Status status : statuses) {
+            score = Math.max(score, scoreOf(status));
+        }
+        return score;
+    }
+
+    private static double scoreOf(ProgressEntry.Status status) {
+        return status == ProgressEntry.Status.COMPLETED ? 100.0
+                : status == ProgressEntry.Status.IN_PROGRESS ? 50.0 : 0.0;
+    }
+}
@@ -0,0 +1,68 @@
+package com.progresstracking.service.completion;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completion percentages of every node of one or more syllabi, folded bottom-up from a single load
+ * of the syllabus shape and the owners' progress entries.
+ */
+public class CompletionSnapshot {
+
+    private final Map<Long, List<Long>> subjectIdsBySyllabus;
+    private final Map<Long, List<Long>> topicIdsBySubject;
+    private final Map<Long, List<Long>> subTopicIdsByTopic;
+    private final Map<Long, Double> syllabusCompletion;
+    private final Map<Long, Double> subjectCompletion;
+    private final Map<Long, Double> topicCompletion;
+    private final Map<Long, Double> subTopicCompletion;
+
+    CompletionSnapshot(Map<Long, List<Long>> subjectIdsBySyllabus,
+                       Map<Long, List<Long>> topicIdsBySubject,
+                       Map<Long, List<Long>> subTopicIdsByTopic,
+                       Map<Long, Double> syllabusCompletion,
+                       Map<Long, Double> subjectCompletion,
+                       Map<Long, Double> topicCompletion,
+                       Map<Long, Double> subTopicCompletion) {
+        this.subjectIdsBySyllabus = subjectIdsBySyllabus;
+        this.topicIdsBySubject = topicIdsBySubject;
+        this.subTopicIdsByTopic = subTopicIdsByTopic;
+        this.syllabusCompletion = syllabusCompletion;
+        this.subjectCompletion = subjectCompletion;
+        this.topicCompletion = topicCompletion;
+        this.subTopicCompletion = subTopicCompletion;
+    }
+
+    public Double getSyllabusCompletion(Long syllabusId) {
+        return syllabusCompletion.getOrDefault(syllabusId, 0.0);
+    }
+
+    public Double getSubjectCompletion(Long subjectId) {
+        return subjectCompletion.getOrDefault(subjectId, 0.0);
+    }
+
+    public Double getTopicCompletion(Long topicId) {
+        return topicCompletion.getOrDefault(topicId, 0.0);
+    }
+
+    public Double getSubTopicCompletion(Long subTopicId) {
+        return subTopicCompletion.getOrDefault(subTopicId, 0.0);
+    }
+
+    public List<Long> getSubjectIds(Long syllabusId) {
+        return subjectIdsBySyllabus.getOrDefault(syllabusId, Collections.emptyList());
+    }
+
+    public List<Long> getTopicIds(Long subjectId) {
+        return topicIdsBySubject.getOrDefault(subjectId, Collections.emptyList());
+    }
+
+    public List<Long> getSubTopicIds(Long topicId) {
+        return subTopicIdsByTopic.getOrDefault(topicId, Collections.emptyList());
+    }
+
+    public Map<Long, Double> getSyllabusCompletions() {
+        return Collections.unmodifiableMap(syllabusCompletion);
+    }
+}
@@ -0,0 +1,51 @@
+package com.progresstracking.service.export;
+
+import com.progresstracking.dto.progress.ProgressEntryResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CSV with a header line. Fields holding a comma, quote or line break are quoted, doubling inner quotes; notes
+ * spanning lines are therefore valid CSV but only NDJSON exports of them can be imported again.
+ */
+class CsvProgressEntryWriter extends ProgressEntryWriter {
+
+    private static final String HEADER = "id,itemType,itemId,itemTitle,date,status,timeSpentMinutes,notes";
+
+    CsvProgressEntryWriter(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(ProgressEntryResponse entry) throws IOException {
+        writeField(entry.getId(), ',');
+        writeField(entry.getItemType(), ',');
+        writeField(entry.getItemId(), ',');
+        writeField(entry.getItemTitle(), ',');
+        writeField(entry.getDate(), ',');
+        writeField(entry.getStatus(), ',');
+        writeField(entry.getTimeSpentMinutes(), ',');
+        writeField(entry.getNotes(), '\n');
+    }
+
+    private void writeField(Object value, char separator) throws IOException {
+        if (value != null) {
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write(separator);
+    }
+}
@@ -0,0 +1,27 @@
+package com.progresstracking.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.progresstracking.dto.progress.ProgressEntryResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, shaped like the progress entry responses of the API.
+ */
+class NdjsonProgressEntryWriter extends ProgressEntryWriter {
+
+    private final ObjectWriter entryWriter;
+
+    NdjsonProgressEntryWriter(OutputStream out, ObjectMapper objectMapper) {
+        super(out);
+        this.entryWriter = objectMapper.writerFor(ProgressEntryResponse.class);
+    }
+
+    @Override
+    public void write(ProgressEntryResponse entry) throws IOException {
+        writer.write(entryWriter.writeValueAsString(entry));
+        writer.write('\n');
+    }
+}
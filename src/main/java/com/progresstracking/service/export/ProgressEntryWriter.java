@@ -0,0 +1,43 @@
+package com.progresstracking.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progresstracking.dto.progress.ProgressEntryResponse;
+import com.progresstracking.service.importer.ImportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported progress entries straight to an output stream, one line per entry, in a shape the import reads
+ * back. Nothing is kept once written, so the export holds at most a buffer's worth of output.
+ */
+public abstract class ProgressEntryWriter {
+
+    protected final Writer writer;
+
+    protected ProgressEntryWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    public static ProgressEntryWriter of(ImportFormat format, OutputStream out, ObjectMapper objectMapper) {
+        return format == ImportFormat.CSV
+                ? new CsvProgressEntryWriter(out)
+                : new NdjsonProgressEntryWriter(out, objectMapper);
+    }
+
+    public void writeHeader() throws IOException {
+    }
+
+    public abstract void write(ProgressEntryResponse entry) throws IOException;
+
+    /**
+     * Pushes what is buffered to the client; the output stream itself is left open for the container to close.
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
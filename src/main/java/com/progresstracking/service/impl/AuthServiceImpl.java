@@ -66,12 +66,12 @@ public class AuthServiceImpl implements AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String accessToken = tokenProvider.generateAccessToken(loginRequest.getUsername());
-        String refreshToken = tokenProvider.generateRefreshToken(loginRequest.getUsername());
-
         User user = userRepository.findByUsername(loginRequest.getUsername())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", loginRequest.getUsername()));
 
+        String accessToken = tokenProvider.generateAccessToken(user);
+        String refreshToken = tokenProvider.generateRefreshToken(loginRequest.getUsername());
+
         return JwtResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
@@ -90,11 +90,11 @@ public class AuthServiceImpl implements AuthService {
         }
 
         String username = tokenProvider.getUsernameFromToken(refreshTokenRequest.getRefreshToken());
-        String newAccessToken = tokenProvider.generateAccessToken(username);
-
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
+        String newAccessToken = tokenProvider.generateAccessToken(user);
+
         return JwtResponse.builder()
                 .accessToken(newAccessToken)
                 .refreshToken(refreshTokenRequest.getRefreshToken())
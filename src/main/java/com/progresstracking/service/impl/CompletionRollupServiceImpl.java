@@ -0,0 +1,439 @@
+package com.progresstracking.service.impl;
+
+import com.progresstracking.dto.admin.CompletionConsistencyResponse;
+import com.progresstracking.model.NodeCompletion;
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.model.Syllabus;
+import com.progresstracking.repository.*;
+import com.progresstracking.service.CompletionRollupService;
+import com.progresstracking.service.completion.CompletionEngine;
+import com.progresstracking.service.completion.CompletionSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Keeps the node_completion table in step with the live completion computation. Writers call
+ * {@link #refreshNode} after changing the entries of a leaf and {@link #refreshSyllabus(Long)} after changing
+ * the tree shape, inside their own transaction, so readers only ever see a rollup that matches committed data.
+ * <p>
+ * Both take a write lock on the syllabus row first, so concurrent writers of one syllabus apply their changes
+ * one after the other instead of overwriting each other's rollup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompletionRollupServiceImpl implements CompletionRollupService {
+
+    private static final int BATCH_SIZE = 100;
+    private static final double TOLERANCE = 1e-9;
+
+    private final NodeCompletionRepository nodeCompletionRepository;
+    private final SyllabusRepository syllabusRepository;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final SubTopicRepository subTopicRepository;
+    private final ProgressEntryRepository progressEntryRepository;
+    private final CompletionEngine completionEngine;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Double getCompletion(NodeCompletion.NodeType nodeType, Long nodeId) {
+        Optional<NodeCompletion> stored = nodeCompletionRepository.findByNodeTypeAndNodeId(nodeType, nodeId);
+        if (stored.isPresent()) {
+            return stored.get().getScore();
+        }
+
+        // Not rolled up yet (e.g. data written before the table existed), fall back to the live computation
+        Optional<Long> syllabusId = findSyllabusId(nodeType, nodeId);
+        if (syllabusId.isEmpty()) {
+            return 0.0;
+        }
+        CompletionSnapshot snapshot = completionEngine.evaluate(syllabusId.get());
+        switch (nodeType) {
+            case SYLLABUS:
+                return snapshot.getSyllabusCompletion(nodeId);
+            case SUBJECT:
+                return snapshot.getSubjectCompletion(nodeId);
+            case TOPIC:
+                return snapshot.getTopicCompletion(nodeId);
+            default:
+                return snapshot.getSubTopicCompletion(nodeId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Double> calculateCompletion(Collection<Long> syllabusIds) {
+        Map<Long, Double> completion = new HashMap<>();
+        if (syllabusIds.isEmpty()) {
+            return completion;
+        }
+
+        for (NodeCompletion stored : nodeCompletionRepository.findByNodeTypeAndNodeIdIn(NodeCompletion.NodeType.SYLLABUS, syllabusIds)) {
+            completion.put(stored.getNodeId(), stored.getScore());
+        }
+
+        // evaluate whatever has not been rolled up yet in one batch
+        List<Long> missing = syllabusIds.stream()
+                .filter(syllabusId -> !completion.containsKey(syllabusId))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            completion.putAll(completionEngine.evaluate(missing).getSyllabusCompletions());
+        }
+        return completion;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<NodeCompletion.NodeType, Map<Long, Double>> getSyllabusNodeCompletions(Long syllabusId) {
+        List<NodeCompletion> nodes = nodeCompletionRepository.findBySyllabusId(syllabusId);
+
+        // a syllabus is always rolled up as a whole, so its own row tells whether the rest is there
+        boolean rolledUp = nodes.stream()
+                .anyMatch(node -> node.getNodeType() == NodeCompletion.NodeType.SYLLABUS);
+        if (!rolledUp) {
+            nodes = collectNodes(completionEngine.evaluate(syllabusId), syllabusId);
+        }
+
+        Map<NodeCompletion.NodeType, Map<Long, Double>> completions = new EnumMap<>(NodeCompletion.NodeType.class);
+        for (NodeCompletion node : nodes) {
+            completions.computeIfAbsent(node.getNodeType(), nodeType -> new HashMap<>())
+                    .put(node.getNodeId(), node.getScore());
+        }
+        return completions;
+    }
+
+    @Override
+    @Transactional
+    public void refreshSyllabus(Long syllabusId) {
+        if (syllabusRepository.findByIdForUpdate(syllabusId).isPresent()) {
+            recompute(syllabusId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void refreshNode(NodeCompletion.NodeType nodeType, Long nodeId) {
+        Optional<Long> syllabusId = findSyllabusId(nodeType, nodeId);
+        if (syllabusId.isEmpty()) {
+            return;
+        }
+        Optional<Syllabus> syllabus = syllabusRepository.findByIdForUpdate(syllabusId.get());
+        if (syllabus.isEmpty()) {
+            return;
+        }
+
+        // resolved under the lock, as a concurrent structure change may have moved the node
+        List<Long> path = findPath(nodeType, nodeId);
+        if (path.isEmpty() || !path.get(path.size() - 1).equals(syllabusId.get())) {
+            recompute(syllabusId.get());
+            return;
+        }
+        if (nodeType == NodeCompletion.NodeType.SYLLABUS || !findChildScores(nodeType, nodeId).isEmpty()) {
+            // a node with children ignores its own entries
+            return;
+        }
+
+        double leafScore = CompletionEngine.scoreLeaf(progressEntryRepository.findStatusesByUserIdAndItem(
+                syllabus.get().getUser().getId(), ProgressEntry.ItemType.valueOf(nodeType.name()), nodeId));
+        NodeCompletion live = node(nodeType, nodeId, syllabusId.get(), leafScore, 0, 0);
+
+        // walk up from the leaf and stop at the first node whose rollup does not change
+        for (int depth = 0; depth < path.size(); depth++) {
+            NodeCompletion.NodeType type = NodeCompletion.NodeType.values()[nodeType.ordinal() - depth];
+            Long id = path.get(depth);
+            if (depth > 0) {
+                live = rollUp(type, id, syllabusId.get());
+                if (live == null) {
+                    recompute(syllabusId.get());
+                    return;
+                }
+            }
+
+            Optional<NodeCompletion> stored = nodeCompletionRepository.findByNodeTypeAndNodeId(type, id);
+            if (stored.isEmpty()) {
+                // not rolled up yet, so there is nothing to update incrementally
+                recompute(syllabusId.get());
+                return;
+            }
+            if (matches(stored.get(), live)) {
+                if (depth == 0) {
+                    return;
+                }
+                break;
+            }
+            stored.get().setScore(live.getScore());
+            stored.get().setCompletedChildren(live.getCompletedChildren());
+            stored.get().setTotalChildren(live.getTotalChildren());
+            nodeCompletionRepository.save(stored.get());
+        }
+
+        // completion is part of every syllabus response, so a new score is a new version
+        syllabusRepository.incrementVersion(syllabusId.get());
+    }
+
+    private void recompute(Long syllabusId) {
+        CompletionSnapshot snapshot = completionEngine.evaluate(syllabusId);
+        List<NodeCompletion> liveNodes = collectNodes(snapshot, syllabusId);
+
+        Map<String, NodeCompletion> storedByKey = new HashMap<>();
+        for (NodeCompletion stored : nodeCompletionRepository.findBySyllabusId(syllabusId)) {
+            storedByKey.put(key(stored.getNodeType(), stored.getNodeId()), stored);
+        }
+
+        List<NodeCompletion> changed = new ArrayList<>();
+        for (NodeCompletion live : liveNodes) {
+            NodeCompletion stored = storedByKey.remove(key(live.getNodeType(), live.getNodeId()));
+            if (stored == null) {
+                changed.add(live);
+            } else if (!matches(stored, live)) {
+                stored.setScore(live.getScore());
+                stored.setCompletedChildren(live.getCompletedChildren());
+                stored.setTotalChildren(live.getTotalChildren());
+                changed.add(stored);
+            }
+        }
+
+        // whatever is left over belongs to nodes that no longer exist
+        if (!storedByKey.isEmpty()) {
+            nodeCompletionRepository.deleteAll(storedByKey.values());
+        }
+        if (!changed.isEmpty()) {
+            nodeCompletionRepository.saveAll(changed);
+        }
+        if (!storedByKey.isEmpty() || !changed.isEmpty()) {
+            // completion is part of every syllabus response, so a new score is a new version
+            syllabusRepository.incrementVersion(syllabusId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removeSyllabus(Long syllabusId) {
+        nodeCompletionRepository.deleteBySyllabusId(syllabusId);
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        nodeCompletionRepository.deleteAllInBatch();
+
+        int nodeCount = 0;
+        Long lastId = 0L;
+        List<Long> syllabusIds = syllabusRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+
+        while (!syllabusIds.isEmpty()) {
+            CompletionSnapshot snapshot = completionEngine.evaluate(syllabusIds);
+            List<NodeCompletion> nodes = new ArrayList<>();
+            for (Long syllabusId : syllabusIds) {
+                nodes.addAll(collectNodes(snapshot, syllabusId));
+            }
+            nodeCompletionRepository.saveAll(nodes);
+            nodeCount += nodes.size();
+
+            lastId = syllabusIds.get(syllabusIds.size() - 1);
+            syllabusIds = syllabusRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+        }
+
+        log.info("Rebuilt node completion rollup with {} nodes", nodeCount);
+        return nodeCount;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompletionConsistencyResponse checkConsistency() {
+        int syllabusCount = 0;
+        int nodeCount = 0;
+        List<CompletionConsistencyResponse.MismatchDto> mismatches = new ArrayList<>();
+
+        Long lastId = 0L;
+        List<Long> syllabusIds = syllabusRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+
+        while (!syllabusIds.isEmpty()) {
+            CompletionSnapshot snapshot = completionEngine.evaluate(syllabusIds);
+
+            Map<String, NodeCompletion> storedByKey = new HashMap<>();
+            for (NodeCompletion stored : nodeCompletionRepository.findBySyllabusIdIn(syllabusIds)) {
+                storedByKey.put(key(stored.getNodeType(), stored.getNodeId()), stored);
+            }
+
+            for (Long syllabusId : syllabusIds) {
+                for (NodeCompletion live : collectNodes(snapshot, syllabusId)) {
+                    NodeCompletion stored = storedByKey.remove(key(live.getNodeType(), live.getNodeId()));
+                    if (stored == null || !matches(stored, live)) {
+                        mismatches.add(toMismatch(stored, live));
+                    }
+                    nodeCount++;
+                }
+            }
+            for (NodeCompletion orphan : storedByKey.values()) {
+                mismatches.add(toMismatch(orphan, null));
+            }
+
+            syllabusCount += syllabusIds.size();
+            lastId = syllabusIds.get(syllabusIds.size() - 1);
+            syllabusIds = syllabusRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+        }
+
+        return CompletionConsistencyResponse.builder()
+                .checkedSyllabi(syllabusCount)
+                .checkedNodes(nodeCount)
+                .mismatches(mismatches)
+                .build();
+    }
+
+    private Optional<Long> findSyllabusId(NodeCompletion.NodeType nodeType, Long nodeId) {
+        switch (nodeType) {
+            case SYLLABUS:
+                return syllabusRepository.existsById(nodeId) ? Optional.of(nodeId) : Optional.empty();
+            case SUBJECT:
+                return subjectRepository.findSyllabusIdById(nodeId);
+            case TOPIC:
+                return topicRepository.findSyllabusIdById(nodeId);
+            default:
+                return subTopicRepository.findSyllabusIdById(nodeId);
+        }
+    }
+
+    /**
+     * Ids from the node up to its syllabus, the node first.
+     */
+    private List<Long> findPath(NodeCompletion.NodeType nodeType, Long nodeId) {
+        switch (nodeType) {
+            case SYLLABUS:
+                return List.of(nodeId);
+            case SUBJECT:
+                return subjectRepository.findSyllabusIdById(nodeId)
+                        .map(syllabusId -> List.of(nodeId, syllabusId))
+                        .orElse(List.of());
+            case TOPIC:
+                return topicRepository.findParentIdsById(nodeId).stream()
+                        .findFirst()
+                        .map(row -> List.of(nodeId, (Long) row[0], (Long) row[1]))
+                        .orElse(List.of());
+            default:
+                return subTopicRepository.findParentIdsById(nodeId).stream()
+                        .findFirst()
+                        .map(row -> List.of(nodeId, (Long) row[0], (Long) row[1], (Long) row[2]))
+                        .orElse(List.of());
+        }
+    }
+
+    private List<Object[]> findChildScores(NodeCompletion.NodeType nodeType, Long nodeId) {
+        switch (nodeType) {
+            case SYLLABUS:
+                return nodeCompletionRepository.findSubjectScoresBySyllabusId(nodeId);
+            case SUBJECT:
+                return nodeCompletionRepository.findTopicScoresBySubjectId(nodeId);
+            case TOPIC:
+                return nodeCompletionRepository.findSubTopicScoresByTopicId(nodeId);
+            default:
+                return List.of();
+        }
+    }
+
+    /**
+     * Rolls a node up from the stored scores of its children, or returns null when a child is not rolled up.
+     */
+    private NodeCompletion rollUp(NodeCompletion.NodeType nodeType, Long nodeId, Long syllabusId) {
+        List<Object[]> childScores = findChildScores(nodeType, nodeId);
+        double total = 0.0;
+        int completedChildren = 0;
+        for (Object[] row : childScores) {
+            Double score = (Double) row[1];
+            if (score == null) {
+                return null;
+            }
+            total += score;
+            if (score >= 100.0) {
+                completedChildren++;
+            }
+        }
+        double score = childScores.isEmpty() ? 0.0 : total / childScores.size();
+        return node(nodeType, nodeId, syllabusId, score, completedChildren, childScores.size());
+    }
+
+    private List<NodeCompletion> collectNodes(CompletionSnapshot snapshot, Long syllabusId) {
+        List<NodeCompletion> nodes = new ArrayList<>();
+        List<Long> subjectIds = snapshot.getSubjectIds(syllabusId);
+        int completedSubjects = 0;
+
+        for (Long subjectId : subjectIds) {
+            List<Long> topicIds = snapshot.getTopicIds(subjectId);
+            int completedTopics = 0;
+
+            for (Long topicId : topicIds) {
+                List<Long> subTopicIds = snapshot.getSubTopicIds(topicId);
+                int completedSubTopics = 0;
+
+                for (Long subTopicId : subTopicIds) {
+                    double subTopicScore = snapshot.getSubTopicCompletion(subTopicId);
+                    if (subTopicScore >= 100.0) {
+                        completedSubTopics++;
+                    }
+                    nodes.add(node(NodeCompletion.NodeType.SUBTOPIC, subTopicId, syllabusId, subTopicScore, 0, 0));
+                }
+
+                double topicScore = snapshot.getTopicCompletion(topicId);
+                if (topicScore >= 100.0) {
+                    completedTopics++;
+                }
+                nodes.add(node(NodeCompletion.NodeType.TOPIC, topicId, syllabusId, topicScore,
+                        completedSubTopics, subTopicIds.size()));
+            }
+
+            double subjectScore = snapshot.getSubjectCompletion(subjectId);
+            if (subjectScore >= 100.0) {
+                completedSubjects++;
+            }
+            nodes.add(node(NodeCompletion.NodeType.SUBJECT, subjectId, syllabusId, subjectScore,
+                    completedTopics, topicIds.size()));
+        }
+
+        nodes.add(node(NodeCompletion.NodeType.SYLLABUS, syllabusId, syllabusId, snapshot.getSyllabusCompletion(syllabusId),
+                completedSubjects, subjectIds.size()));
+        return nodes;
+    }
+
+    private NodeCompletion node(NodeCompletion.NodeType nodeType, Long nodeId, Long syllabusId, double score,
+                                int completedChildren, int totalChildren) {
+        return NodeCompletion.builder()
+                .nodeType(nodeType)
+                .nodeId(nodeId)
+                .syllabusId(syllabusId)
+                .score(score)
+                .completedChildren(completedChildren)
+                .totalChildren(totalChildren)
+                .build();
+    }
+
+    private boolean matches(NodeCompletion stored, NodeCompletion live) {
+        return Math.abs(stored.getScore() - live.getScore()) < TOLERANCE
+                && stored.getCompletedChildren().equals(live.getCompletedChildren())
+                && stored.getTotalChildren().equals(live.getTotalChildren())
+                && stored.getSyllabusId().equals(live.getSyllabusId());
+    }
+
+    private CompletionConsistencyResponse.MismatchDto toMismatch(NodeCompletion stored, NodeCompletion live) {
+        NodeCompletion reference = live != null ? live : stored;
+        return CompletionConsistencyResponse.MismatchDto.builder()
+                .nodeType(reference.getNodeType())
+                .nodeId(reference.getNodeId())
+                .syllabusId(reference.getSyllabusId())
+                .storedScore(stored != null ? stored.getScore() : null)
+                .liveScore(live != null ? live.getScore() : null)
+                .storedCompletedChildren(stored != null ? stored.getCompletedChildren() : null)
+                .liveCompletedChildren(live != null ? live.getCompletedChildren() : null)
+                .build();
+    }
+
+    private String key(NodeCompletion.NodeType nodeType, Long nodeId) {
+        return nodeType.name() + ":" + nodeId;
+    }
+}
@@ -0,0 +1,323 @@
+package com.progresstracking.service.impl;
+
+import com.progresstracking.model.UserDailyActivity;
+import com.progresstracking.repository.UserDailyActivityRepository;
+import com.progresstracking.repository.UserRepository;
+import com.progresstracking.service.DailyActivityService;
+import com.progresstracking.service.cache.ActivityPrefixCache;
+import com.progresstracking.service.cache.ActivityPrefixSums;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Maintains user_daily_activity, one row per user and day with at least one progress entry. Writers apply the
+ * entry's contribution as a delta in the same transaction as the entry itself; the first entry of a day inserts
+ * the row with a conflict-free insert, so two first entries racing on a day both land in the one row. A day row
+ * disappears once its last entry is removed, so a row exists exactly for the days that count towards a streak.
+ * <p>
+ * The streak columns on the user are only touched when a day becomes active or inactive. Appending a day after
+ * the last active one and removing a day from the current run are O(1); backdated days and removals elsewhere walk
+ * only the run they touch, and the longest streak is recomputed in full only when the removed day belonged to a
+ * run that could have been the longest.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailyActivityServiceImpl implements DailyActivityService {
+
+    private static final int FIRST_STREAK_CHUNK = 8;
+    private static final int MAX_STREAK_CHUNK = 256;
+
+    private final UserDailyActivityRepository userDailyActivityRepository;
+    private final UserRepository userRepository;
+    private final ActivityPrefixCache activityPrefixCache;
+
+    @Override
+    @Transactional
+    public void recordEntryAdded(Long userId, LocalDate date, Integer timeSpentMinutes) {
+        recordEntriesAdded(userId, date, timeSpentMinutes != null ? timeSpentMinutes : 0, 1);
+    }
+
+    @Override
+    @Transactional
+    public void recordEntriesAdded(Long userId, LocalDate date, int timeSpentMinutes, int entries) {
+        activityPrefixCache.invalidate(userId);
+
+        // increment in place so concurrent writers on the same day cannot lose an update
+        if (userDailyActivityRepository.addToDay(userId, date, timeSpentMinutes, entries) > 0) {
+            return;
+        }
+        // first entries of the day; if a concurrent writer inserted the row meanwhile, add to theirs instead
+        if (userDailyActivityRepository.insertDayIfAbsent(userId, date, timeSpentMinutes, entries) > 0) {
+            onDayActivated(userId, date);
+        } else {
+            userDailyActivityRepository.addToDay(userId, date, timeSpentMinutes, entries);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordEntryRemoved(Long userId, LocalDate date, Integer timeSpentMinutes) {
+        int minutes = timeSpentMinutes != null ? timeSpentMinutes : 0;
+        activityPrefixCache.invalidate(userId);
+
+        userDailyActivityRepository.addToDay(userId, date, -minutes, -1);
+        if (userDailyActivityRepository.deleteIfEmpty(userId, date) > 0) {
+            onDayDeactivated(userId, date);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordEntryChanged(Long userId, LocalDate date, Integer previousTimeSpentMinutes,
+                                   Integer timeSpentMinutes) {
+        int delta = (timeSpentMinutes != null ? timeSpentMinutes : 0)
+                - (previousTimeSpentMinutes != null ? previousTimeSpentMinutes : 0);
+
+        // the entry stays on its day, so the day stays active and the streak is untouched
+        if (userDailyActivityRepository.addToDay(userId, date, delta, 0) == 0) {
+            // no row for a day that has an entry (written before the table existed), recount it
+            refreshDay(userId, date);
+            return;
+        }
+        activityPrefixCache.invalidate(userId);
+    }
+
+    @Override
+    @Transactional
+    public void refreshDay(Long userId, LocalDate date) {
+        activityPrefixCache.invalidate(userId);
+
+        // recount from the entries when the previous contribution of a write is not known, as after an upsert
+        List<Object[]> totals = userDailyActivityRepository.sumEntriesByUserIdAndDate(userId, date);
+        int minutes = totals.isEmpty() ? 0 : ((Number) totals.get(0)[0]).intValue();
+        int items = totals.isEmpty() ? 0 : ((Number) totals.get(0)[1]).intValue();
+
+        if (userDailyActivityRepository.setDay(userId, date, minutes, items) > 0) {
+            if (items == 0 && userDailyActivityRepository.deleteIfEmpty(userId, date) > 0) {
+                onDayDeactivated(userId, date);
+            }
+        } else if (items > 0) {
+            if (userDailyActivityRepository.insertDayIfAbsent(userId, date, minutes, items) > 0) {
+                onDayActivated(userId, date);
+            } else {
+                userDailyActivityRepository.setDay(userId, date, minutes, items);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDailyActivity> getDailyActivity(Long userId, LocalDate startDate, LocalDate endDate) {
+        return userDailyActivityRepository.findByUserIdAndDateBetweenOrderByDate(userId, startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivityPrefixSums getPrefixSums(Long userId) {
+        return activityPrefixCache.get(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer getCurrentStreak(Long userId) {
+        LocalDate today = LocalDate.now();
+        StreakState state = readStreak(userId);
+
+        if (state.lastActivityDate == null) {
+            // not tracked yet (activity recorded before the streak columns existed), derive it from the rollup
+            List<LocalDate> latest = userDailyActivityRepository.findDatesByUserIdOnOrBefore(userId, today,
+                    PageRequest.of(0, 1));
+            if (latest.isEmpty() || latest.get(0).isBefore(today.minusDays(1))) {
+                return 0;
+            }
+            return runLengthEndingAt(userId, latest.get(0));
+        }
+
+        // Streak broken if no entries today or yesterday
+        if (!state.lastActivityDate.equals(today) && !state.lastActivityDate.equals(today.minusDays(1))) {
+            return 0;
+        }
+        return state.currentStreak;
+    }
+
+    private void onDayActivated(Long userId, LocalDate date) {
+        StreakState state = lockStreak(userId);
+        if (state.lastActivityDate == null) {
+            recomputeStreak(userId);
+            return;
+        }
+
+        if (date.isAfter(state.lastActivityDate)) {
+            int current = date.equals(state.lastActivityDate.plusDays(1))
+                    ? state.currentStreak + 1
+                    : 1;
+            saveStreak(userId, current, Math.max(state.longestStreak, current), date);
+            return;
+        }
+
+        // backdated day: it may bridge the runs on either side of it
+        int before = runLengthEndingAt(userId, date.minusDays(1));
+        int after = runLengthStartingAt(userId, date.plusDays(1));
+        int run = before + 1 + after;
+        int current = date.plusDays(after).equals(state.lastActivityDate) ? run : state.currentStreak;
+        saveStreak(userId, current, Math.max(state.longestStreak, run), state.lastActivityDate);
+    }
+
+    private void onDayDeactivated(Long userId, LocalDate date) {
+        StreakState state = lockStreak(userId);
+        if (state.lastActivityDate == null) {
+            recomputeStreak(userId);
+            return;
+        }
+
+        LocalDate lastActivityDate = state.lastActivityDate;
+        int current = state.currentStreak;
+        int before;
+        int after;
+
+        boolean inCurrentRun = !date.isAfter(lastActivityDate)
+                && date.isAfter(lastActivityDate.minusDays(state.currentStreak));
+        if (inCurrentRun) {
+            after = (int) ChronoUnit.DAYS.between(date, lastActivityDate);
+            before = state.currentStreak - after - 1;
+
+            if (after > 0) {
+                current = after;
+            } else if (before > 0) {
+                lastActivityDate = date.minusDays(1);
+                current = before;
+            } else {
+                // the whole current run is gone, fall back to the latest earlier day
+                List<LocalDate> latest = userDailyActivityRepository.findDatesByUserIdOnOrBefore(userId, date,
+                        PageRequest.of(0, 1));
+                lastActivityDate = latest.isEmpty() ? null : latest.get(0);
+                current = lastActivityDate != null ? runLengthEndingAt(userId, lastActivityDate) : 0;
+            }
+        } else {
+            before = runLengthEndingAt(userId, date.minusDays(1));
+            after = runLengthStartingAt(userId, date.plusDays(1));
+        }
+
+        // only a split of a run at least as long as the record can lower it
+        int longest = state.longestStreak;
+        if (before + 1 + after >= longest) {
+            longest = longestRun(userId);
+        }
+        saveStreak(userId, current, longest, lastActivityDate);
+    }
+
+    private StreakState lockStreak(Long userId) {
+        userRepository.findByIdForUpdate(userId);
+        return readStreak(userId);
+    }
+
+    private StreakState readStreak(Long userId) {
+        List<Object[]> rows = userRepository.findStreakById(userId);
+        Object[] row = rows.isEmpty() ? new Object[3] : rows.get(0);
+        return new StreakState(
+                row[0] != null ? (Integer) row[0] : 0,
+                row[1] != null ? (Integer) row[1] : 0,
+                (LocalDate) row[2]);
+    }
+
+    private void recomputeStreak(Long userId) {
+        // nothing tracked yet for this user (new, or active before the streak columns existed)
+        LocalDate lastActivityDate = userDailyActivityRepository.findLastDateByUserId(userId);
+        if (lastActivityDate == null) {
+            saveStreak(userId, 0, 0, null);
+            return;
+        }
+        saveStreak(userId, runLengthEndingAt(userId, lastActivityDate), longestRun(userId), lastActivityDate);
+    }
+
+    private void saveStreak(Long userId, int currentStreak, int longestStreak, LocalDate lastActivityDate) {
+        userRepository.updateStreak(userId, currentStreak, longestStreak, lastActivityDate);
+    }
+
+    private int runLengthEndingAt(Long userId, LocalDate date) {
+        LocalDate expectedDate = date;
+        int length = 0;
+        int chunkSize = FIRST_STREAK_CHUNK;
+
+        // walk back in growing chunks so a short run only reads a handful of rows
+        while (true) {
+            List<LocalDate> dates = userDailyActivityRepository.findDatesByUserIdOnOrBefore(userId, expectedDate,
+                    PageRequest.of(0, chunkSize));
+            for (LocalDate activeDate : dates) {
+                if (!activeDate.equals(expectedDate)) {
+                    return length;
+                }
+                length++;
+                expectedDate = expectedDate.minusDays(1);
+            }
+            if (dates.size() < chunkSize) {
+                return length;
+            }
+            chunkSize = Math.min(chunkSize * 2, MAX_STREAK_CHUNK);
+        }
+    }
+
+    private int runLengthStartingAt(Long userId, LocalDate date) {
+        LocalDate expectedDate = date;
+        int length = 0;
+        int chunkSize = FIRST_STREAK_CHUNK;
+
+        while (true) {
+            List<LocalDate> dates = userDailyActivityRepository.findDatesByUserIdOnOrAfter(userId, expectedDate,
+                    PageRequest.of(0, chunkSize));
+            for (LocalDate activeDate : dates) {
+                if (!activeDate.equals(expectedDate)) {
+                    return length;
+                }
+                length++;
+                expectedDate = expectedDate.plusDays(1);
+            }
+            if (dates.size() < chunkSize) {
+                return length;
+            }
+            chunkSize = Math.min(chunkSize * 2, MAX_STREAK_CHUNK);
+        }
+    }
+
+    private int longestRun(Long userId) {
+        int longest = 0;
+        int run = 0;
+        LocalDate previous = null;
+        LocalDate cursor = userDailyActivityRepository.findFirstDateByUserId(userId);
+        if (cursor == null) {
+            return 0;
+        }
+
+        while (true) {
+            List<LocalDate> dates = userDailyActivityRepository.findDatesByUserIdOnOrAfter(userId, cursor,
+                    PageRequest.of(0, MAX_STREAK_CHUNK));
+            for (LocalDate date : dates) {
+                run = previous != null && date.equals(previous.plusDays(1)) ? run + 1 : 1;
+                longest = Math.max(longest, run);
+                previous = date;
+            }
+            if (dates.size() < MAX_STREAK_CHUNK) {
+                return longest;
+            }
+            cursor = previous.plusDays(1);
+        }
+    }
+
+    private static class StreakState {
+        private final int currentStreak;
+        private final int longestStreak;
+        private final LocalDate lastActivityDate;
+
+        private StreakState(int currentStreak, int longestStreak, LocalDate lastActivityDate) {
+            this.currentStreak = currentStreak;
+            this.longestStreak = longestStreak;
+            this.lastActivityDate = lastActivityDate;
+        }
+    }
+}
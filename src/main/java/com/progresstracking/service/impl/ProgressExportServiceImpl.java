@@ -0,0 +1,105 @@
+package com.progresstracking.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progresstracking.dto.progress.ProgressEntryResponse;
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.repository.ProgressEntryRepository;
+import com.progresstracking.repository.UserDailyActivityRepository;
+import com.progresstracking.service.ProgressExportService;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.export.ProgressEntryWriter;
+import com.progresstracking.service.importer.ImportFormat;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's progress entries to the response as they are read. Entries come off an open cursor in
+ * fetch-size rounds; every {@link #CHUNK_SIZE} of them have their titles resolved together, are written out and
+ * are then dropped from the persistence context, so the heap holds one chunk whatever the length of the history.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProgressExportServiceImpl implements ProgressExportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final ProgressEntryRepository progressEntryRepository;
+    private final UserDailyActivityRepository userDailyActivityRepository;
+    private final ItemMetadataCache itemMetadataCache;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProgress(Long userId, LocalDate startDate, LocalDate endDate, ImportFormat format, OutputStream out)
+            throws IOException {
+        ProgressEntryWriter writer = ProgressEntryWriter.of(format, out, objectMapper);
+        writer.writeHeader();
+
+        // an open end defaults to the user's first or last active day, which the daily rollup knows without a scan
+        LocalDate from = startDate != null ? startDate : userDailyActivityRepository.findFirstDateByUserId(userId);
+        LocalDate to = endDate != null ? endDate : userDailyActivityRepository.findLastDateByUserId(userId);
+        if (from != null && to != null) {
+            List<ProgressEntry> chunk = new ArrayList<>(CHUNK_SIZE);
+            try (Stream<ProgressEntry> entries = progressEntryRepository.streamByUserIdAndDateBetween(userId, from, to)) {
+                Iterator<ProgressEntry> iterator = entries.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == CHUNK_SIZE) {
+                        writeChunk(chunk, userId, writer);
+                    }
+                }
+                writeChunk(chunk, userId, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeChunk(List<ProgressEntry> chunk, Long userId, ProgressEntryWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // at most one query per item type for whatever the cache does not already hold
+        Map<ProgressEntry.ItemType, Set<Long>> idsByType = new EnumMap<>(ProgressEntry.ItemType.class);
+        for (ProgressEntry entry : chunk) {
+            idsByType.computeIfAbsent(entry.getItemType(), k -> new HashSet<>()).add(entry.getItemId());
+        }
+        Map<ProgressEntry.ItemType, Map<Long, ItemMetadata>> items = new EnumMap<>(ProgressEntry.ItemType.class);
+        idsByType.forEach((itemType, ids) -> items.put(itemType, itemMetadataCache.getAll(itemType, ids)));
+
+        for (ProgressEntry entry : chunk) {
+            ItemMetadata item = items.getOrDefault(entry.getItemType(), Collections.emptyMap()).get(entry.getItemId());
+            writer.write(ProgressEntryResponse.builder()
+                    .id(entry.getId())
+                    .userId(userId)
+                    .itemId(entry.getItemId())
+                    .itemType(entry.getItemType())
+                    .itemTitle(item != null ? item.getTitle() : "Unknown")
+                    .date(entry.getDate())
+                    .status(entry.getStatus())
+                    .timeSpentMinutes(entry.getTimeSpentMinutes())
+                    .notes(entry.getNotes())
+                    .build());
+        }
+
+        chunk.clear();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,214 @@
+package com.progresstracking.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progresstracking.dto.progress.ProgressEntryBatchRequest;
+import com.progresstracking.dto.progress.ProgressEntryBatchResponse;
+import com.progresstracking.dto.progress.ProgressEntryRequest;
+import com.progresstracking.dto.progress.ProgressImportResponse;
+import com.progresstracking.exception.BadRequestException;
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.SyllabusRepository;
+import com.progresstracking.repository.TopicRepository;
+import com.progresstracking.service.ProgressImportService;
+import com.progresstracking.service.ProgressService;
+import com.progresstracking.service.importer.ImportFormat;
+import com.progresstracking.service.importer.ImportRecord;
+import com.progresstracking.service.importer.ImportRecordReader;
+import com.progresstracking.service.importer.ItemPathIndex;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a CSV or NDJSON body into progress entries. Lines are parsed as they are read and written in chunks of
+ * {@link #CHUNK_SIZE} through the bulk create, each chunk in its own transaction with its inserts batched; the
+ * persistence context is cleared after every chunk, so memory stays flat however long the file is.
+ * <p>
+ * A line that fails never stops the import: it is counted and, up to {@link #MAX_REPORTED_ERRORS}, reported with
+ * its line number. Entries that already exist are skipped as duplicates, which makes re-running an interrupted
+ * import safe.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgressImportServiceImpl implements ProgressImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int LOG_EVERY_CHUNKS = 100;
+
+    private final ProgressService progressService;
+    private final SyllabusRepository syllabusRepository;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final SubTopicRepository subTopicRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ProgressImportResponse importProgress(InputStream body, ImportFormat format, Long userId) {
+        ImportRun run = new ImportRun(userId);
+        ImportRecordReader reader = ImportRecordReader.of(format, body, objectMapper);
+        try {
+            for (ImportRecord record = reader.next(); record != null; record = reader.next()) {
+                run.recordsRead++;
+                ProgressEntryRequest request = toRequest(record, run);
+                if (request == null) {
+                    continue;
+                }
+                run.chunk.add(request);
+                run.chunkLines.add(record.getLineNumber());
+                if (run.chunk.size() == CHUNK_SIZE) {
+                    writeChunk(run);
+                }
+            }
+            writeChunk(run);
+        } catch (IOException ex) {
+            // chunks written so far stay; importing the file again skips them as duplicates
+            throw new BadRequestException("Could not read the import after " + run.recordsRead + " records: " + ex.getMessage());
+        }
+
+        log.info("Imported progress for user {}: {} records, {} created, {} duplicates, {} failed",
+                userId, run.recordsRead, run.imported, run.duplicates, run.failed);
+        return ProgressImportResponse.builder()
+                .recordsRead(run.recordsRead)
+                .imported(run.imported)
+                .duplicates(run.duplicates)
+                .failed(run.failed)
+                .chunks(run.chunks)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    /**
+     * Turns a parsed line into an entry request, resolving a title path to the item; returns null after recording
+     * the error when that is not possible.
+     */
+    private ProgressEntryRequest toRequest(ImportRecord record, ImportRun run) {
+        if (record.getError() != null) {
+            run.fail(record.getLineNumber(), ProgressEntryBatchResponse.Outcome.INVALID, record.getError());
+            return null;
+        }
+
+        Long itemId = record.getItemId();
+        ProgressEntry.ItemType itemType = record.getItemType();
+        if (itemId == null && record.getItemPath() != null) {
+            ProgressEntry.ItemType pathType = ItemPathIndex.typeOf(record.getItemPath());
+            if (pathType == null || (itemType != null && itemType != pathType)) {
+                run.fail(record.getLineNumber(), ProgressEntryBatchResponse.Outcome.INVALID,
+                        "Item path must be 'syllabus > subject[ > topic[ > subtopic]]'"
+                                + (itemType != null ? " naming a " + itemType : ""));
+                return null;
+            }
+            itemId = pathIndex(run).resolve(record.getItemPath());
+            if (itemId == null || ItemPathIndex.isAmbiguous(itemId)) {
+                run.fail(record.getLineNumber(), ProgressEntryBatchResponse.Outcome.NOT_FOUND,
+                        (itemId == null ? "No item of yours at '" : "More than one item of yours at '")
+                                + record.getItemPath() + "'");
+                return null;
+            }
+            itemType = pathType;
+        }
+
+        // the remaining checks (required fields, ownership, duplicates) are the bulk create's
+        return ProgressEntryRequest.builder()
+                .itemId(itemId)
+                .itemType(itemType)
+                .date(record.getDate())
+                .status(record.getStatus())
+                .timeSpentMinutes(record.getTimeSpentMinutes())
+                .notes(record.getNotes())
+                .build();
+    }
+
+    private void writeChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            ProgressEntryBatchResponse result = progressService.createProgressEntries(
+                    ProgressEntryBatchRequest.builder().entries(new ArrayList<>(run.chunk)).build(), run.userId);
+            run.imported += result.getCreated();
+            run.duplicates += result.getDuplicates();
+            for (ProgressEntryBatchResponse.EntryResultDto entry : result.getResults()) {
+                if (entry.getOutcome() != ProgressEntryBatchResponse.Outcome.CREATED
+                        && entry.getOutcome() != ProgressEntryBatchResponse.Outcome.DUPLICATE) {
+                    run.fail(run.chunkLines.get(entry.getIndex()), entry.getOutcome(), entry.getMessage());
+                }
+            }
+        } finally {
+            // the request-scoped persistence context would otherwise keep every imported entry
+            entityManager.clear();
+            run.chunk.clear();
+            run.chunkLines.clear();
+        }
+
+        run.chunks++;
+        if (run.chunks % LOG_EVERY_CHUNKS == 0) {
+            log.info("Importing progress for user {}: {} records read, {} created, {} duplicates, {} failed",
+                    run.userId, run.recordsRead, run.imported, run.duplicates, run.failed);
+        }
+    }
+
+    private ItemPathIndex pathIndex(ImportRun run) {
+        if (run.pathIndex != null) {
+            return run.pathIndex;
+        }
+
+        // the user's own trees, four queries, built on the first line that names an item by path
+        ItemPathIndex index = new ItemPathIndex();
+        List<Long> syllabusIds = new ArrayList<>();
+        for (Object[] row : syllabusRepository.findTitlesByUserId(run.userId)) {
+            index.addSyllabus((Long) row[0], (String) row[1]);
+            syllabusIds.add((Long) row[0]);
+        }
+        if (!syllabusIds.isEmpty()) {
+            subjectRepository.findTitlesBySyllabusIds(syllabusIds)
+                    .forEach(row -> index.addSubject((Long) row[0], (String) row[1], (Long) row[2]));
+            topicRepository.findTitlesBySyllabusIds(syllabusIds)
+                    .forEach(row -> index.addTopic((Long) row[0], (String) row[1], (Long) row[2]));
+            subTopicRepository.findTitlesBySyllabusIds(syllabusIds)
+                    .forEach(row -> index.addSubTopic((Long) row[0], (String) row[1], (Long) row[2]));
+        }
+        run.pathIndex = index;
+        return index;
+    }
+
+    private static final class ImportRun {
+        private final Long userId;
+        private final List<ProgressEntryRequest> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+        private final List<ProgressImportResponse.LineErrorDto> errors = new ArrayList<>();
+        private ItemPathIndex pathIndex;
+        private long recordsRead;
+        private long imported;
+        private long duplicates;
+        private long failed;
+        private int chunks;
+
+        private ImportRun(Long userId) {
+            this.userId = userId;
+        }
+
+        private void fail(Long line, ProgressEntryBatchResponse.Outcome outcome, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(ProgressImportResponse.LineErrorDto.builder()
+                        .line(line)
+                        .outcome(outcome)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
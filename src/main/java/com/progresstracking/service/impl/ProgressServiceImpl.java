@@ -3,6 +3,9 @@ package com.progresstracking.service.impl;
 import com.progresstracking.dto.analytics.CompletionSummaryResponse;
 import com.progresstracking.dto.analytics.ProgressSummaryResponse;
 import com.progresstracking.dto.analytics.TimeDistributionResponse;
+import com.progresstracking.dto.analytics.WindowSummaryResponse;
+import com.progresstracking.dto.progress.ProgressEntryBatchRequest;
+import com.progresstracking.dto.progress.ProgressEntryBatchResponse;
 import com.progresstracking.dto.progress.ProgressEntryRequest;
 import com.progresstracking.dto.progress.ProgressEntryResponse;
 import com.progresstracking.exception.BadRequestException;
@@ -10,8 +13,17 @@ import com.progresstracking.exception.ResourceNotFoundException;
 import com.progresstracking.exception.UnauthorizedException;
 import com.progresstracking.model.*;
 import com.progresstracking.repository.*;
+import com.progresstracking.service.CompletionRollupService;
+import com.progresstracking.service.DailyActivityService;
 import com.progresstracking.service.ProgressService;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ActivityPrefixSums;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.completion.CompletionEngine;
+import com.progresstracking.service.completion.CompletionSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -25,54 +37,178 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProgressServiceImpl implements ProgressService {
 
+    private static final int MAX_WINDOWS = 20;
+    private static final int MAX_WINDOW_DAYS = 3660;
+    private static final LocalDate MIN_ENTRY_DATE = LocalDate.of(1970, 1, 1);
+    private static final int MAX_ENTRY_DAYS_AHEAD = 366;
+
     private final ProgressEntryRepository progressEntryRepository;
     private final UserRepository userRepository;
     private final SyllabusRepository syllabusRepository;
     private final SubjectRepository subjectRepository;
     private final TopicRepository topicRepository;
     private final SubTopicRepository subTopicRepository;
+    private final CompletionEngine completionEngine;
+    private final CompletionRollupService completionRollupService;
+    private final ItemMetadataCache itemMetadataCache;
+    private final DailyActivityService dailyActivityService;
+
+    @Override
+    @Transactional
+    public ProgressEntryResponse createProgressEntry(ProgressEntryRequest progressEntryRequest, Long userId) {
+        validateEntryDate(progressEntryRequest.getDate());
+        ItemMetadata item = validateItemAccess(progressEntryRequest.getItemType(), progressEntryRequest.getItemId(), userId);
+        ProgressEntry progressEntry = buildProgressEntry(progressEntryRequest, userId, item);
+        
+        ProgressEntry savedEntry = saveUniqueEntry(progressEntry);
+        refreshCompletion(savedEntry.getItemType(), savedEntry.getItemId());
+        dailyActivityService.recordEntryAdded(userId, savedEntry.getDate(), savedEntry.getTimeSpentMinutes());
+        return mapToProgressEntryResponse(savedEntry);
+    }
 
     @Override
     @Transactional
-    public ProgressEntryResponse createProgressEntry(ProgressEntryRequest progressEntryRequest, String username) {
-        User user = getUserByUsername(username);
+    public ProgressEntryResponse upsertProgressEntry(ProgressEntryRequest progressEntryRequest, Long userId) {
+        validateEntryDate(progressEntryRequest.getDate());
+        ItemMetadata item = validateItemAccess(progressEntryRequest.getItemType(), progressEntryRequest.getItemId(), userId);
+        ProgressEntry progressEntry = buildProgressEntry(progressEntryRequest, userId, item);
+        
+        // a single statement whether or not the entry exists; the entry it replaced, if any, is not read back,
+        // so the day's totals are recounted instead of adjusted
+        progressEntry.setId(progressEntryRepository.upsertByKey(progressEntry));
+        refreshCompletion(progressEntry.getItemType(), progressEntry.getItemId());
+        dailyActivityService.refreshDay(userId, progressEntry.getDate());
+        return mapToProgressEntryResponse(progressEntry);
+    }
+
+    @Override
+    @Transactional
+    public ProgressEntryBatchResponse createProgressEntries(ProgressEntryBatchRequest batchRequest, Long userId) {
+        List<ProgressEntryRequest> requests = batchRequest.getEntries();
+        ProgressEntryBatchResponse.EntryResultDto[] results = new ProgressEntryBatchResponse.EntryResultDto[requests.size()];
+        
+        Map<ProgressEntry.ItemType, Set<Long>> idsByType = new EnumMap<>(ProgressEntry.ItemType.class);
+        for (int i = 0; i < requests.size(); i++) {
+            String problem = validateEntry(requests.get(i));
+            if (problem != null) {
+                results[i] = entryResult(i, ProgressEntryBatchResponse.Outcome.INVALID, null, problem);
+                continue;
+            }
+            idsByType.computeIfAbsent(requests.get(i).getItemType(), k -> new HashSet<>()).add(requests.get(i).getItemId());
+        }
         
-        validateItemAccess(progressEntryRequest.getItemType(), progressEntryRequest.getItemId(), user);
+        // at most one query per item type for whatever the cache does not hold, plus one for the topics of subtopics
+        Map<ProgressEntry.ItemType, Map<Long, ItemMetadata>> items = new EnumMap<>(ProgressEntry.ItemType.class);
+        idsByType.forEach((itemType, ids) -> items.put(itemType, itemMetadataCache.getAll(itemType, ids)));
+        Set<Long> parentTopicIds = items.getOrDefault(ProgressEntry.ItemType.SUBTOPIC, Collections.emptyMap()).values().stream()
+                .filter(item -> item.isOwnedBy(userId))
+                .map(ItemMetadata::getParentId)
+                .collect(Collectors.toSet());
+        Map<Long, ItemMetadata> parentTopics = parentTopicIds.isEmpty()
+                ? Collections.emptyMap()
+                : itemMetadataCache.getAll(ProgressEntry.ItemType.TOPIC, parentTopicIds);
+        
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            ProgressEntryRequest request = requests.get(i);
+            ItemMetadata item = items.get(request.getItemType()).get(request.getItemId());
+            if (item == null) {
+                results[i] = entryResult(i, ProgressEntryBatchResponse.Outcome.NOT_FOUND, null,
+                        new ResourceNotFoundException(resourceName(request.getItemType()), "id", request.getItemId()).getMessage());
+            } else if (!item.isOwnedBy(userId)) {
+                results[i] = entryResult(i, ProgressEntryBatchResponse.Outcome.FORBIDDEN, null,
+                        "You don't have permission to track progress for this item");
+            } else if (item.getItemType() == ProgressEntry.ItemType.SUBTOPIC && !parentTopics.containsKey(item.getParentId())) {
+                // the subject of a subtopic comes from its topic, which was removed in the meantime
+                results[i] = entryResult(i, ProgressEntryBatchResponse.Outcome.NOT_FOUND, null,
+                        new ResourceNotFoundException("Topic", "id", item.getParentId()).getMessage());
+            } else {
+                accepted.add(i);
+            }
+        }
         
-        // duplicate entry validation
-        Optional<ProgressEntry> existingEntry = progressEntryRepository.findByUserAndItemTypeAndItemIdAndDate(
-                user, 
-                progressEntryRequest.getItemType(), 
-                progressEntryRequest.getItemId(), 
-                progressEntryRequest.getDate()
-        );
+        // duplicates against stored entries are found with one query, duplicates within the batch while building
+        Set<String> existingKeys = findExistingEntryKeys(userId, requests, accepted);
+        Set<String> batchKeys = new HashSet<>();
+        User user = userRepository.getReferenceById(userId);
+        List<ProgressEntry> entries = new ArrayList<>();
+        List<Integer> entryIndexes = new ArrayList<>();
+        for (int i : accepted) {
+            ProgressEntryRequest request = requests.get(i);
+            String key = entryKey(request.getItemType(), request.getItemId(), request.getDate());
+            if (existingKeys.contains(key) || !batchKeys.add(key)) {
+                results[i] = entryResult(i, ProgressEntryBatchResponse.Outcome.DUPLICATE, null,
+                        "A progress entry already exists for this item on this date");
+                continue;
+            }
+            
+            ItemMetadata item = items.get(request.getItemType()).get(request.getItemId());
+            entries.add(ProgressEntry.builder()
+                    .user(user)
+                    .itemId(request.getItemId())
+                    .itemType(request.getItemType())
+                    .subjectId(item.getItemType() == ProgressEntry.ItemType.SUBTOPIC
+                            ? parentTopics.get(item.getParentId()).getParentId()
+                            : resolveSubjectId(item))
+                    .syllabusId(item.getSyllabusId())
+                    .date(request.getDate())
+                    .status(request.getStatus())
+                    .timeSpentMinutes(request.getTimeSpentMinutes())
+                    .notes(request.getNotes())
+                    .build());
+            entryIndexes.add(i);
+        }
         
-        if (existingEntry.isPresent()) {
-            throw new BadRequestException("A progress entry already exists for this item on this date");
+        // multi-row inserts that skip keys a concurrent writer took after the check above, instead of failing
+        // the whole batch on the unique key
+        Set<ProgressEntry> savedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        savedEntries.addAll(progressEntryRepository.insertAllSkippingDuplicates(entries));
+        
+        Set<Long> syllabusIds = new LinkedHashSet<>();
+        Map<LocalDate, int[]> totalsByDay = new TreeMap<>();
+        for (int k = 0; k < entries.size(); k++) {
+            ProgressEntry entry = entries.get(k);
+            int index = entryIndexes.get(k);
+            if (!savedEntries.contains(entry)) {
+                results[index] = entryResult(index, ProgressEntryBatchResponse.Outcome.DUPLICATE, null,
+                        "A progress entry already exists for this item on this date");
+                continue;
+            }
+            results[index] = entryResult(index, ProgressEntryBatchResponse.Outcome.CREATED, entry.getId(), null);
+            syllabusIds.add(entry.getSyllabusId());
+            int[] totals = totalsByDay.computeIfAbsent(entry.getDate(), d -> new int[2]);
+            totals[0] += entry.getTimeSpentMinutes() != null ? entry.getTimeSpentMinutes() : 0;
+            totals[1]++;
         }
         
-        ProgressEntry progressEntry = ProgressEntry.builder()
-                .user(user)
-                .itemId(progressEntryRequest.getItemId())
-                .itemType(progressEntryRequest.getItemType())
-                .date(progressEntryRequest.getDate())
-                .status(progressEntryRequest.getStatus())
-                .timeSpentMinutes(progressEntryRequest.getTimeSpentMinutes())
-                .notes(progressEntryRequest.getNotes())
-                .build();
+        // one rollup refresh per syllabus and one daily activity update per day instead of one per entry
+        syllabusIds.forEach(completionRollupService::refreshSyllabus);
+        totalsByDay.forEach((date, totals) -> dailyActivityService.recordEntriesAdded(userId, date, totals[0], totals[1]));
         
-        ProgressEntry savedEntry = progressEntryRepository.save(progressEntry);
-        return mapToProgressEntryResponse(savedEntry);
+        int duplicates = 0;
+        for (ProgressEntryBatchResponse.EntryResultDto result : results) {
+            if (result.getOutcome() == ProgressEntryBatchResponse.Outcome.DUPLICATE) {
+                duplicates++;
+            }
+        }
+        return ProgressEntryBatchResponse.builder()
+                .created(savedEntries.size())
+                .duplicates(duplicates)
+                .failed(requests.size() - savedEntries.size() - duplicates)
+                .results(Arrays.asList(results))
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ProgressEntryResponse getProgressEntryById(Long id, String username) {
-        User user = getUserByUsername(username);
+    public ProgressEntryResponse getProgressEntryById(Long id, Long userId) {
         ProgressEntry progressEntry = getProgressEntry(id);
         
         //  check  progress entry ownership
-        if (!progressEntry.getUser().getId().equals(user.getId())) {
+        if (!progressEntry.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to access this progress entry");
         }
         
@@ -81,34 +217,29 @@ public class ProgressServiceImpl implements ProgressService {
 
     @Override
     @Transactional
-    public ProgressEntryResponse updateProgressEntry(Long id, ProgressEntryRequest progressEntryRequest, String username) {
-        User user = getUserByUsername(username);
+    public ProgressEntryResponse updateProgressEntry(Long id, ProgressEntryRequest progressEntryRequest, Long userId) {
         ProgressEntry progressEntry = getProgressEntry(id);
 
         //  check  progress entry ownership
-        if (!progressEntry.getUser().getId().equals(user.getId())) {
+        if (!progressEntry.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to update this progress entry");
         }
-        //validation
-        if (!progressEntry.getItemType().equals(progressEntryRequest.getItemType()) ||
-            !progressEntry.getItemId().equals(progressEntryRequest.getItemId())) {
-            validateItemAccess(progressEntryRequest.getItemType(), progressEntryRequest.getItemId(), user);
+        validateEntryDate(progressEntryRequest.getDate());
+        ProgressEntry.ItemType previousItemType = progressEntry.getItemType();
+        Long previousItemId = progressEntry.getItemId();
+        boolean itemChanged = !previousItemType.equals(progressEntryRequest.getItemType()) ||
+                !previousItemId.equals(progressEntryRequest.getItemId());
 
+        //validation
+        if (itemChanged) {
+            ItemMetadata item = validateItemAccess(progressEntryRequest.getItemType(), progressEntryRequest.getItemId(), userId);
+            progressEntry.setSubjectId(resolveSubjectId(item));
+            progressEntry.setSyllabusId(item.getSyllabusId());
         }
 
 
-        if (!progressEntry.getDate().equals(progressEntryRequest.getDate())) {
-            Optional<ProgressEntry> existingEntry = progressEntryRepository.findByUserAndItemTypeAndItemIdAndDate(
-                    user, 
-                    progressEntryRequest.getItemType(), 
-                    progressEntryRequest.getItemId(), 
-                    progressEntryRequest.getDate()
-            );
-            
-            if (existingEntry.isPresent() && !existingEntry.get().getId().equals(id)) {
-                throw new BadRequestException("A progress entry already exists for this item on this date");
-            }
-        }
+        LocalDate previousDate = progressEntry.getDate();
+        Integer previousTimeSpentMinutes = progressEntry.getTimeSpentMinutes();
         
         progressEntry.setItemType(progressEntryRequest.getItemType());
         progressEntry.setItemId(progressEntryRequest.getItemId());
@@ -117,39 +248,52 @@ public class ProgressServiceImpl implements ProgressService {
         progressEntry.setTimeSpentMinutes(progressEntryRequest.getTimeSpentMinutes());
         progressEntry.setNotes(progressEntryRequest.getNotes());
         
-        ProgressEntry updatedEntry = progressEntryRepository.save(progressEntry);
+        ProgressEntry updatedEntry = saveUniqueEntry(progressEntry);
+        
+        refreshCompletion(updatedEntry.getItemType(), updatedEntry.getItemId());
+        if (itemChanged) {
+            refreshCompletion(previousItemType, previousItemId);
+        }
+        if (!previousDate.equals(updatedEntry.getDate())) {
+            dailyActivityService.recordEntryRemoved(userId, previousDate, previousTimeSpentMinutes);
+            dailyActivityService.recordEntryAdded(userId, updatedEntry.getDate(), updatedEntry.getTimeSpentMinutes());
+        } else if (!Objects.equals(previousTimeSpentMinutes, updatedEntry.getTimeSpentMinutes())) {
+            dailyActivityService.recordEntryChanged(userId, previousDate, previousTimeSpentMinutes,
+                    updatedEntry.getTimeSpentMinutes());
+        }
         return mapToProgressEntryResponse(updatedEntry);
     }
 
     @Override
     @Transactional
-    public void deleteProgressEntry(Long id, String username) {
-        User user = getUserByUsername(username);
+    public void deleteProgressEntry(Long id, Long userId) {
         ProgressEntry progressEntry = getProgressEntry(id);
         
         // //  check  progress entry ownership
-        if (!progressEntry.getUser().getId().equals(user.getId())) {
+        if (!progressEntry.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to delete this progress entry");
         }
         
         progressEntryRepository.delete(progressEntry);
+        dailyActivityService.recordEntryRemoved(userId, progressEntry.getDate(), progressEntry.getTimeSpentMinutes());
+        refreshCompletion(progressEntry.getItemType(), progressEntry.getItemId());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<ProgressEntryResponse> getUserProgressEntries(String username, Pageable pageable) {
-        User user = getUserByUsername(username);
-        Page<ProgressEntry> progressEntries = progressEntryRepository.findByUser(user, pageable);
-        return progressEntries.map(this::mapToProgressEntryResponse);
+    public Page<ProgressEntryResponse> getUserProgressEntries(Long userId, Pageable pageable) {
+        Page<ProgressEntry> progressEntries = progressEntryRepository.findByUserId(userId, pageable);
+        Map<ProgressEntry.ItemType, Map<Long, String>> titles = resolveItemTitles(progressEntries.getContent());
+        return progressEntries.map(entry -> mapToProgressEntryResponse(entry, userId, titles));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProgressEntryResponse> getUserProgressEntriesByDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
-        List<ProgressEntry> progressEntries = progressEntryRepository.findByUserAndDateBetween(user, startDate, endDate);
+    public List<ProgressEntryResponse> getUserProgressEntriesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<ProgressEntry> progressEntries = progressEntryRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
+        Map<ProgressEntry.ItemType, Map<Long, String>> titles = resolveItemTitles(progressEntries);
         return progressEntries.stream()
-                .map(this::mapToProgressEntryResponse)
+                .map(entry -> mapToProgressEntryResponse(entry, userId, titles))
                 .collect(Collectors.toList());
     }
 
@@ -157,164 +301,62 @@ public class ProgressServiceImpl implements ProgressService {
     @Transactional(readOnly = true)
     public Double calculateSyllabusCompletionPercentage(Long syllabusId) {
         Syllabus syllabus = getSyllabus(syllabusId);
-        
-        List<Subject> subjects = subjectRepository.findBySyllabusOrderByOrder(syllabus);
-        
-        if (subjects.isEmpty()) {
-            return 0.0;
-        }
-        
-        // calculate average completion % all subjects
-        double totalPercentage = 0.0;
-        for (Subject subject : subjects) {
-            totalPercentage += calculateSubjectCompletionPercentage(subject.getId());
-        }
-        
-        return totalPercentage / subjects.size();
+        return completionRollupService.getCompletion(NodeCompletion.NodeType.SYLLABUS, syllabus.getId());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double calculateSubjectCompletionPercentage(Long subjectId) {
-        Subject subject = getSubject(subjectId);
-        
-        List<Topic> topics = topicRepository.findBySubjectOrderByOrder(subject);
-        
-        if (topics.isEmpty()) {
-            // check for  subject itself
-            List<ProgressEntry> subjectEntries = progressEntryRepository.findByUserAndItemTypeAndItemId(
-                    subject.getSyllabus().getUser(),
-                    ProgressEntry.ItemType.SUBJECT,
-                    subjectId
-            );
-            
-            if (subjectEntries.isEmpty()) {
-                return 0.0;
-            }
-            
-            // return 100% when  status = completed
-            if (subjectEntries.stream().anyMatch(entry -> entry.getStatus() == ProgressEntry.Status.COMPLETED)) {
-                return 100.0;
-            }
-            
-            long inProgressCount = subjectEntries.stream()
-                    .filter(entry -> entry.getStatus() == ProgressEntry.Status.IN_PROGRESS)
-                    .count();
-            
-            return inProgressCount > 0 ? 50.0 : 0.0;
-        }
-        
-        // Cal. average completion % all topics
-        double totalPercentage = 0.0;
-        for (Topic topic : topics) {
-            totalPercentage += calculateTopicCompletionPercentage(topic.getId());
-        }
-        
-        return totalPercentage / topics.size();
+        subjectRepository.findSyllabusIdById(subjectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", subjectId));
+        // the stored rollup row, the whole syllabus is only evaluated if it has not been rolled up yet
+        return completionRollupService.getCompletion(NodeCompletion.NodeType.SUBJECT, subjectId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double calculateTopicCompletionPercentage(Long topicId) {
-        Topic topic = getTopic(topicId);
-        
-        List<SubTopic> subTopics = subTopicRepository.findByTopicOrderByOrder(topic);
-        
-        if (subTopics.isEmpty()) {
-            // checkfor topic
-            List<ProgressEntry> topicEntries = progressEntryRepository.findByUserAndItemTypeAndItemId(
-                    topic.getSubject().getSyllabus().getUser(),
-                    ProgressEntry.ItemType.TOPIC,
-                    topicId
-            );
-            
-            if (topicEntries.isEmpty()) {
-                return 0.0;
-            }
-            
-            // Return 100% if any entry has COMPLETED status, otherwise calculate based on IN_PROGRESS entries
-            if (topicEntries.stream().anyMatch(entry -> entry.getStatus() == ProgressEntry.Status.COMPLETED)) {
-                return 100.0;
-            }
-            
-            long inProgressCount = topicEntries.stream()
-                    .filter(entry -> entry.getStatus() == ProgressEntry.Status.IN_PROGRESS)
-                    .count();
-            
-            return inProgressCount > 0 ? 50.0 : 0.0;
-        }
-        
-        // Calculate the average completion percentage of all subtopics
-        double totalPercentage = 0.0;
-        for (SubTopic subTopic : subTopics) {
-            totalPercentage += calculateSubTopicCompletionPercentage(subTopic.getId());
-        }
-        
-        return totalPercentage / subTopics.size();
+        topicRepository.findSyllabusIdById(topicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Topic", "id", topicId));
+        return completionRollupService.getCompletion(NodeCompletion.NodeType.TOPIC, topicId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double calculateSubTopicCompletionPercentage(Long subTopicId) {
-        SubTopic subTopic = getSubTopic(subTopicId);
-        
-        // Check if there are any progress entries for the subtopic
-        List<ProgressEntry> subTopicEntries = progressEntryRepository.findByUserAndItemTypeAndItemId(
-                subTopic.getTopic().getSubject().getSyllabus().getUser(),
-                ProgressEntry.ItemType.SUBTOPIC,
-                subTopicId
-        );
-        
-        if (subTopicEntries.isEmpty()) {
-            return 0.0;
-        }
-
-// return 100% when  status = completed
-        if (subTopicEntries.stream().anyMatch(entry -> entry.getStatus() == ProgressEntry.Status.COMPLETED)) {
-            return 100.0;
-        }
-        
-        long inProgressCount = subTopicEntries.stream()
-                .filter(entry -> entry.getStatus() == ProgressEntry.Status.IN_PROGRESS)
-                .count();
-        
-        return inProgressCount > 0 ? 50.0 : 0.0;
+        subTopicRepository.findSyllabusIdById(subTopicId)
+                .orElseThrow(() -> new ResourceNotFoundException("SubTopic", "id", subTopicId));
+        return completionRollupService.getCompletion(NodeCompletion.NodeType.SUBTOPIC, subTopicId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public CompletionSummaryResponse getSyllabusCompletionSummary(Long syllabusId, String username) {
-        User user = getUserByUsername(username);
+    public CompletionSummaryResponse getSyllabusCompletionSummary(Long syllabusId, Long userId) {
         Syllabus syllabus = getSyllabus(syllabusId);
         
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!syllabus.getUser().getId().equals(userId) && !syllabus.isPublic()) {
             throw new UnauthorizedException("You don't have permission to access this syllabus");
         }
         
-        Double overallCompletionPercentage = calculateSyllabusCompletionPercentage(syllabusId);
+        // one evaluation yields the overall, per-subject and per-topic figures together
+        CompletionSnapshot snapshot = completionEngine.evaluate(syllabus.getId());
+        Double overallCompletionPercentage = snapshot.getSyllabusCompletion(syllabus.getId());
         
         List<Subject> subjects = subjectRepository.findBySyllabusOrderByOrder(syllabus);
         List<CompletionSummaryResponse.SubjectCompletionDto> subjectCompletions = new ArrayList<>();
         
         for (Subject subject : subjects) {
-            Double completionPercentage = calculateSubjectCompletionPercentage(subject.getId());
-            
-            // cunt completed topics
-            List<Topic> topics = topicRepository.findBySubjectOrderByOrder(subject);
-            int completedTopics = 0;
-            
-            for (Topic topic : topics) {
-                if (calculateTopicCompletionPercentage(topic.getId()) >= 100.0) {
-                    completedTopics++;
-                }
-            }
+            List<Long> topicIds = snapshot.getTopicIds(subject.getId());
+            int completedTopics = (int) topicIds.stream()
+                    .filter(topicId -> snapshot.getTopicCompletion(topicId) >= 100.0)
+                    .count();
             
             subjectCompletions.add(CompletionSummaryResponse.SubjectCompletionDto.builder()
                     .subjectId(subject.getId())
                     .subjectTitle(subject.getTitle())
-                    .completionPercentage(completionPercentage)
+                    .completionPercentage(snapshot.getSubjectCompletion(subject.getId()))
                     .completedTopics(completedTopics)
-                    .totalTopics(topics.size())
+                    .totalTopics(topicIds.size())
                     .build());
         }
         
@@ -328,120 +370,85 @@ public class ProgressServiceImpl implements ProgressService {
 
     @Override
     @Transactional(readOnly = true)
-    public ProgressSummaryResponse getUserProgressSummary(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
-        
-        List<ProgressEntry> progressEntries = progressEntryRepository.findByUserAndDateBetween(user, startDate, endDate);
-        
-        Long totalDaysWithProgress = progressEntryRepository.countDistinctDatesByUserAndDateBetween(user, startDate, endDate);
+    public ProgressSummaryResponse getUserProgressSummary(Long userId, LocalDate startDate, LocalDate endDate) {
+        // one rollup row per active day, already ordered by date
+        List<UserDailyActivity> activity = dailyActivityService.getDailyActivity(userId, startDate, endDate);
         
-        Integer totalTimeSpentMinutes = progressEntryRepository.sumTimeSpentByUserAndDateBetween(user, startDate, endDate);
-        if (totalTimeSpentMinutes == null) {
-            totalTimeSpentMinutes = 0;
-        }
-        
-        Integer streak = getCurrentStreak(username);
-        
-        // Group progress entries by date
-        Map<LocalDate, List<ProgressEntry>> entriesByDate = progressEntries.stream()
-                .collect(Collectors.groupingBy(ProgressEntry::getDate));
-        
-        // Create daily progress DTOs
         List<ProgressSummaryResponse.DailyProgressDto> dailyProgress = new ArrayList<>();
+        int totalTimeSpentMinutes = 0;
         
-        for (Map.Entry<LocalDate, List<ProgressEntry>> entry : entriesByDate.entrySet()) {
-            LocalDate date = entry.getKey();
-            List<ProgressEntry> entries = entry.getValue();
-            
-            Integer timeSpentMinutes = entries.stream()
-                    .map(ProgressEntry::getTimeSpentMinutes)
-                    .filter(Objects::nonNull)
-                    .reduce(0, Integer::sum);
-            
+        for (UserDailyActivity day : activity) {
+            totalTimeSpentMinutes += day.getMinutes();
             dailyProgress.add(ProgressSummaryResponse.DailyProgressDto.builder()
-                    .date(date)
-                    .timeSpentMinutes(timeSpentMinutes)
-                    .itemsProgressed(entries.size())
+                    .date(day.getDate())
+                    .timeSpentMinutes(day.getMinutes())
+                    .itemsProgressed(day.getItems())
                     .build());
         }
         
-        // Sort daily progress by date
-        dailyProgress.sort(Comparator.comparing(ProgressSummaryResponse.DailyProgressDto::getDate));
-        
         return ProgressSummaryResponse.builder()
                 .startDate(startDate)
                 .endDate(endDate)
-                .totalDaysWithProgress(totalDaysWithProgress.intValue())
+                .totalDaysWithProgress(activity.size())
                 .totalTimeSpentMinutes(totalTimeSpentMinutes)
-                .streak(streak)
+                .streak(dailyActivityService.getCurrentStreak(userId))
                 .dailyProgress(dailyProgress)
                 .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public TimeDistributionResponse getUserTimeDistribution(String username) {
-        User user = getUserByUsername(username);
-        
-        // Get all progress entries for the user
-        List<ProgressEntry> progressEntries = progressEntryRepository.findByUser(user, Pageable.unpaged()).getContent();
-        
-        // Calculate total time spent
-        Integer totalTimeSpentMinutes = progressEntries.stream()
-                .map(ProgressEntry::getTimeSpentMinutes)
-                .filter(Objects::nonNull)
-                .reduce(0, Integer::sum);
-        
-        // Group entries by subject
-        Map<Long, List<ProgressEntry>> entriesBySubject = new HashMap<>();
-        
-        for (ProgressEntry entry : progressEntries) {
-            if (entry.getTimeSpentMinutes() == null) {
-                continue;
-            }
-            
-            Long subjectId = null;
-            
-            switch (entry.getItemType()) {
-                case SUBJECT:
-                    subjectId = entry.getItemId();
-                    break;
-                case TOPIC:
-                    Topic topic = getTopic(entry.getItemId());
-                    subjectId = topic.getSubject().getId();
-                    break;
-                case SUBTOPIC:
-                    SubTopic subTopic = getSubTopic(entry.getItemId());
-                    subjectId = subTopic.getTopic().getSubject().getId();
-                    break;
-            }
-            
-            if (subjectId != null) {
-                entriesBySubject.computeIfAbsent(subjectId, k -> new ArrayList<>()).add(entry);
+    public WindowSummaryResponse getUserProgressWindows(Long userId, List<Integer> windowDays) {
+        if (windowDays == null || windowDays.isEmpty() || windowDays.size() > MAX_WINDOWS) {
+            throw new BadRequestException("Between 1 and " + MAX_WINDOWS + " windows must be requested");
+        }
+        for (Integer days : windowDays) {
+            if (days == null || days < 1 || days > MAX_WINDOW_DAYS) {
+                throw new BadRequestException("Window length must be between 1 and " + MAX_WINDOW_DAYS + " days");
             }
         }
         
-        // Create subject time distribution DTOs
+        ActivityPrefixSums sums = dailyActivityService.getPrefixSums(userId);
+        LocalDate endDate = LocalDate.now();
+        
+        // each window is a difference of two prefix slots
+        List<WindowSummaryResponse.WindowDto> windows = new ArrayList<>();
+        for (Integer days : windowDays) {
+            LocalDate startDate = endDate.minusDays(days - 1);
+            windows.add(WindowSummaryResponse.WindowDto.builder()
+                    .days(days)
+                    .startDate(startDate)
+                    .totalDaysWithProgress(sums.activeDaysBetween(startDate, endDate))
+                    .totalTimeSpentMinutes((int) sums.minutesBetween(startDate, endDate))
+                    .itemsProgressed((int) sums.itemsBetween(startDate, endDate))
+                    .build());
+        }
+        
+        return WindowSummaryResponse.builder()
+                .endDate(endDate)
+                .windows(windows)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimeDistributionResponse getUserTimeDistribution(Long userId) {
+        Long totalTimeSpent = progressEntryRepository.sumTimeSpentByUserId(userId);
+        Integer totalTimeSpentMinutes = totalTimeSpent != null ? totalTimeSpent.intValue() : 0;
+        
+        // Create subject time distribution DTOs, aggregated per subject by the database
         List<TimeDistributionResponse.SubjectTimeDto> subjectDistribution = new ArrayList<>();
         
-        for (Map.Entry<Long, List<ProgressEntry>> entry : entriesBySubject.entrySet()) {
-            Long subjectId = entry.getKey();
-            List<ProgressEntry> entries = entry.getValue();
-            
-            Subject subject = getSubject(subjectId);
-            
-            Integer timeSpentMinutes = entries.stream()
-                    .map(ProgressEntry::getTimeSpentMinutes)
-                    .filter(Objects::nonNull)
-                    .reduce(0, Integer::sum);
+        for (Object[] row : progressEntryRepository.sumTimeSpentByUserIdGroupBySubject(userId)) {
+            Integer timeSpentMinutes = ((Number) row[2]).intValue();
             
             Double percentageOfTotal = totalTimeSpentMinutes > 0 
                     ? (timeSpentMinutes.doubleValue() / totalTimeSpentMinutes) * 100 
                     : 0.0;
             
             subjectDistribution.add(TimeDistributionResponse.SubjectTimeDto.builder()
-                    .subjectId(subjectId)
-                    .subjectTitle(subject.getTitle())
+                    .subjectId((Long) row[0])
+                    .subjectTitle((String) row[1])
                     .timeSpentMinutes(timeSpentMinutes)
                     .percentageOfTotal(percentageOfTotal)
                     .build());
@@ -458,95 +465,181 @@ public class ProgressServiceImpl implements ProgressService {
 
     @Override
     @Transactional(readOnly = true)
-    public Integer getCurrentStreak(String username) {
-        User user = getUserByUsername(username);
-        
-        // Get the most recent dates with progress entries
-        List<LocalDate> recentDates = progressEntryRepository.findDistinctDatesByUserOrderByDateDesc(user, Pageable.unpaged());
-        
-        if (recentDates.isEmpty()) {
-            return 0;
+    public Integer getCurrentStreak(Long userId) {
+        return dailyActivityService.getCurrentStreak(userId);
+    }
+
+
+    private Syllabus getSyllabus(Long id) {
+        return syllabusRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "id", id));
+    }
+
+    private ItemMetadata getItemMetadata(ProgressEntry.ItemType itemType, Long itemId) {
+        return itemMetadataCache.get(itemType, itemId)
+                .orElseThrow(() -> new ResourceNotFoundException(resourceName(itemType), "id", itemId));
+    }
+
+    private String resourceName(ProgressEntry.ItemType itemType) {
+        switch (itemType) {
+            case SUBJECT:
+                return "Subject";
+            case TOPIC:
+                return "Topic";
+            default:
+                return "SubTopic";
         }
-        
-        // Check if the most recent date is today or yesterday
-        LocalDate today = LocalDate.now();
-        LocalDate mostRecentDate = recentDates.get(0);
-        
-        if (!mostRecentDate.equals(today) && !mostRecentDate.equals(today.minusDays(1))) {
-            return 0; // Streak broken if no entries today or yesterday
+    }
+
+    private ProgressEntry getProgressEntry(Long id) {
+        return progressEntryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ProgressEntry", "id", id));
+    }
+
+    private void refreshCompletion(ProgressEntry.ItemType itemType, Long itemId) {
+        completionRollupService.refreshNode(NodeCompletion.NodeType.valueOf(itemType.name()), itemId);
+    }
+
+    private ProgressEntry buildProgressEntry(ProgressEntryRequest progressEntryRequest, Long userId, ItemMetadata item) {
+        return ProgressEntry.builder()
+                .user(userRepository.getReferenceById(userId))
+                .itemId(progressEntryRequest.getItemId())
+                .itemType(progressEntryRequest.getItemType())
+                .subjectId(resolveSubjectId(item))
+                .syllabusId(item.getSyllabusId())
+                .date(progressEntryRequest.getDate())
+                .status(progressEntryRequest.getStatus())
+                .timeSpentMinutes(progressEntryRequest.getTimeSpentMinutes())
+                .notes(progressEntryRequest.getNotes())
+                .build();
+    }
+
+    /**
+     * Saves and flushes so the unique key on (user, item, date) rejects a duplicate here rather than at commit,
+     * where it could no longer be reported as a bad request.
+     */
+    private ProgressEntry saveUniqueEntry(ProgressEntry progressEntry) {
+        try {
+            return progressEntryRepository.saveAndFlush(progressEntry);
+        } catch (DataIntegrityViolationException ex) {
+            if (isEntryKeyViolation(ex)) {
+                throw new BadRequestException("A progress entry already exists for this item on this date");
+            }
+            throw ex;
         }
-        
-        // Count consecutive days
-        int streak = 1;
-        LocalDate expectedDate = mostRecentDate.minusDays(1);
-        
-        for (int i = 1; i < recentDates.size(); i++) {
-            LocalDate date = recentDates.get(i);
-            
-            if (date.equals(expectedDate)) {
-                streak++;
-                expectedDate = expectedDate.minusDays(1);
-            } else {
-                break; // Streak broken
+    }
+
+    private boolean isEntryKeyViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(ProgressEntry.KEY_CONSTRAINT)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private ItemMetadata validateItemAccess(ProgressEntry.ItemType itemType, Long itemId, Long userId) {
+        if (itemType == null) {
+            throw new BadRequestException("Invalid item type");
+        }
+        ItemMetadata item = getItemMetadata(itemType, itemId);
         
-        return streak;
+        // Check if user has access to this syllabus
+        if (!item.getOwnerId().equals(userId)) {
+            throw new UnauthorizedException("You don't have permission to track progress for this item");
+        }
+        return item;
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    private String validateEntry(ProgressEntryRequest request) {
+        if (request == null) {
+            return "Entry is required";
+        }
+        if (request.getItemId() == null) {
+            return "Item ID is required";
+        }
+        if (request.getItemType() == null) {
+            return "Item type is required";
+        }
+        String dateProblem = entryDateProblem(request.getDate());
+        if (dateProblem != null) {
+            return dateProblem;
+        }
+        if (request.getStatus() == null) {
+            return "Status is required";
+        }
+        if (request.getTimeSpentMinutes() != null && request.getTimeSpentMinutes() < 0) {
+            return "Time spent must be a positive number";
+        }
+        return null;
     }
 
-    private Syllabus getSyllabus(Long id) {
-        return syllabusRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "id", id));
+    private void validateEntryDate(LocalDate date) {
+        String problem = entryDateProblem(date);
+        if (problem != null) {
+            throw new BadRequestException(problem);
+        }
     }
 
-    private Subject getSubject(Long id) {
-        return subjectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", id));
+    private String entryDateProblem(LocalDate date) {
+        if (date == null) {
+            return "Date is required";
+        }
+        LocalDate latest = LocalDate.now().plusDays(MAX_ENTRY_DAYS_AHEAD);
+        if (date.isBefore(MIN_ENTRY_DATE) || date.isAfter(latest)) {
+            return "Date must be between " + MIN_ENTRY_DATE + " and " + latest;
+        }
+        return null;
     }
 
-    private Topic getTopic(Long id) {
-        return topicRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Topic", "id", id));
+    private Set<String> findExistingEntryKeys(Long userId, List<ProgressEntryRequest> requests, List<Integer> indexes) {
+        if (indexes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Long> itemIds = new HashSet<>();
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        for (int i : indexes) {
+            ProgressEntryRequest request = requests.get(i);
+            itemIds.add(request.getItemId());
+            if (startDate == null || request.getDate().isBefore(startDate)) {
+                startDate = request.getDate();
+            }
+            if (endDate == null || request.getDate().isAfter(endDate)) {
+                endDate = request.getDate();
+            }
+        }
+        
+        Set<String> keys = new HashSet<>();
+        for (Object[] row : progressEntryRepository.findKeysByUserIdAndItemIds(userId, itemIds, startDate, endDate)) {
+            keys.add(entryKey((ProgressEntry.ItemType) row[0], (Long) row[1], (LocalDate) row[2]));
+        }
+        return keys;
     }
 
-    private SubTopic getSubTopic(Long id) {
-        return subTopicRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SubTopic", "id", id));
+    private String entryKey(ProgressEntry.ItemType itemType, Long itemId, LocalDate date) {
+        return itemType + ":" + itemId + ":" + date;
     }
 
-    private ProgressEntry getProgressEntry(Long id) {
-        return progressEntryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("ProgressEntry", "id", id));
+    private ProgressEntryBatchResponse.EntryResultDto entryResult(int index, ProgressEntryBatchResponse.Outcome outcome,
+                                                                  Long id, String message) {
+        return ProgressEntryBatchResponse.EntryResultDto.builder()
+                .index(index)
+                .outcome(outcome)
+                .id(id)
+                .message(message)
+                .build();
     }
 
-    private void validateItemAccess(ProgressEntry.ItemType itemType, Long itemId, User user) {
-        Syllabus syllabus;
-        
-        switch (itemType) {
+    private Long resolveSubjectId(ItemMetadata item) {
+        switch (item.getItemType()) {
             case SUBJECT:
-                Subject subject = getSubject(itemId);
-                syllabus = subject.getSyllabus();
-                break;
+                return item.getId();
             case TOPIC:
-                Topic topic = getTopic(itemId);
-                syllabus = topic.getSubject().getSyllabus();
-                break;
-            case SUBTOPIC:
-                SubTopic subTopic = getSubTopic(itemId);
-                syllabus = subTopic.getTopic().getSubject().getSyllabus();
-                break;
+                return item.getParentId();
             default:
-                throw new BadRequestException("Invalid item type");
-        }
-        
-        // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You don't have permission to track progress for this item");
+                return getItemMetadata(ProgressEntry.ItemType.TOPIC, item.getParentId()).getParentId();
         }
     }
 
@@ -566,16 +659,43 @@ public class ProgressServiceImpl implements ProgressService {
                 .build();
     }
 
-    private String getItemTitle(ProgressEntry.ItemType itemType, Long itemId) {
-        switch (itemType) {
-            case SUBJECT:
-                return getSubject(itemId).getTitle();
-            case TOPIC:
-                return getTopic(itemId).getTitle();
-            case SUBTOPIC:
-                return getSubTopic(itemId).getTitle();
-            default:
-                return "Unknown";
+    private ProgressEntryResponse mapToProgressEntryResponse(ProgressEntry progressEntry, Long userId,
+                                                             Map<ProgressEntry.ItemType, Map<Long, String>> titles) {
+        // userId is passed in rather than read from the lazy user association of every row
+        String itemTitle = titles.getOrDefault(progressEntry.getItemType(), Collections.emptyMap())
+                .getOrDefault(progressEntry.getItemId(), "Unknown");
+        
+        return ProgressEntryResponse.builder()
+                .id(progressEntry.getId())
+                .userId(userId)
+                .itemId(progressEntry.getItemId())
+                .itemType(progressEntry.getItemType())
+                .itemTitle(itemTitle)
+                .date(progressEntry.getDate())
+                .status(progressEntry.getStatus())
+                .timeSpentMinutes(progressEntry.getTimeSpentMinutes())
+                .notes(progressEntry.getNotes())
+                .build();
+    }
+
+    private Map<ProgressEntry.ItemType, Map<Long, String>> resolveItemTitles(Collection<ProgressEntry> progressEntries) {
+        // at most one query per item type for whatever the cache does not already hold
+        Map<ProgressEntry.ItemType, Set<Long>> idsByType = new EnumMap<>(ProgressEntry.ItemType.class);
+        for (ProgressEntry entry : progressEntries) {
+            idsByType.computeIfAbsent(entry.getItemType(), k -> new HashSet<>()).add(entry.getItemId());
+        }
+        
+        Map<ProgressEntry.ItemType, Map<Long, String>> titles = new EnumMap<>(ProgressEntry.ItemType.class);
+        for (Map.Entry<ProgressEntry.ItemType, Set<Long>> entry : idsByType.entrySet()) {
+            Map<Long, String> titlesById = new HashMap<>();
+            itemMetadataCache.getAll(entry.getKey(), entry.getValue())
+                    .forEach((id, metadata) -> titlesById.put(id, metadata.getTitle()));
+            titles.put(entry.getKey(), titlesById);
         }
+        return titles;
+    }
+
+    private String getItemTitle(ProgressEntry.ItemType itemType, Long itemId) {
+        return getItemMetadata(itemType, itemId).getTitle();
     }
 }
@@ -8,6 +8,8 @@ import com.progresstracking.exception.UnauthorizedException;
 import com.progresstracking.model.*;
 import com.progresstracking.repository.*;
 import com.progresstracking.service.ResourceService;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ItemMetadataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,16 +25,16 @@ public class ResourceServiceImpl implements ResourceService {
     private final SubjectRepository subjectRepository;
     private final TopicRepository topicRepository;
     private final SubTopicRepository subTopicRepository;
-    private final UserRepository userRepository;
+    private final SyllabusRepository syllabusRepository;
+    private final ItemMetadataCache itemMetadataCache;
 
     @Override
     @Transactional
-    public ResourceResponse createResource(Long itemId, Resource.ItemType itemType, ResourceRequest resourceRequest, String username) {
-        User user = getUserByUsername(username);
-        Syllabus syllabus = getSyllabusByItemTypeAndId(itemType, itemId);
+    public ResourceResponse createResource(Long itemId, Resource.ItemType itemType, ResourceRequest resourceRequest, Long userId) {
+        ItemMetadata item = getItemMetadata(itemType, itemId);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to add resources to this item");
         }
 
@@ -42,37 +44,32 @@ public class ResourceServiceImpl implements ResourceService {
                 .content(resourceRequest.getContent())
                 .build();
 
-        // Set the appropriate parent entity based on item type
+        // Set the appropriate parent entity based on item type, its existence was checked above
         switch (itemType) {
             case SUBJECT:
-                Subject subject = getSubject(itemId);
-                resource.setSubject(subject);
+                resource.setSubject(subjectRepository.getReferenceById(itemId));
                 break;
             case TOPIC:
-                Topic topic = getTopic(itemId);
-                resource.setTopic(topic);
-                break;
-            case SUBTOPIC:
-                SubTopic subTopic = getSubTopic(itemId);
-                resource.setSubTopic(subTopic);
+                resource.setTopic(topicRepository.getReferenceById(itemId));
                 break;
             default:
-                throw new BadRequestException("Invalid item type");
+                resource.setSubTopic(subTopicRepository.getReferenceById(itemId));
+                break;
         }
 
         Resource savedResource = resourceRepository.save(resource);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
         return mapToResourceResponse(savedResource);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ResourceResponse getResourceById(Long id, String username) {
-        User user = getUserByUsername(username);
+    public ResourceResponse getResourceById(Long id, Long userId) {
         Resource resource = getResource(id);
-        Syllabus syllabus = getSyllabusByResource(resource);
+        ItemMetadata item = getItemMetadata(resource);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!itemMetadataCache.isReadableBy(item, userId)) {
             throw new UnauthorizedException("You don't have permission to access this resource");
         }
 
@@ -81,12 +78,11 @@ public class ResourceServiceImpl implements ResourceService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ResourceResponse> getResourcesByItem(Long itemId, Resource.ItemType itemType, String username) {
-        User user = getUserByUsername(username);
-        Syllabus syllabus = getSyllabusByItemTypeAndId(itemType, itemId);
+    public List<ResourceResponse> getResourcesByItem(Long itemId, Resource.ItemType itemType, Long userId) {
+        ItemMetadata item = getItemMetadata(itemType, itemId);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!itemMetadataCache.isReadableBy(item, userId)) {
             throw new UnauthorizedException("You don't have permission to access resources for this item");
         }
 
@@ -98,13 +94,12 @@ public class ResourceServiceImpl implements ResourceService {
 
     @Override
     @Transactional
-    public ResourceResponse updateResource(Long id, ResourceRequest resourceRequest, String username) {
-        User user = getUserByUsername(username);
+    public ResourceResponse updateResource(Long id, ResourceRequest resourceRequest, Long userId) {
         Resource resource = getResource(id);
-        Syllabus syllabus = getSyllabusByResource(resource);
+        ItemMetadata item = getItemMetadata(resource);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to update this resource");
         }
 
@@ -112,77 +107,63 @@ public class ResourceServiceImpl implements ResourceService {
         resource.setContent(resourceRequest.getContent());
 
         Resource updatedResource = resourceRepository.save(resource);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
         return mapToResourceResponse(updatedResource);
     }
 
     @Override
     @Transactional
-    public void deleteResource(Long id, String username) {
-        User user = getUserByUsername(username);
+    public void deleteResource(Long id, Long userId) {
         Resource resource = getResource(id);
-        Syllabus syllabus = getSyllabusByResource(resource);
+        ItemMetadata item = getItemMetadata(resource);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to delete this resource");
         }
 
         resourceRepository.delete(resource);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-    }
-
-    private Subject getSubject(Long id) {
-        return subjectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", id));
-    }
-
-    private Topic getTopic(Long id) {
-        return topicRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Topic", "id", id));
-    }
-
-    private SubTopic getSubTopic(Long id) {
-        return subTopicRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SubTopic", "id", id));
-    }
 
     private Resource getResource(Long id) {
         return resourceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource", "id", id));
     }
 
-    private Syllabus getSyllabusByItemTypeAndId(Resource.ItemType itemType, Long itemId) {
-        switch (itemType) {
-            case SUBJECT:
-                Subject subject = getSubject(itemId);
-                return subject.getSyllabus();
-            case TOPIC:
-                Topic topic = getTopic(itemId);
-                return topic.getSubject().getSyllabus();
-            case SUBTOPIC:
-                SubTopic subTopic = getSubTopic(itemId);
-                return subTopic.getTopic().getSubject().getSyllabus();
-            default:
-                throw new BadRequestException("Invalid item type");
+    private ItemMetadata getItemMetadata(Resource.ItemType itemType, Long itemId) {
+        if (itemType == null) {
+            throw new BadRequestException("Invalid item type");
         }
+        return itemMetadataCache.get(ProgressEntry.ItemType.valueOf(itemType.name()), itemId)
+                .orElseThrow(() -> new ResourceNotFoundException(resourceName(itemType), "id", itemId));
     }
 
-    private Syllabus getSyllabusByResource(Resource resource) {
+    private ItemMetadata getItemMetadata(Resource resource) {
+        // only the ids of the parent proxies are read, so none of them is initialized
         if (resource.getSubject() != null) {
-            return resource.getSubject().getSyllabus();
+            return getItemMetadata(Resource.ItemType.SUBJECT, resource.getSubject().getId());
         } else if (resource.getTopic() != null) {
-            return resource.getTopic().getSubject().getSyllabus();
+            return getItemMetadata(Resource.ItemType.TOPIC, resource.getTopic().getId());
         } else if (resource.getSubTopic() != null) {
-            return resource.getSubTopic().getTopic().getSubject().getSyllabus();
+            return getItemMetadata(Resource.ItemType.SUBTOPIC, resource.getSubTopic().getId());
         } else {
             throw new BadRequestException("Resource is not associated with any syllabus item");
         }
     }
 
+    private String resourceName(Resource.ItemType itemType) {
+        switch (itemType) {
+            case SUBJECT:
+                return "Subject";
+            case TOPIC:
+                return "Topic";
+            default:
+                return "SubTopic";
+        }
+    }
+
     private ResourceResponse mapToResourceResponse(Resource resource) {
         Long itemId;
         if (resource.getSubject() != null) {
@@ -5,15 +5,16 @@ import com.progresstracking.dto.subtopic.SubTopicResponse;
 import com.progresstracking.exception.BadRequestException;
 import com.progresstracking.exception.ResourceNotFoundException;
 import com.progresstracking.exception.UnauthorizedException;
+import com.progresstracking.model.NodeCompletion;
+import com.progresstracking.model.ProgressEntry;
 import com.progresstracking.model.SubTopic;
-import com.progresstracking.model.Syllabus;
-import com.progresstracking.model.Topic;
-import com.progresstracking.model.User;
 import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SyllabusRepository;
 import com.progresstracking.repository.TopicRepository;
-import com.progresstracking.repository.UserRepository;
-import com.progresstracking.service.ProgressService;
+import com.progresstracking.service.CompletionRollupService;
 import com.progresstracking.service.SubTopicService;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ItemMetadataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,18 +28,17 @@ public class SubTopicServiceImpl implements SubTopicService {
 
     private final SubTopicRepository subTopicRepository;
     private final TopicRepository topicRepository;
-    private final UserRepository userRepository;
-    private final ProgressService progressService;
+    private final SyllabusRepository syllabusRepository;
+    private final CompletionRollupService completionRollupService;
+    private final ItemMetadataCache itemMetadataCache;
 
     @Override
     @Transactional
-    public SubTopicResponse createSubTopic(Long topicId, SubTopicRequest subTopicRequest, String username) {
-        User user = getUserByUsername(username);
-        Topic topic = getTopic(topicId);
-        Syllabus syllabus = topic.getSubject().getSyllabus();
+    public SubTopicResponse createSubTopic(Long topicId, SubTopicRequest subTopicRequest, Long userId) {
+        ItemMetadata topic = getTopicMetadata(topicId);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!topic.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to add subtopics to this topic");
         }
 
@@ -50,7 +50,9 @@ public class SubTopicServiceImpl implements SubTopicService {
         }
 
         SubTopic subTopic = SubTopic.builder()
-                .topic(topic)
+                .topic(topicRepository.getReferenceById(topicId))
+                .subjectId(topic.getParentId())
+                .syllabusId(topic.getSyllabusId())
                 .title(subTopicRequest.getTitle())
                 .description(subTopicRequest.getDescription())
                 .order(order)
@@ -58,18 +60,19 @@ public class SubTopicServiceImpl implements SubTopicService {
                 .build();
 
         SubTopic savedSubTopic = subTopicRepository.save(subTopic);
+        syllabusRepository.incrementVersion(topic.getSyllabusId());
+        completionRollupService.refreshSyllabus(topic.getSyllabusId());
         return mapToSubTopicResponse(savedSubTopic);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public SubTopicResponse getSubTopicById(Long id, String username) {
-        User user = getUserByUsername(username);
+    public SubTopicResponse getSubTopicById(Long id, Long userId) {
         SubTopic subTopic = getSubTopic(id);
-        Syllabus syllabus = subTopic.getTopic().getSubject().getSyllabus();
+        ItemMetadata item = getSubTopicMetadata(id);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!itemMetadataCache.isReadableBy(item, userId)) {
             throw new UnauthorizedException("You don't have permission to access this subtopic");
         }
 
@@ -78,17 +81,15 @@ public class SubTopicServiceImpl implements SubTopicService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<SubTopicResponse> getSubTopicsByTopic(Long topicId, String username) {
-        User user = getUserByUsername(username);
-        Topic topic = getTopic(topicId);
-        Syllabus syllabus = topic.getSubject().getSyllabus();
+    public List<SubTopicResponse> getSubTopicsByTopic(Long topicId, Long userId) {
+        ItemMetadata topic = getTopicMetadata(topicId);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!itemMetadataCache.isReadableBy(topic, userId)) {
             throw new UnauthorizedException("You don't have permission to access subtopics in this topic");
         }
 
-        List<SubTopic> subTopics = subTopicRepository.findByTopicOrderByOrder(topic);
+        List<SubTopic> subTopics = subTopicRepository.findByTopicOrderByOrder(topicRepository.getReferenceById(topicId));
         return subTopics.stream()
                 .map(this::mapToSubTopicResponse)
                 .collect(Collectors.toList());
@@ -96,13 +97,12 @@ public class SubTopicServiceImpl implements SubTopicService {
 
     @Override
     @Transactional
-    public SubTopicResponse updateSubTopic(Long id, SubTopicRequest subTopicRequest, String username) {
-        User user = getUserByUsername(username);
+    public SubTopicResponse updateSubTopic(Long id, SubTopicRequest subTopicRequest, Long userId) {
         SubTopic subTopic = getSubTopic(id);
-        Syllabus syllabus = subTopic.getTopic().getSubject().getSyllabus();
+        ItemMetadata item = getSubTopicMetadata(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to update this subtopic");
         }
 
@@ -117,38 +117,40 @@ public class SubTopicServiceImpl implements SubTopicService {
         subTopic.setTargetCompletionDate(subTopicRequest.getTargetCompletionDate());
 
         SubTopic updatedSubTopic = subTopicRepository.save(subTopic);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
+        itemMetadataCache.invalidate(ProgressEntry.ItemType.SUBTOPIC, id);
         return mapToSubTopicResponse(updatedSubTopic);
     }
 
     @Override
     @Transactional
-    public void deleteSubTopic(Long id, String username) {
-        User user = getUserByUsername(username);
+    public void deleteSubTopic(Long id, Long userId) {
         SubTopic subTopic = getSubTopic(id);
-        Syllabus syllabus = subTopic.getTopic().getSubject().getSyllabus();
+        ItemMetadata item = getSubTopicMetadata(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to delete this subtopic");
         }
 
         subTopicRepository.delete(subTopic);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
+        itemMetadataCache.invalidate(ProgressEntry.ItemType.SUBTOPIC, id);
+        completionRollupService.refreshSyllabus(item.getSyllabusId());
     }
 
     @Override
     @Transactional
-    public void reorderSubTopics(Long topicId, List<Long> subTopicIds, String username) {
-        User user = getUserByUsername(username);
-        Topic topic = getTopic(topicId);
-        Syllabus syllabus = topic.getSubject().getSyllabus();
+    public void reorderSubTopics(Long topicId, List<Long> subTopicIds, Long userId) {
+        ItemMetadata topic = getTopicMetadata(topicId);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!topic.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to reorder subtopics in this topic");
         }
 
         // Check if all subtopic IDs belong to this topic
-        List<SubTopic> subTopics = subTopicRepository.findByTopicOrderByOrder(topic);
+        List<SubTopic> subTopics = subTopicRepository.findByTopicOrderByOrder(topicRepository.getReferenceById(topicId));
         List<Long> existingIds = subTopics.stream().map(SubTopic::getId).collect(Collectors.toList());
 
         if (!existingIds.containsAll(subTopicIds) || existingIds.size() != subTopicIds.size()) {
@@ -166,25 +168,27 @@ public class SubTopicServiceImpl implements SubTopicService {
             subTopic.setOrder(i + 1);
             subTopicRepository.save(subTopic);
         }
+        syllabusRepository.incrementVersion(topic.getSyllabusId());
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-    }
 
-    private Topic getTopic(Long id) {
-        return topicRepository.findById(id)
+    private ItemMetadata getTopicMetadata(Long id) {
+        return itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, id)
                 .orElseThrow(() -> new ResourceNotFoundException("Topic", "id", id));
     }
 
+    private ItemMetadata getSubTopicMetadata(Long id) {
+        return itemMetadataCache.get(ProgressEntry.ItemType.SUBTOPIC, id)
+                .orElseThrow(() -> new ResourceNotFoundException("SubTopic", "id", id));
+    }
+
     private SubTopic getSubTopic(Long id) {
         return subTopicRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("SubTopic", "id", id));
     }
 
     private SubTopicResponse mapToSubTopicResponse(SubTopic subTopic) {
-        Double completionPercentage = progressService.calculateSubTopicCompletionPercentage(subTopic.getId());
+        Double completionPercentage = completionRollupService.getCompletion(NodeCompletion.NodeType.SUBTOPIC, subTopic.getId());
         
         return SubTopicResponse.builder()
                 .id(subTopic.getId())
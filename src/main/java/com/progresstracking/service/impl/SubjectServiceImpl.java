@@ -5,14 +5,17 @@ import com.progresstracking.dto.subject.SubjectResponse;
 import com.progresstracking.exception.BadRequestException;
 import com.progresstracking.exception.ResourceNotFoundException;
 import com.progresstracking.exception.UnauthorizedException;
+import com.progresstracking.model.NodeCompletion;
+import com.progresstracking.model.ProgressEntry;
 import com.progresstracking.model.Subject;
 import com.progresstracking.model.Syllabus;
-import com.progresstracking.model.User;
 import com.progresstracking.repository.SubjectRepository;
 import com.progresstracking.repository.SyllabusRepository;
-import com.progresstracking.repository.UserRepository;
-import com.progresstracking.service.ProgressService;
+import com.progresstracking.service.CompletionRollupService;
 import com.progresstracking.service.SubjectService;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.tree.SubtreeRemover;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,17 +29,17 @@ public class SubjectServiceImpl implements SubjectService {
 
     private final SubjectRepository subjectRepository;
     private final SyllabusRepository syllabusRepository;
-    private final UserRepository userRepository;
-    private final ProgressService progressService;
+    private final CompletionRollupService completionRollupService;
+    private final ItemMetadataCache itemMetadataCache;
+    private final SubtreeRemover subtreeRemover;
 
     @Override
     @Transactional
-    public SubjectResponse createSubject(Long syllabusId, SubjectRequest subjectRequest, String username) {
-        User user = getUserByUsername(username);
+    public SubjectResponse createSubject(Long syllabusId, SubjectRequest subjectRequest, Long userId) {
         Syllabus syllabus = getSyllabus(syllabusId);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!syllabus.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to add subjects to this syllabus");
         }
 
@@ -56,18 +59,19 @@ public class SubjectServiceImpl implements SubjectService {
                 .build();
 
         Subject savedSubject = subjectRepository.save(subject);
+        syllabusRepository.incrementVersion(syllabusId);
+        completionRollupService.refreshSyllabus(syllabusId);
         return mapToSubjectResponse(savedSubject);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public SubjectResponse getSubjectById(Long id, String username) {
-        User user = getUserByUsername(username);
+    public SubjectResponse getSubjectById(Long id, Long userId) {
         Subject subject = getSubject(id);
-        Syllabus syllabus = subject.getSyllabus();
+        ItemMetadata item = getSubjectMetadata(id);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!itemMetadataCache.isReadableBy(item, userId)) {
             throw new UnauthorizedException("You don't have permission to access this subject");
         }
 
@@ -76,12 +80,11 @@ public class SubjectServiceImpl implements SubjectService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<SubjectResponse> getSubjectsBySyllabus(Long syllabusId, String username) {
-        User user = getUserByUsername(username);
+    public List<SubjectResponse> getSubjectsBySyllabus(Long syllabusId, Long userId) {
         Syllabus syllabus = getSyllabus(syllabusId);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!syllabus.getUser().getId().equals(userId) && !syllabus.isPublic()) {
             throw new UnauthorizedException("You don't have permission to access subjects in this syllabus");
         }
 
@@ -93,13 +96,12 @@ public class SubjectServiceImpl implements SubjectService {
 
     @Override
     @Transactional
-    public SubjectResponse updateSubject(Long id, SubjectRequest subjectRequest, String username) {
-        User user = getUserByUsername(username);
+    public SubjectResponse updateSubject(Long id, SubjectRequest subjectRequest, Long userId) {
         Subject subject = getSubject(id);
-        Syllabus syllabus = subject.getSyllabus();
+        ItemMetadata item = getSubjectMetadata(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to update this subject");
         }
 
@@ -114,32 +116,35 @@ public class SubjectServiceImpl implements SubjectService {
         subject.setTargetCompletionDate(subjectRequest.getTargetCompletionDate());
 
         Subject updatedSubject = subjectRepository.save(subject);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
+        itemMetadataCache.invalidate(ProgressEntry.ItemType.SUBJECT, id);
         return mapToSubjectResponse(updatedSubject);
     }
 
     @Override
     @Transactional
-    public void deleteSubject(Long id, String username) {
-        User user = getUserByUsername(username);
-        Subject subject = getSubject(id);
-        Syllabus syllabus = subject.getSyllabus();
+    public void deleteSubject(Long id, Long userId) {
+        ItemMetadata item = getSubjectMetadata(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to delete this subject");
         }
 
-        subjectRepository.delete(subject);
+        subtreeRemover.removeSubject(id);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
+        // the delete covers everything below, so drop the whole syllabus
+        itemMetadataCache.invalidateSyllabus(item.getSyllabusId());
+        completionRollupService.refreshSyllabus(item.getSyllabusId());
     }
 
     @Override
     @Transactional
-    public void reorderSubjects(Long syllabusId, List<Long> subjectIds, String username) {
-        User user = getUserByUsername(username);
+    public void reorderSubjects(Long syllabusId, List<Long> subjectIds, Long userId) {
         Syllabus syllabus = getSyllabus(syllabusId);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!syllabus.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to reorder subjects in this syllabus");
         }
 
@@ -162,25 +167,27 @@ public class SubjectServiceImpl implements SubjectService {
             subject.setOrder(i + 1);
             subjectRepository.save(subject);
         }
+        syllabusRepository.incrementVersion(syllabusId);
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-    }
 
     private Syllabus getSyllabus(Long id) {
         return syllabusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "id", id));
     }
 
+    private ItemMetadata getSubjectMetadata(Long id) {
+        return itemMetadataCache.get(ProgressEntry.ItemType.SUBJECT, id)
+                .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", id));
+    }
+
     private Subject getSubject(Long id) {
         return subjectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", id));
     }
 
     private SubjectResponse mapToSubjectResponse(Subject subject) {
-        Double completionPercentage = progressService.calculateSubjectCompletionPercentage(subject.getId());
+        Double completionPercentage = completionRollupService.getCompletion(NodeCompletion.NodeType.SUBJECT, subject.getId());
         
         return SubjectResponse.builder()
                 .id(subject.getId())
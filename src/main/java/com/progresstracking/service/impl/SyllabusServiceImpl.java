@@ -2,106 +2,166 @@ package com.progresstracking.service.impl;
 
 import com.progresstracking.dto.syllabus.SyllabusRequest;
 import com.progresstracking.dto.syllabus.SyllabusResponse;
+import com.progresstracking.dto.syllabus.SyllabusTreeResponse;
 import com.progresstracking.exception.ResourceNotFoundException;
 import com.progresstracking.exception.UnauthorizedException;
+import com.progresstracking.model.NodeCompletion;
 import com.progresstracking.model.Syllabus;
-import com.progresstracking.model.User;
+import com.progresstracking.repository.SubjectRepository;
 import com.progresstracking.repository.SyllabusRepository;
 import com.progresstracking.repository.UserRepository;
-import com.progresstracking.service.ProgressService;
+import com.progresstracking.service.CompletionRollupService;
 import com.progresstracking.service.SyllabusService;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.cache.PublicSyllabusCache;
+import com.progresstracking.service.tree.SubtreeRemover;
+import com.progresstracking.service.tree.SyllabusTreeAssembler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SyllabusServiceImpl implements SyllabusService {
 
     private final SyllabusRepository syllabusRepository;
+    private final SubjectRepository subjectRepository;
     private final UserRepository userRepository;
-    private final ProgressService progressService;
+    private final CompletionRollupService completionRollupService;
+    private final ItemMetadataCache itemMetadataCache;
+    private final PublicSyllabusCache publicSyllabusCache;
+    private final SubtreeRemover subtreeRemover;
+    private final SyllabusTreeAssembler syllabusTreeAssembler;
 
     @Override
     @Transactional
-    public SyllabusResponse createSyllabus(SyllabusRequest syllabusRequest, String username) {
-        User user = getUserByUsername(username);
-
+    public SyllabusResponse createSyllabus(SyllabusRequest syllabusRequest, Long userId) {
         Syllabus syllabus = Syllabus.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .title(syllabusRequest.getTitle())
                 .description(syllabusRequest.getDescription())
                 .isPublic(syllabusRequest.isPublic())
                 .build();
 
         Syllabus savedSyllabus = syllabusRepository.save(syllabus);
+        completionRollupService.refreshSyllabus(savedSyllabus.getId());
+        if (savedSyllabus.isPublic()) {
+            publicSyllabusCache.invalidatePublicPages();
+        }
         return mapToSyllabusResponse(savedSyllabus);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public SyllabusResponse getSyllabusById(Long id, String username) {
-        User user = getUserByUsername(username);
+    public SyllabusResponse getSyllabusById(Long id, Long userId) {
         Syllabus syllabus = getSyllabus(id);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!syllabus.getUser().getId().equals(userId) && !syllabus.isPublic()) {
             throw new UnauthorizedException("You don't have permission to access this syllabus");
         }
 
         return mapToSyllabusResponse(syllabus);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SyllabusTreeResponse getSyllabusTree(Long id, Long userId, boolean includeCompletion) {
+        Syllabus syllabus = getSyllabus(id);
+
+        // Check if user has access to this syllabus
+        if (!syllabus.getUser().getId().equals(userId) && !syllabus.isPublic()) {
+            throw new UnauthorizedException("You don't have permission to access this syllabus");
+        }
+
+        return syllabusTreeAssembler.assemble(syllabus, includeCompletion);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getSyllabusVersion(Long id, Long userId) {
+        List<Object[]> rows = syllabusRepository.findVersionById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Syllabus", "id", id);
+        }
+        Object[] row = rows.get(0);
+
+        // Check if user has access to this syllabus
+        if (!row[1].equals(userId) && !(Boolean) row[2]) {
+            throw new UnauthorizedException("You don't have permission to access this syllabus");
+        }
+
+        return (Long) row[0];
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long getSharedSyllabusVersion(String shareableLink) {
+        return syllabusRepository.findVersionByShareableLink(shareableLink)
+                .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "shareableLink", shareableLink));
+    }
+
     @Override
     @Transactional
-    public SyllabusResponse updateSyllabus(Long id, SyllabusRequest syllabusRequest, String username) {
-        User user = getUserByUsername(username);
+    public SyllabusResponse updateSyllabus(Long id, SyllabusRequest syllabusRequest, Long userId) {
         Syllabus syllabus = getSyllabus(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!syllabus.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to update this syllabus");
         }
 
+        boolean visibilityChanged = syllabus.isPublic() != syllabusRequest.isPublic();
         syllabus.setTitle(syllabusRequest.getTitle());
         syllabus.setDescription(syllabusRequest.getDescription());
         syllabus.setPublic(syllabusRequest.isPublic());
 
         Syllabus updatedSyllabus = syllabusRepository.save(syllabus);
+        syllabusRepository.incrementVersion(id);
+        if (visibilityChanged) {
+            // cached items carry the syllabus visibility for their read checks
+            itemMetadataCache.invalidateSyllabus(id);
+        }
+        invalidatePublicViews(updatedSyllabus, visibilityChanged || updatedSyllabus.isPublic());
         return mapToSyllabusResponse(updatedSyllabus);
     }
 
     @Override
     @Transactional
-    public void deleteSyllabus(Long id, String username) {
-        User user = getUserByUsername(username);
+    public void deleteSyllabus(Long id, Long userId) {
         Syllabus syllabus = getSyllabus(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!syllabus.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to delete this syllabus");
         }
 
-        syllabusRepository.delete(syllabus);
+        subtreeRemover.removeSyllabus(id);
+        completionRollupService.removeSyllabus(id);
+        itemMetadataCache.invalidateSyllabus(id);
+        invalidatePublicViews(syllabus, syllabus.isPublic());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<SyllabusResponse> getUserSyllabi(String username, Pageable pageable) {
-        User user = getUserByUsername(username);
-        Page<Syllabus> syllabi = syllabusRepository.findByUser(user, pageable);
-        return syllabi.map(this::mapToSyllabusResponse);
+    public Page<SyllabusResponse> getUserSyllabi(Long userId, Pageable pageable) {
+        Page<Syllabus> syllabi = syllabusRepository.findByUserId(userId, pageable);
+        return mapToSyllabusResponses(syllabi);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<SyllabusResponse> getPublicSyllabi(Pageable pageable) {
         Page<Syllabus> syllabi = syllabusRepository.findAllPublic(pageable);
-        return syllabi.map(this::mapToSyllabusResponse);
+        return mapToSyllabusResponses(syllabi);
     }
 
     @Override
@@ -115,40 +175,51 @@ public class SyllabusServiceImpl implements SyllabusService {
 
     @Override
     @Transactional
-    public String generateShareableLink(Long id, String username) {
-        User user = getUserByUsername(username);
+    public String generateShareableLink(Long id, Long userId) {
         Syllabus syllabus = getSyllabus(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!syllabus.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to share this syllabus");
         }
 
+        if (syllabus.getShareableLink() != null) {
+            publicSyllabusCache.invalidateShared(syllabus.getShareableLink());
+        }
         String shareableLink = UUID.randomUUID().toString();
         syllabus.setShareableLink(shareableLink);
         syllabusRepository.save(syllabus);
+        syllabusRepository.incrementVersion(id);
 
         return shareableLink;
     }
 
     @Override
     @Transactional
-    public void revokeShareableLink(Long id, String username) {
-        User user = getUserByUsername(username);
+    public void revokeShareableLink(Long id, Long userId) {
         Syllabus syllabus = getSyllabus(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!syllabus.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You don't have permission to revoke sharing for this syllabus");
         }
 
+        if (syllabus.getShareableLink() != null) {
+            publicSyllabusCache.invalidateShared(syllabus.getShareableLink());
+        }
         syllabus.setShareableLink(null);
         syllabusRepository.save(syllabus);
+        syllabusRepository.incrementVersion(id);
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+    private void invalidatePublicViews(Syllabus syllabus, boolean listedPublicly) {
+        if (syllabus.getShareableLink() != null) {
+            publicSyllabusCache.invalidateShared(syllabus.getShareableLink());
+        }
+        if (listedPublicly) {
+            publicSyllabusCache.invalidatePublicPages();
+        }
     }
 
     private Syllabus getSyllabus(Long id) {
@@ -157,11 +228,35 @@ public class SyllabusServiceImpl implements SyllabusService {
     }
 
     private SyllabusResponse mapToSyllabusResponse(Syllabus syllabus) {
-        Double completionPercentage = progressService.calculateSyllabusCompletionPercentage(syllabus.getId());
+        Double completionPercentage = completionRollupService.getCompletion(NodeCompletion.NodeType.SYLLABUS, syllabus.getId());
 
         // Safely get the subject count, handling null subjects collection
         int subjectCount = syllabus.getSubjects() != null ? syllabus.getSubjects().size() : 0;
 
+        return mapToSyllabusResponse(syllabus, completionPercentage, subjectCount);
+    }
+
+    private Page<SyllabusResponse> mapToSyllabusResponses(Page<Syllabus> syllabi) {
+        // resolve completion and subject counts for the whole page up front instead of per row
+        List<Long> syllabusIds = syllabi.getContent().stream()
+                .map(Syllabus::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, Double> completion = completionRollupService.calculateCompletion(syllabusIds);
+
+        Map<Long, Integer> subjectCounts = new HashMap<>();
+        if (!syllabusIds.isEmpty()) {
+            for (Object[] row : subjectRepository.countBySyllabusIds(syllabusIds)) {
+                subjectCounts.put((Long) row[0], ((Long) row[1]).intValue());
+            }
+        }
+
+        return syllabi.map(syllabus -> mapToSyllabusResponse(syllabus,
+                completion.getOrDefault(syllabus.getId(), 0.0),
+                subjectCounts.getOrDefault(syllabus.getId(), 0)));
+    }
+
+    private SyllabusResponse mapToSyllabusResponse(Syllabus syllabus, Double completionPercentage, int subjectCount) {
         return SyllabusResponse.builder()
                 .id(syllabus.getId())
                 .title(syllabus.getTitle())
@@ -5,15 +5,17 @@ import com.progresstracking.dto.topic.TopicResponse;
 import com.progresstracking.exception.BadRequestException;
 import com.progresstracking.exception.ResourceNotFoundException;
 import com.progresstracking.exception.UnauthorizedException;
-import com.progresstracking.model.Subject;
-import com.progresstracking.model.Syllabus;
+import com.progresstracking.model.NodeCompletion;
+import com.progresstracking.model.ProgressEntry;
 import com.progresstracking.model.Topic;
-import com.progresstracking.model.User;
 import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.SyllabusRepository;
 import com.progresstracking.repository.TopicRepository;
-import com.progresstracking.repository.UserRepository;
-import com.progresstracking.service.ProgressService;
+import com.progresstracking.service.CompletionRollupService;
 import com.progresstracking.service.TopicService;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.tree.SubtreeRemover;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,18 +29,18 @@ public class TopicServiceImpl implements TopicService {
 
     private final TopicRepository topicRepository;
     private final SubjectRepository subjectRepository;
-    private final UserRepository userRepository;
-    private final ProgressService progressService;
+    private final SyllabusRepository syllabusRepository;
+    private final CompletionRollupService completionRollupService;
+    private final ItemMetadataCache itemMetadataCache;
+    private final SubtreeRemover subtreeRemover;
 
     @Override
     @Transactional
-    public TopicResponse createTopic(Long subjectId, TopicRequest topicRequest, String username) {
-        User user = getUserByUsername(username);
-        Subject subject = getSubject(subjectId);
-        Syllabus syllabus = subject.getSyllabus();
+    public TopicResponse createTopic(Long subjectId, TopicRequest topicRequest, Long userId) {
+        ItemMetadata subject = getSubjectMetadata(subjectId);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!subject.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to add topics to this subject");
         }
 
@@ -50,7 +52,8 @@ public class TopicServiceImpl implements TopicService {
         }
 
         Topic topic = Topic.builder()
-                .subject(subject)
+                .subject(subjectRepository.getReferenceById(subjectId))
+                .syllabusId(subject.getSyllabusId())
                 .title(topicRequest.getTitle())
                 .description(topicRequest.getDescription())
                 .order(order)
@@ -58,18 +61,19 @@ public class TopicServiceImpl implements TopicService {
                 .build();
 
         Topic savedTopic = topicRepository.save(topic);
+        syllabusRepository.incrementVersion(subject.getSyllabusId());
+        completionRollupService.refreshSyllabus(subject.getSyllabusId());
         return mapToTopicResponse(savedTopic);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public TopicResponse getTopicById(Long id, String username) {
-        User user = getUserByUsername(username);
+    public TopicResponse getTopicById(Long id, Long userId) {
         Topic topic = getTopic(id);
-        Syllabus syllabus = topic.getSubject().getSyllabus();
+        ItemMetadata item = getTopicMetadata(id);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!itemMetadataCache.isReadableBy(item, userId)) {
             throw new UnauthorizedException("You don't have permission to access this topic");
         }
 
@@ -78,17 +82,15 @@ public class TopicServiceImpl implements TopicService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TopicResponse> getTopicsBySubject(Long subjectId, String username) {
-        User user = getUserByUsername(username);
-        Subject subject = getSubject(subjectId);
-        Syllabus syllabus = subject.getSyllabus();
+    public List<TopicResponse> getTopicsBySubject(Long subjectId, Long userId) {
+        ItemMetadata subject = getSubjectMetadata(subjectId);
 
         // Check if user has access to this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId()) && !syllabus.isPublic()) {
+        if (!itemMetadataCache.isReadableBy(subject, userId)) {
             throw new UnauthorizedException("You don't have permission to access topics in this subject");
         }
 
-        List<Topic> topics = topicRepository.findBySubjectOrderByOrder(subject);
+        List<Topic> topics = topicRepository.findBySubjectOrderByOrder(subjectRepository.getReferenceById(subjectId));
         return topics.stream()
                 .map(this::mapToTopicResponse)
                 .collect(Collectors.toList());
@@ -96,13 +98,12 @@ public class TopicServiceImpl implements TopicService {
 
     @Override
     @Transactional
-    public TopicResponse updateTopic(Long id, TopicRequest topicRequest, String username) {
-        User user = getUserByUsername(username);
+    public TopicResponse updateTopic(Long id, TopicRequest topicRequest, Long userId) {
         Topic topic = getTopic(id);
-        Syllabus syllabus = topic.getSubject().getSyllabus();
+        ItemMetadata item = getTopicMetadata(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to update this topic");
         }
 
@@ -117,38 +118,40 @@ public class TopicServiceImpl implements TopicService {
         topic.setTargetCompletionDate(topicRequest.getTargetCompletionDate());
 
         Topic updatedTopic = topicRepository.save(topic);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
+        itemMetadataCache.invalidate(ProgressEntry.ItemType.TOPIC, id);
         return mapToTopicResponse(updatedTopic);
     }
 
     @Override
     @Transactional
-    public void deleteTopic(Long id, String username) {
-        User user = getUserByUsername(username);
-        Topic topic = getTopic(id);
-        Syllabus syllabus = topic.getSubject().getSyllabus();
+    public void deleteTopic(Long id, Long userId) {
+        ItemMetadata item = getTopicMetadata(id);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!item.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to delete this topic");
         }
 
-        topicRepository.delete(topic);
+        subtreeRemover.removeTopic(id);
+        syllabusRepository.incrementVersion(item.getSyllabusId());
+        // the delete covers everything below, so drop the whole syllabus
+        itemMetadataCache.invalidateSyllabus(item.getSyllabusId());
+        completionRollupService.refreshSyllabus(item.getSyllabusId());
     }
 
     @Override
     @Transactional
-    public void reorderTopics(Long subjectId, List<Long> topicIds, String username) {
-        User user = getUserByUsername(username);
-        Subject subject = getSubject(subjectId);
-        Syllabus syllabus = subject.getSyllabus();
+    public void reorderTopics(Long subjectId, List<Long> topicIds, Long userId) {
+        ItemMetadata subject = getSubjectMetadata(subjectId);
 
         // Check if user owns this syllabus
-        if (!syllabus.getUser().getId().equals(user.getId())) {
+        if (!subject.isOwnedBy(userId)) {
             throw new UnauthorizedException("You don't have permission to reorder topics in this subject");
         }
 
         // Check if all topic IDs belong to this subject
-        List<Topic> topics = topicRepository.findBySubjectOrderByOrder(subject);
+        List<Topic> topics = topicRepository.findBySubjectOrderByOrder(subjectRepository.getReferenceById(subjectId));
         List<Long> existingIds = topics.stream().map(Topic::getId).collect(Collectors.toList());
 
         if (!existingIds.containsAll(topicIds) || existingIds.size() != topicIds.size()) {
@@ -166,25 +169,27 @@ public class TopicServiceImpl implements TopicService {
             topic.setOrder(i + 1);
             topicRepository.save(topic);
         }
+        syllabusRepository.incrementVersion(subject.getSyllabusId());
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-    }
 
-    private Subject getSubject(Long id) {
-        return subjectRepository.findById(id)
+    private ItemMetadata getSubjectMetadata(Long id) {
+        return itemMetadataCache.get(ProgressEntry.ItemType.SUBJECT, id)
                 .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", id));
     }
 
+    private ItemMetadata getTopicMetadata(Long id) {
+        return itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, id)
+                .orElseThrow(() -> new ResourceNotFoundException("Topic", "id", id));
+    }
+
     private Topic getTopic(Long id) {
         return topicRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Topic", "id", id));
     }
 
     private TopicResponse mapToTopicResponse(Topic topic) {
-        Double completionPercentage = progressService.calculateTopicCompletionPercentage(topic.getId());
+        Double completionPercentage = completionRollupService.getCompletion(NodeCompletion.NodeType.TOPIC, topic.getId());
         
         return TopicResponse.builder()
                 .id(topic.getId())
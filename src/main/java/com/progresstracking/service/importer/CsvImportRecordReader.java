@@ -0,0 +1,150 @@
+package com.progresstracking.service.importer;
+
+import com.progresstracking.exception.BadRequestException;
+import com.progresstracking.model.ProgressEntry;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV with a header line naming the columns in any order: itemId, itemType, itemPath, date, status,
+ * timeSpentMinutes and notes, matched ignoring case, underscores and spaces. Fields may be quoted with double
+ * quotes, a doubled quote standing for a quote; a quoted field cannot span lines.
+ */
+class CsvImportRecordReader extends ImportRecordReader {
+
+    private Map<String, Integer> columns;
+
+    CsvImportRecordReader(InputStream body) {
+        super(body);
+    }
+
+    @Override
+    protected ImportRecord parse(String line) {
+        List<String> fields = split(line);
+        if (columns == null) {
+            if (fields == null) {
+                throw new BadRequestException("The CSV header on line " + getLineNumber() + " has an unterminated quote");
+            }
+            columns = readHeader(fields);
+            return null;
+        }
+        if (fields == null) {
+            return ImportRecord.failed("Unterminated quote");
+        }
+
+        try {
+            return ImportRecord.builder()
+                    .itemId(parseLong(field(fields, "itemid")))
+                    .itemType(parseEnum(ProgressEntry.ItemType.class, field(fields, "itemtype")))
+                    .itemPath(field(fields, "itempath"))
+                    .date(parseDate(field(fields, "date")))
+                    .status(parseEnum(ProgressEntry.Status.class, field(fields, "status")))
+                    .timeSpentMinutes(parseInteger(field(fields, "timespentminutes")))
+                    .notes(field(fields, "notes"))
+                    .build();
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return ImportRecord.failed(ex.getMessage());
+        }
+    }
+
+    private Map<String, Integer> readHeader(List<String> fields) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            header.putIfAbsent(normalize(fields.get(i)), i);
+        }
+        if (!header.containsKey("date") || !header.containsKey("status")
+                || (!header.containsKey("itemid") && !header.containsKey("itempath"))) {
+            throw new BadRequestException("The CSV header must name the date and status columns and either itemId "
+                    + "or itemPath");
+        }
+        return header;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a line on commas outside quotes; returns null when a quote is left open.
+     */
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return quoted ? null : fields;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("'" + value + "' is not a valid id");
+        }
+    }
+
+    private static Integer parseInteger(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("'" + value + "' is not a valid number of minutes");
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("'" + value + "' is not a valid " + type.getSimpleName());
+        }
+    }
+}
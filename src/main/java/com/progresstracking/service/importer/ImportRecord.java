@@ -0,0 +1,39 @@
+package com.progresstracking.service.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.progresstracking.model.ProgressEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One line of an import. The item is given either by id and type or by its title path, e.g.
+ * {@code Algorithms > Graphs > Shortest paths}; a line that could not be parsed carries only its error.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRecord {
+
+    @JsonIgnore
+    private long lineNumber;
+
+    @JsonIgnore
+    private String error;
+
+    private Long itemId;
+    private ProgressEntry.ItemType itemType;
+    private String itemPath;
+    private LocalDate date;
+    private ProgressEntry.Status status;
+    private Integer timeSpentMinutes;
+    private String notes;
+
+    public static ImportRecord failed(String error) {
+        return ImportRecord.builder().error(error).build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.progresstracking.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads an import body one line at a time, so memory stays bounded by the longest line whatever the size of the
+ * body. Lines longer than {@link #MAX_LINE_LENGTH} are skipped and reported rather than buffered; blank lines are
+ * ignored but still counted, so reported line numbers match the file.
+ */
+public abstract class ImportRecordReader {
+
+    public static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private final StringBuilder line = new StringBuilder();
+    private long lineNumber;
+
+    protected ImportRecordReader(InputStream body) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    public static ImportRecordReader of(ImportFormat format, InputStream body,
+                                        ObjectMapper objectMapper) {
+        return format == ImportFormat.CSV
+                ? new CsvImportRecordReader(body)
+                : new NdjsonImportRecordReader(body, objectMapper);
+    }
+
+    /**
+     * Returns the next record, or null at the end of the body.
+     */
+    public ImportRecord next() throws IOException {
+        while (true) {
+            int read = readLine();
+            if (read < 0) {
+                return null;
+            }
+            ImportRecord record;
+            if (read > MAX_LINE_LENGTH) {
+                record = ImportRecord.failed("Line is longer than " + MAX_LINE_LENGTH + " characters");
+            } else {
+                String text = line.toString();
+                if (text.isBlank()) {
+                    continue;
+                }
+                record = parse(text);
+                if (record == null) {
+                    continue;
+                }
+            }
+            record.setLineNumber(lineNumber);
+            return record;
+        }
+    }
+
+    /**
+     * Parses one non-blank line; returns null for lines that are not records, such as a header.
+     */
+    protected abstract ImportRecord parse(String line);
+
+    protected long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Reads the next line into {@link #line}, keeping at most {@link #MAX_LINE_LENGTH} characters of it. Returns
+     * the full length of the line, or -1 at the end of the body.
+     */
+    private int readLine() throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length++ < MAX_LINE_LENGTH) {
+                line.append((char) c);
+            }
+        }
+        if (c == -1 && length == 0) {
+            return -1;
+        }
+
+        lineNumber++;
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        if (lineNumber == 1 && line.length() > 0 && line.charAt(0) == '\uFEFF') {
+            line.deleteCharAt(0);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,96 @@
+package com.progresstracking.service.importer;
+
+import com.progresstracking.model.ProgressEntry;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves title paths such as {@code Algorithms > Graphs > Shortest paths} to the subject, topic or subtopic of
+ * one user's syllabi. Segments are compared trimmed and ignoring case; a path that names more than one item is
+ * ambiguous and resolves to nothing. Built once per import, so its size follows the user's syllabi, not the file.
+ */
+public class ItemPathIndex {
+
+    public static final String SEPARATOR = ">";
+
+    private static final Long AMBIGUOUS = -1L;
+
+    private final Map<Long, String> syllabusPaths = new HashMap<>();
+    private final Map<Long, String> subjectPaths = new HashMap<>();
+    private final Map<Long, String> topicPaths = new HashMap<>();
+    private final Map<String, Long> itemIds = new HashMap<>();
+
+    public void addSyllabus(Long id, String title) {
+        syllabusPaths.put(id, normalize(title));
+    }
+
+    public void addSubject(Long id, String title, Long syllabusId) {
+        String path = join(syllabusPaths.get(syllabusId), title);
+        subjectPaths.put(id, path);
+        add(ProgressEntry.ItemType.SUBJECT, path, id);
+    }
+
+    public void addTopic(Long id, String title, Long subjectId) {
+        String path = join(subjectPaths.get(subjectId), title);
+        topicPaths.put(id, path);
+        add(ProgressEntry.ItemType.TOPIC, path, id);
+    }
+
+    public void addSubTopic(Long id, String title, Long topicId) {
+        add(ProgressEntry.ItemType.SUBTOPIC, join(topicPaths.get(topicId), title), id);
+    }
+
+    /**
+     * Returns the item type a path of this depth names: two segments for a subject, three for a topic and four
+     * for a subtopic; null for any other depth.
+     */
+    public static ProgressEntry.ItemType typeOf(String path) {
+        return switch (path.split(SEPARATOR, -1).length) {
+            case 2 -> ProgressEntry.ItemType.SUBJECT;
+            case 3 -> ProgressEntry.ItemType.TOPIC;
+            case 4 -> ProgressEntry.ItemType.SUBTOPIC;
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the id of the item at the path, null when there is none and -1 when several items share it.
+     */
+    public Long resolve(String path) {
+        return itemIds.get(normalizePath(path));
+    }
+
+    public static boolean isAmbiguous(Long id) {
+        return AMBIGUOUS.equals(id);
+    }
+
+    private void add(ProgressEntry.ItemType itemType, String path, Long id) {
+        if (path == null || typeOf(path) != itemType) {
+            // parent not indexed, or a title containing the separator that would read as a deeper path
+            return;
+        }
+        itemIds.merge(path, id, (existing, added) -> existing.equals(added) ? existing : AMBIGUOUS);
+    }
+
+    private static String join(String parentPath, String title) {
+        return parentPath == null ? null : parentPath + SEPARATOR + normalize(title);
+    }
+
+    private static String normalizePath(String path) {
+        String[] segments = path.split(SEPARATOR, -1);
+        StringBuilder normalized = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                normalized.append(SEPARATOR);
+            }
+            normalized.append(normalize(segments[i]));
+        }
+        return normalized.toString();
+    }
+
+    private static String normalize(String title) {
+        return title == null ? "" : title.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,31 @@
+package com.progresstracking.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.InputStream;
+
+/**
+ * One JSON object per line with the fields of a progress entry request, plus itemPath as an alternative to
+ * itemId and itemType.
+ */
+class NdjsonImportRecordReader extends ImportRecordReader {
+
+    private final ObjectReader recordReader;
+
+    NdjsonImportRecordReader(InputStream body, ObjectMapper objectMapper) {
+        super(body);
+        this.recordReader = objectMapper.readerFor(ImportRecord.class);
+    }
+
+    @Override
+    protected ImportRecord parse(String line) {
+        try {
+            ImportRecord record = recordReader.readValue(line);
+            return record != null ? record : ImportRecord.failed("Expected a JSON object");
+        } catch (JsonProcessingException ex) {
+            return ImportRecord.failed("Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.progresstracking.service.tree;
+
+import com.progresstracking.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deletes a node together with everything below it using one bulk statement per level, bottom-up, instead of
+ * letting JPA cascade through every collection. The denormalized syllabus and subject ids on topics and
+ * subtopics make each level a single indexed scan regardless of how large the subtree is.
+ * <p>
+ * Bulk deletes bypass the persistence context: callers must not use entities of the removed subtree afterwards,
+ * and are responsible for invalidating caches and refreshing the completion rollup.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubtreeRemover {
+
+    private final SyllabusRepository syllabusRepository;
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final SubTopicRepository subTopicRepository;
+    private final ResourceRepository resourceRepository;
+
+    @Transactional
+    public void removeSyllabus(Long syllabusId) {
+        resourceRepository.deleteSyllabusSubtree(syllabusId);
+        subTopicRepository.deleteBySyllabusId(syllabusId);
+        topicRepository.deleteBySyllabusId(syllabusId);
+        subjectRepository.deleteBySyllabusId(syllabusId);
+        syllabusRepository.deleteRowById(syllabusId);
+    }
+
+    @Transactional
+    public void removeSubject(Long subjectId) {
+        resourceRepository.deleteSubjectSubtree(subjectId);
+        subTopicRepository.deleteBySubjectId(subjectId);
+        topicRepository.deleteBySubjectId(subjectId);
+        subjectRepository.deleteRowById(subjectId);
+    }
+
+    @Transactional
+    public void removeTopic(Long topicId) {
+        resourceRepository.deleteTopicSubtree(topicId);
+        subTopicRepository.deleteByTopicId(topicId);
+        topicRepository.deleteRowById(topicId);
+    }
+}
@@ -0,0 +1,126 @@
+package com.progresstracking.service.tree;
+
+import com.progresstracking.dto.syllabus.SyllabusTreeResponse;
+import com.progresstracking.model.NodeCompletion;
+import com.progresstracking.model.SubTopic;
+import com.progresstracking.model.Subject;
+import com.progresstracking.model.Syllabus;
+import com.progresstracking.model.Topic;
+import com.progresstracking.repository.ResourceRepository;
+import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.TopicRepository;
+import com.progresstracking.service.CompletionRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Builds the nested subject/topic/subtopic structure of a syllabus from one query per level plus one for the
+ * resource counts and one for completion, however large the syllabus is. Parents are resolved through the
+ * foreign key ids only, so none of the lazy associations is ever initialized.
+ */
+@Component
+@RequiredArgsConstructor
+public class SyllabusTreeAssembler {
+
+    private final SubjectRepository subjectRepository;
+    private final TopicRepository topicRepository;
+    private final SubTopicRepository subTopicRepository;
+    private final ResourceRepository resourceRepository;
+    private final CompletionRollupService completionRollupService;
+
+    @Transactional(readOnly = true)
+    public SyllabusTreeResponse assemble(Syllabus syllabus, boolean includeCompletion) {
+        Long syllabusId = syllabus.getId();
+        Map<NodeCompletion.NodeType, Map<Long, Double>> completions = includeCompletion
+                ? completionRollupService.getSyllabusNodeCompletions(syllabusId)
+                : Collections.emptyMap();
+        ResourceCounts resourceCounts = countResources(syllabusId);
+
+        Map<Long, List<SyllabusTreeResponse.NodeDto>> subTopicsByTopic = new HashMap<>();
+        for (SubTopic subTopic : subTopicRepository.findBySyllabusIdOrderByOrder(syllabusId)) {
+            subTopicsByTopic.computeIfAbsent(subTopic.getTopic().getId(), topicId -> new ArrayList<>())
+                    .add(node(subTopic.getId(), subTopic.getTitle(), subTopic.getDescription(), subTopic.getOrder(),
+                            subTopic.getTargetCompletionDate(),
+                            completion(completions, NodeCompletion.NodeType.SUBTOPIC, subTopic.getId(), includeCompletion),
+                            resourceCounts.bySubTopic.getOrDefault(subTopic.getId(), 0),
+                            Collections.emptyList()));
+        }
+
+        Map<Long, List<SyllabusTreeResponse.NodeDto>> topicsBySubject = new HashMap<>();
+        for (Topic topic : topicRepository.findBySyllabusIdOrderByOrder(syllabusId)) {
+            topicsBySubject.computeIfAbsent(topic.getSubject().getId(), subjectId -> new ArrayList<>())
+                    .add(node(topic.getId(), topic.getTitle(), topic.getDescription(), topic.getOrder(),
+                            topic.getTargetCompletionDate(),
+                            completion(completions, NodeCompletion.NodeType.TOPIC, topic.getId(), includeCompletion),
+                            resourceCounts.byTopic.getOrDefault(topic.getId(), 0),
+                            subTopicsByTopic.getOrDefault(topic.getId(), Collections.emptyList())));
+        }
+
+        List<SyllabusTreeResponse.NodeDto> subjects = new ArrayList<>();
+        for (Subject subject : subjectRepository.findBySyllabusOrderByOrder(syllabus)) {
+            subjects.add(node(subject.getId(), subject.getTitle(), subject.getDescription(), subject.getOrder(),
+                    subject.getTargetCompletionDate(),
+                    completion(completions, NodeCompletion.NodeType.SUBJECT, subject.getId(), includeCompletion),
+                    resourceCounts.bySubject.getOrDefault(subject.getId(), 0),
+                    topicsBySubject.getOrDefault(subject.getId(), Collections.emptyList())));
+        }
+
+        return SyllabusTreeResponse.builder()
+                .id(syllabusId)
+                .title(syllabus.getTitle())
+                .description(syllabus.getDescription())
+                .isPublic(syllabus.isPublic())
+                .completionPercentage(completion(completions, NodeCompletion.NodeType.SYLLABUS, syllabusId, includeCompletion))
+                .subjects(subjects)
+                .build();
+    }
+
+    private ResourceCounts countResources(Long syllabusId) {
+        ResourceCounts counts = new ResourceCounts();
+        for (Object[] row : resourceRepository.countBySyllabusId(syllabusId)) {
+            int count = ((Long) row[3]).intValue();
+            if (row[0] != null) {
+                counts.bySubject.merge((Long) row[0], count, Integer::sum);
+            } else if (row[1] != null) {
+                counts.byTopic.merge((Long) row[1], count, Integer::sum);
+            } else if (row[2] != null) {
+                counts.bySubTopic.merge((Long) row[2], count, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private Double completion(Map<NodeCompletion.NodeType, Map<Long, Double>> completions,
+                              NodeCompletion.NodeType nodeType, Long nodeId, boolean includeCompletion) {
+        if (!includeCompletion) {
+            return null;
+        }
+        return completions.getOrDefault(nodeType, Collections.emptyMap()).getOrDefault(nodeId, 0.0);
+    }
+
+    private SyllabusTreeResponse.NodeDto node(Long id, String title, String description, Integer order,
+                                              LocalDate targetCompletionDate, Double completionPercentage,
+                                              int resourceCount, List<SyllabusTreeResponse.NodeDto> children) {
+        return SyllabusTreeResponse.NodeDto.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .order(order)
+                .targetCompletionDate(targetCompletionDate)
+                .completionPercentage(completionPercentage)
+                .resourceCount(resourceCount)
+                .children(children)
+                .build();
+    }
+
+    private static class ResourceCounts {
+        private final Map<Long, Integer> bySubject = new HashMap<>();
+        private final Map<Long, Integer> byTopic = new HashMap<>();
+        private final Map<Long, Integer> bySubTopic = new HashMap<>();
+    }
+}
@@ -0,0 +1,18 @@
+package com.progresstracking.config;
+
+import com.progresstracking.model.User;
+import org.springframework.security.test.context.support.WithSecurityContext;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+@WithSecurityContext(factory = WithMockUserPrincipalSecurityContextFactory.class)
+public @interface WithMockUserPrincipal {
+
+    long id() default 1L;
+
+    String username() default "testuser";
+
+    User.Role role() default User.Role.STUDENT;
+}
@@ -1,13 +1,21 @@
 package com.progresstracking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progresstracking.config.WithMockUserPrincipal;
 import com.progresstracking.dto.analytics.CompletionSummaryResponse;
 import com.progresstracking.dto.analytics.ProgressSummaryResponse;
 import com.progresstracking.dto.analytics.TimeDistributionResponse;
+import com.progresstracking.dto.analytics.WindowSummaryResponse;
+import com.progresstracking.dto.progress.ProgressEntryBatchRequest;
+import com.progresstracking.dto.progress.ProgressEntryBatchResponse;
 import com.progresstracking.dto.progress.ProgressEntryRequest;
 import com.progresstracking.dto.progress.ProgressEntryResponse;
+import com.progresstracking.dto.progress.ProgressImportResponse;
 import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.service.ProgressExportService;
+import com.progresstracking.service.ProgressImportService;
 import com.progresstracking.service.ProgressService;
+import com.progresstracking.service.importer.ImportFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,11 +24,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +53,12 @@ public class ProgressControllerIntegrationTest {
     @MockBean
     private ProgressService progressService;
 
+    @MockBean
+    private ProgressImportService progressImportService;
+
+    @MockBean
+    private ProgressExportService progressExportService;
+
     private ProgressEntryRequest progressEntryRequest;
     private ProgressEntryResponse progressEntryResponse;
     private CompletionSummaryResponse completionSummaryResponse;
@@ -115,10 +132,10 @@ public class ProgressControllerIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void createProgressEntry_Success() throws Exception {
         // Arrange
-        when(progressService.createProgressEntry(any(ProgressEntryRequest.class), anyString())).thenReturn(progressEntryResponse);
+        when(progressService.createProgressEntry(any(ProgressEntryRequest.class), anyLong())).thenReturn(progressEntryResponse);
 
         // Act & Assert
         mockMvc.perform(post("/progress")
@@ -135,14 +152,120 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(jsonPath("$.timeSpentMinutes").value(60))
                 .andExpect(jsonPath("$.notes").value("Test notes"));
 
-        verify(progressService).createProgressEntry(any(ProgressEntryRequest.class), eq("testuser"));
+        verify(progressService).createProgressEntry(any(ProgressEntryRequest.class), eq(1L));
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void createProgressEntries_Success() throws Exception {
+        // Arrange
+        ProgressEntryBatchRequest batchRequest = ProgressEntryBatchRequest.builder()
+                .entries(Collections.singletonList(progressEntryRequest))
+                .build();
+        ProgressEntryBatchResponse batchResponse = ProgressEntryBatchResponse.builder()
+                .created(1)
+                .duplicates(0)
+                .failed(0)
+                .results(Collections.singletonList(ProgressEntryBatchResponse.EntryResultDto.builder()
+                        .index(0)
+                        .outcome(ProgressEntryBatchResponse.Outcome.CREATED)
+                        .id(1L)
+                        .build()))
+                .build();
+        when(progressService.createProgressEntries(any(ProgressEntryBatchRequest.class), anyLong())).thenReturn(batchResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/progress/batch")
+                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").value(1));
+
+        verify(progressService).createProgressEntries(any(ProgressEntryBatchRequest.class), eq(1L));
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void createProgressEntries_EmptyBatch_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/progress/batch")
+                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"entries\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(progressService, never()).createProgressEntries(any(), anyLong());
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void importProgress_Csv_StreamsBodyToImport() throws Exception {
+        // Arrange
+        ProgressImportResponse importResponse = ProgressImportResponse.builder()
+                .recordsRead(1L)
+                .imported(1L)
+                .duplicates(0L)
+                .failed(0L)
+                .chunks(1)
+                .errors(Collections.emptyList())
+                .errorsTruncated(false)
+                .build();
+        when(progressImportService.importProgress(any(InputStream.class), eq(ImportFormat.CSV), anyLong()))
+                .thenReturn(importResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/progress/import")
+                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                .contentType("text/csv")
+                .content("itemId,itemType,date,status\n1,SUBJECT,2024-01-01,COMPLETED\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+        verify(progressImportService).importProgress(any(InputStream.class), eq(ImportFormat.CSV), eq(1L));
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void exportProgress_Csv_StreamsAttachment() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(4).write("id,itemType\n1,SUBJECT\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(progressExportService).exportProgress(anyLong(), any(), any(), any(), any(OutputStream.class));
+
+        // Act & Assert
+        mockMvc.perform(get("/progress/export")
+                .param("startDate", "2024-01-01")
+                .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"progress.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,itemType\n1,SUBJECT\n"));
+
+        verify(progressExportService).exportProgress(eq(1L), eq(LocalDate.of(2024, 1, 1)), isNull(),
+                eq(ImportFormat.CSV), any(OutputStream.class));
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void exportProgress_UnknownFormat_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/progress/export")
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(progressExportService, never()).exportProgress(anyLong(), any(), any(), any(), any());
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getProgressEntry_Success() throws Exception {
         // Arrange
-        when(progressService.getProgressEntryById(anyLong(), anyString())).thenReturn(progressEntryResponse);
+        when(progressService.getProgressEntryById(anyLong(), anyLong())).thenReturn(progressEntryResponse);
 
         // Act & Assert
         mockMvc.perform(get("/progress/1")
@@ -157,14 +280,14 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(jsonPath("$.timeSpentMinutes").value(60))
                 .andExpect(jsonPath("$.notes").value("Test notes"));
 
-        verify(progressService).getProgressEntryById(1L, "testuser");
+        verify(progressService).getProgressEntryById(1L, 1L);
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void updateProgressEntry_Success() throws Exception {
         // Arrange
-        when(progressService.updateProgressEntry(anyLong(), any(ProgressEntryRequest.class), anyString())).thenReturn(progressEntryResponse);
+        when(progressService.updateProgressEntry(anyLong(), any(ProgressEntryRequest.class), anyLong())).thenReturn(progressEntryResponse);
 
         // Act & Assert
         mockMvc.perform(put("/progress/1")
@@ -181,28 +304,48 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(jsonPath("$.timeSpentMinutes").value(60))
                 .andExpect(jsonPath("$.notes").value("Test notes"));
 
-        verify(progressService).updateProgressEntry(eq(1L), any(ProgressEntryRequest.class), eq("testuser"));
+        verify(progressService).updateProgressEntry(eq(1L), any(ProgressEntryRequest.class), eq(1L));
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
+    void upsertProgressEntry_Success() throws Exception {
+        // Arrange
+        when(progressService.upsertProgressEntry(any(ProgressEntryRequest.class), anyLong())).thenReturn(progressEntryResponse);
+
+        // Act & Assert
+        mockMvc.perform(put("/progress/by-key")
+                .with(SecurityMockMvcRequestPostProcessors.csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(progressEntryRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.itemType").value("SUBJECT"))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+
+        verify(progressService).upsertProgressEntry(any(ProgressEntryRequest.class), eq(1L));
+        verify(progressService, never()).updateProgressEntry(anyLong(), any(ProgressEntryRequest.class), anyLong());
+    }
+
+    @Test
+    @WithMockUserPrincipal
     void deleteProgressEntry_Success() throws Exception {
         // Arrange
-        doNothing().when(progressService).deleteProgressEntry(anyLong(), anyString());
+        doNothing().when(progressService).deleteProgressEntry(anyLong(), anyLong());
 
         // Act & Assert
         mockMvc.perform(delete("/progress/1")
                 .with(SecurityMockMvcRequestPostProcessors.csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(progressService).deleteProgressEntry(1L, "testuser");
+        verify(progressService).deleteProgressEntry(1L, 1L);
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getUserProgressEntries_Success() throws Exception {
         // Arrange
-        when(progressService.getUserProgressEntries(anyString(), any(Pageable.class)))
+        when(progressService.getUserProgressEntries(anyLong(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(Collections.singletonList(progressEntryResponse)));
 
         // Act & Assert
@@ -218,17 +361,17 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].timeSpentMinutes").value(60))
                 .andExpect(jsonPath("$.content[0].notes").value("Test notes"));
 
-        verify(progressService).getUserProgressEntries(eq("testuser"), any(Pageable.class));
+        verify(progressService).getUserProgressEntries(eq(1L), any(Pageable.class));
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getUserProgressEntriesByDateRange_Success() throws Exception {
         // Arrange
         LocalDate startDate = LocalDate.now().minusDays(7);
         LocalDate endDate = LocalDate.now();
         
-        when(progressService.getUserProgressEntriesByDateRange(anyString(), any(LocalDate.class), any(LocalDate.class)))
+        when(progressService.getUserProgressEntriesByDateRange(anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Collections.singletonList(progressEntryResponse));
 
         // Act & Assert
@@ -246,14 +389,14 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].timeSpentMinutes").value(60))
                 .andExpect(jsonPath("$[0].notes").value("Test notes"));
 
-        verify(progressService).getUserProgressEntriesByDateRange(eq("testuser"), eq(startDate), eq(endDate));
+        verify(progressService).getUserProgressEntriesByDateRange(eq(1L), eq(startDate), eq(endDate));
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getSyllabusCompletionSummary_Success() throws Exception {
         // Arrange
-        when(progressService.getSyllabusCompletionSummary(anyLong(), anyString())).thenReturn(completionSummaryResponse);
+        when(progressService.getSyllabusCompletionSummary(anyLong(), anyLong())).thenReturn(completionSummaryResponse);
 
         // Act & Assert
         mockMvc.perform(get("/progress/analytics/completion/1")
@@ -268,17 +411,17 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(jsonPath("$.subjectCompletions[0].completedTopics").value(1))
                 .andExpect(jsonPath("$.subjectCompletions[0].totalTopics").value(2));
 
-        verify(progressService).getSyllabusCompletionSummary(1L, "testuser");
+        verify(progressService).getSyllabusCompletionSummary(1L, 1L);
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getUserProgressSummary_Success() throws Exception {
         // Arrange
         LocalDate startDate = LocalDate.now().minusDays(7);
         LocalDate endDate = LocalDate.now();
         
-        when(progressService.getUserProgressSummary(anyString(), any(LocalDate.class), any(LocalDate.class)))
+        when(progressService.getUserProgressSummary(anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(progressSummaryResponse);
 
         // Act & Assert
@@ -293,14 +436,14 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(jsonPath("$.dailyProgress[0].timeSpentMinutes").value(60))
                 .andExpect(jsonPath("$.dailyProgress[0].itemsProgressed").value(1));
 
-        verify(progressService).getUserProgressSummary(eq("testuser"), eq(startDate), eq(endDate));
+        verify(progressService).getUserProgressSummary(eq(1L), eq(startDate), eq(endDate));
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getUserTimeDistribution_Success() throws Exception {
         // Arrange
-        when(progressService.getUserTimeDistribution(anyString())).thenReturn(timeDistributionResponse);
+        when(progressService.getUserTimeDistribution(anyLong())).thenReturn(timeDistributionResponse);
 
         // Act & Assert
         mockMvc.perform(get("/progress/analytics/time-distribution")
@@ -312,14 +455,14 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(jsonPath("$.subjectDistribution[0].timeSpentMinutes").value(180))
                 .andExpect(jsonPath("$.subjectDistribution[0].percentageOfTotal").value(100.0));
 
-        verify(progressService).getUserTimeDistribution("testuser");
+        verify(progressService).getUserTimeDistribution(1L);
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getCurrentStreak_Success() throws Exception {
         // Arrange
-        when(progressService.getCurrentStreak(anyString())).thenReturn(2);
+        when(progressService.getCurrentStreak(anyLong())).thenReturn(2);
 
         // Act & Assert
         mockMvc.perform(get("/progress/analytics/streak")
@@ -327,6 +470,43 @@ public class ProgressControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.streak").value(2));
 
-        verify(progressService).getCurrentStreak("testuser");
+        verify(progressService).getCurrentStreak(1L);
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getUserProgressWindows_Success() throws Exception {
+        // Arrange
+        WindowSummaryResponse windowSummaryResponse = WindowSummaryResponse.builder()
+                .endDate(LocalDate.now())
+                .windows(Arrays.asList(
+                        WindowSummaryResponse.WindowDto.builder()
+                                .days(7)
+                                .startDate(LocalDate.now().minusDays(6))
+                                .totalDaysWithProgress(3)
+                                .totalTimeSpentMinutes(120)
+                                .itemsProgressed(4)
+                                .build(),
+                        WindowSummaryResponse.WindowDto.builder()
+                                .days(30)
+                                .startDate(LocalDate.now().minusDays(29))
+                                .totalDaysWithProgress(10)
+                                .totalTimeSpentMinutes(600)
+                                .itemsProgressed(15)
+                                .build()))
+                .build();
+        when(progressService.getUserProgressWindows(anyLong(), anyList())).thenReturn(windowSummaryResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/progress/analytics/windows")
+                .param("days", "7,30")
+                .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].days").value(7))
+                .andExpect(jsonPath("$.windows[0].totalTimeSpentMinutes").value(120))
+                .andExpect(jsonPath("$.windows[1].days").value(30))
+                .andExpect(jsonPath("$.windows[1].totalDaysWithProgress").value(10));
+
+        verify(progressService).getUserProgressWindows(1L, Arrays.asList(7, 30));
     }
 }
@@ -1,19 +1,22 @@
 package com.progresstracking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progresstracking.config.WithMockUserPrincipal;
 import com.progresstracking.dto.syllabus.SyllabusRequest;
 import com.progresstracking.dto.syllabus.SyllabusResponse;
+import com.progresstracking.dto.syllabus.SyllabusTreeResponse;
 import com.progresstracking.service.SyllabusService;
+import com.progresstracking.service.cache.PublicSyllabusCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -27,6 +30,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(SyllabusController.class)
+@Import(PublicSyllabusCache.class)
 public class SyllabusControllerIntegrationTest {
 
     @Autowired
@@ -35,6 +39,9 @@ public class SyllabusControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PublicSyllabusCache publicSyllabusCache;
+
     @MockBean
     private SyllabusService syllabusService;
 
@@ -43,6 +50,8 @@ public class SyllabusControllerIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        publicSyllabusCache.clear();
+
         syllabusRequest = SyllabusRequest.builder()
                 .title("Test Syllabus")
                 .description("Test Description")
@@ -63,10 +72,10 @@ public class SyllabusControllerIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void createSyllabus_Success() throws Exception {
         // Arrange
-        when(syllabusService.createSyllabus(any(SyllabusRequest.class), anyString())).thenReturn(syllabusResponse);
+        when(syllabusService.createSyllabus(any(SyllabusRequest.class), anyLong())).thenReturn(syllabusResponse);
 
         // Act & Assert
         mockMvc.perform(post("/syllabi")
@@ -82,14 +91,74 @@ public class SyllabusControllerIntegrationTest {
                 .andExpect(jsonPath("$.subjectCount").value(0))
                 .andExpect(jsonPath("$.completionPercentage").value(0.0));
 
-        verify(syllabusService).createSyllabus(any(SyllabusRequest.class), eq("testuser"));
+        verify(syllabusService).createSyllabus(any(SyllabusRequest.class), eq(1L));
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getSyllabusTree_WithoutCompletion_PassesFlag() throws Exception {
+        // Arrange
+        SyllabusTreeResponse tree = SyllabusTreeResponse.builder()
+                .id(1L)
+                .title("Test Syllabus")
+                .subjects(Collections.singletonList(SyllabusTreeResponse.NodeDto.builder()
+                        .id(10L)
+                        .title("Subject")
+                        .resourceCount(2)
+                        .children(Collections.emptyList())
+                        .build()))
+                .build();
+        when(syllabusService.getSyllabusTree(anyLong(), anyLong(), anyBoolean())).thenReturn(tree);
+
+        // Act & Assert
+        mockMvc.perform(get("/syllabi/1/tree")
+                .param("includeCompletion", "false")
+                .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.subjects[0].id").value(10))
+                .andExpect(jsonPath("$.subjects[0].resourceCount").value(2));
+
+        verify(syllabusService).getSyllabusTree(1L, 1L, false);
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getSyllabus_MatchingETag_ReturnsNotModifiedWithoutLoading() throws Exception {
+        // Arrange
+        when(syllabusService.getSyllabusVersion(1L, 1L)).thenReturn(7L);
+
+        // Act & Assert
+        mockMvc.perform(get("/syllabi/1")
+                .header("If-None-Match", "\"syllabus-1-7\"")
+                .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"syllabus-1-7\""));
+
+        verify(syllabusService, never()).getSyllabusById(anyLong(), anyLong());
+    }
+
+    @Test
+    @WithMockUserPrincipal
+    void getSyllabus_StaleETag_ReturnsBodyWithNewETag() throws Exception {
+        // Arrange
+        when(syllabusService.getSyllabusVersion(1L, 1L)).thenReturn(8L);
+        when(syllabusService.getSyllabusById(1L, 1L)).thenReturn(syllabusResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/syllabi/1")
+                .header("If-None-Match", "\"syllabus-1-7\"")
+                .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"syllabus-1-8\""))
+                .andExpect(jsonPath("$.id").value(1));
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getSyllabus_Success() throws Exception {
         // Arrange
-        when(syllabusService.getSyllabusById(anyLong(), anyString())).thenReturn(syllabusResponse);
+        when(syllabusService.getSyllabusById(anyLong(), anyLong())).thenReturn(syllabusResponse);
 
         // Act & Assert
         mockMvc.perform(get("/syllabi/1")
@@ -103,14 +172,14 @@ public class SyllabusControllerIntegrationTest {
                 .andExpect(jsonPath("$.subjectCount").value(0))
                 .andExpect(jsonPath("$.completionPercentage").value(0.0));
 
-        verify(syllabusService).getSyllabusById(1L, "testuser");
+        verify(syllabusService).getSyllabusById(1L, 1L);
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void updateSyllabus_Success() throws Exception {
         // Arrange
-        when(syllabusService.updateSyllabus(anyLong(), any(SyllabusRequest.class), anyString())).thenReturn(syllabusResponse);
+        when(syllabusService.updateSyllabus(anyLong(), any(SyllabusRequest.class), anyLong())).thenReturn(syllabusResponse);
 
         // Act & Assert
         mockMvc.perform(put("/syllabi/1")
@@ -126,28 +195,28 @@ public class SyllabusControllerIntegrationTest {
                 .andExpect(jsonPath("$.subjectCount").value(0))
                 .andExpect(jsonPath("$.completionPercentage").value(0.0));
 
-        verify(syllabusService).updateSyllabus(eq(1L), any(SyllabusRequest.class), eq("testuser"));
+        verify(syllabusService).updateSyllabus(eq(1L), any(SyllabusRequest.class), eq(1L));
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void deleteSyllabus_Success() throws Exception {
         // Arrange
-        doNothing().when(syllabusService).deleteSyllabus(anyLong(), anyString());
+        doNothing().when(syllabusService).deleteSyllabus(anyLong(), anyLong());
 
         // Act & Assert
         mockMvc.perform(delete("/syllabi/1")
                 .with(SecurityMockMvcRequestPostProcessors.csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(syllabusService).deleteSyllabus(1L, "testuser");
+        verify(syllabusService).deleteSyllabus(1L, 1L);
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getUserSyllabi_Success() throws Exception {
         // Arrange
-        when(syllabusService.getUserSyllabi(anyString(), any(Pageable.class)))
+        when(syllabusService.getUserSyllabi(anyLong(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(Collections.singletonList(syllabusResponse)));
 
         // Act & Assert
@@ -162,11 +231,11 @@ public class SyllabusControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].subjectCount").value(0))
                 .andExpect(jsonPath("$.content[0].completionPercentage").value(0.0));
 
-        verify(syllabusService).getUserSyllabi(eq("testuser"), any(Pageable.class));
+        verify(syllabusService).getUserSyllabi(eq(1L), any(Pageable.class));
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void getPublicSyllabi_Success() throws Exception {
         // Arrange
         when(syllabusService.getPublicSyllabi(any(Pageable.class)))
@@ -182,7 +251,8 @@ public class SyllabusControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].public").value(false))
                 .andExpect(jsonPath("$.content[0].username").value("testuser"))
                 .andExpect(jsonPath("$.content[0].subjectCount").value(0))
-                .andExpect(jsonPath("$.content[0].completionPercentage").value(0.0));
+                .andExpect(jsonPath("$.content[0].completionPercentage").value(0.0))
+                .andExpect(header().string("Cache-Control", "max-age=10, public"));
 
         verify(syllabusService).getPublicSyllabi(any(Pageable.class));
     }
@@ -191,11 +261,14 @@ public class SyllabusControllerIntegrationTest {
     void getSyllabusByShareableLink_Success() throws Exception {
         // Arrange
         String shareableLink = "shareable-link";
+        when(syllabusService.getSharedSyllabusVersion(shareableLink)).thenReturn(3L);
         when(syllabusService.getSyllabusByShareableLink(anyString())).thenReturn(syllabusResponse);
 
         // Act & Assert
         mockMvc.perform(get("/syllabi/public/" + shareableLink))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"shared-shareable-link-3\""))
+                .andExpect(header().string("Cache-Control", "max-age=10, public"))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("Test Syllabus"))
                 .andExpect(jsonPath("$.description").value("Test Description"))
@@ -208,11 +281,32 @@ public class SyllabusControllerIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    void getSyllabusByShareableLink_Repeated_ServedFromCache() throws Exception {
+        // Arrange
+        String shareableLink = "shareable-link";
+        when(syllabusService.getSharedSyllabusVersion(shareableLink)).thenReturn(3L);
+        when(syllabusService.getSyllabusByShareableLink(shareableLink)).thenReturn(syllabusResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/syllabi/public/" + shareableLink))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/syllabi/public/" + shareableLink))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Syllabus"));
+        mockMvc.perform(get("/syllabi/public/" + shareableLink)
+                .header("If-None-Match", "\"shared-shareable-link-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(syllabusService, times(1)).getSharedSyllabusVersion(shareableLink);
+        verify(syllabusService, times(1)).getSyllabusByShareableLink(shareableLink);
+    }
+
+    @Test
+    @WithMockUserPrincipal
     void generateShareableLink_Success() throws Exception {
         // Arrange
         String shareableLink = "shareable-link";
-        when(syllabusService.generateShareableLink(anyLong(), anyString())).thenReturn(shareableLink);
+        when(syllabusService.generateShareableLink(anyLong(), anyLong())).thenReturn(shareableLink);
 
         // Act & Assert
         mockMvc.perform(post("/syllabi/1/share")
@@ -220,20 +314,20 @@ public class SyllabusControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.shareableLink").value(shareableLink));
 
-        verify(syllabusService).generateShareableLink(1L, "testuser");
+        verify(syllabusService).generateShareableLink(1L, 1L);
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithMockUserPrincipal
     void revokeShareableLink_Success() throws Exception {
         // Arrange
-        doNothing().when(syllabusService).revokeShareableLink(anyLong(), anyString());
+        doNothing().when(syllabusService).revokeShareableLink(anyLong(), anyLong());
 
         // Act & Assert
         mockMvc.perform(delete("/syllabi/1/share")
                 .with(SecurityMockMvcRequestPostProcessors.csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(syllabusService).revokeShareableLink(1L, "testuser");
+        verify(syllabusService).revokeShareableLink(1L, 1L);
     }
 }
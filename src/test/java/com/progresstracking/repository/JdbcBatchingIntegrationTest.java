@@ -0,0 +1,134 @@
+package com.progresstracking.repository;
+
+import com.progresstracking.model.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements Hibernate prepares for bulk inserts. With identity columns every insert is its own
+ * round trip; with pooled sequences and batching the count grows with rows / batch size instead.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+public class JdbcBatchingIntegrationTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SyllabusRepository syllabusRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private SubTopicRepository subTopicRepository;
+
+    @Autowired
+    private ProgressEntryRepository progressEntryRepository;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        user = userRepository.save(User.builder()
+                .username("batcher")
+                .email("batcher@example.com")
+                .password("encoded-password")
+                .role(User.Role.STUDENT)
+                .build());
+        entityManager.flush();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_ThousandProgressEntries_InsertsInBatches() {
+        // Arrange
+        List<ProgressEntry> entries = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(ProgressEntry.builder()
+                    .user(user)
+                    .itemId((long) i)
+                    .itemType(ProgressEntry.ItemType.TOPIC)
+                    .date(today.minusDays(i % 30))
+                    .status(ProgressEntry.Status.IN_PROGRESS)
+                    .timeSpentMinutes(15)
+                    .build());
+        }
+
+        // Act
+        progressEntryRepository.saveAll(entries);
+        entityManager.flush();
+
+        // Assert: one statement per batch of inserts plus one sequence call per block of ids
+        assertEquals(1000, statistics.getEntityInsertCount());
+        long expected = 2L * (1000 / BATCH_SIZE);
+        assertTrue(statistics.getPrepareStatementCount() <= expected + 2,
+                "expected about " + expected + " statements but got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void saveAll_FiveHundredNodeSyllabus_InsertsEachLevelInBatches() {
+        // Arrange: 1 syllabus, 10 subjects, 70 topics and 419 subtopics
+        Syllabus syllabus = syllabusRepository.save(Syllabus.builder()
+                .user(user)
+                .title("Large syllabus")
+                .build());
+
+        List<Subject> subjects = new ArrayList<>();
+        List<Topic> topics = new ArrayList<>();
+        List<SubTopic> subTopics = new ArrayList<>();
+        for (int s = 0; s < 10; s++) {
+            Subject subject = Subject.builder().syllabus(syllabus).title("Subject " + s).order(s).build();
+            subjects.add(subject);
+            for (int t = 0; t < 7; t++) {
+                Topic topic = Topic.builder().subject(subject).title("Topic " + t).order(t).build();
+                topics.add(topic);
+                for (int st = 0; st < 6 && subTopics.size() < 419; st++) {
+                    subTopics.add(SubTopic.builder().topic(topic).title("SubTopic " + st).order(st).build());
+                }
+            }
+        }
+
+        // Act
+        subjectRepository.saveAll(subjects);
+        for (Topic topic : topics) {
+            topic.setSyllabusId(syllabus.getId());
+        }
+        topicRepository.saveAll(topics);
+        for (SubTopic subTopic : subTopics) {
+            subTopic.setSubjectId(subTopic.getTopic().getSubject().getId());
+            subTopic.setSyllabusId(syllabus.getId());
+        }
+        subTopicRepository.saveAll(subTopics);
+        entityManager.flush();
+
+        // Assert: 13 insert batches over 4 tables and as many id blocks instead of 500 single-row round trips
+        assertEquals(500, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 30,
+                "expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
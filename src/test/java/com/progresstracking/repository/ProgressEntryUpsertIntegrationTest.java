@@ -0,0 +1,121 @@
+package com.progresstracking.repository;
+
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the MERGE fallback of the upsert against H2 and checks the unique key on (user, item, date).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+public class ProgressEntryUpsertIntegrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProgressEntryRepository progressEntryRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("upserter")
+                .email("upserter@example.com")
+                .password("encoded-password")
+                .role(User.Role.STUDENT)
+                .build());
+        entityManager.flush();
+    }
+
+    private ProgressEntry entry(ProgressEntry.Status status, Integer timeSpentMinutes) {
+        return ProgressEntry.builder()
+                .user(user)
+                .itemId(42L)
+                .itemType(ProgressEntry.ItemType.TOPIC)
+                .syllabusId(1L)
+                .subjectId(2L)
+                .date(LocalDate.now())
+                .status(status)
+                .timeSpentMinutes(timeSpentMinutes)
+                .build();
+    }
+
+    @Test
+    void upsertByKey_SameKeyTwice_UpdatesSingleRow() {
+        // Act
+        Long firstId = progressEntryRepository.upsertByKey(entry(ProgressEntry.Status.IN_PROGRESS, 30));
+        Long secondId = progressEntryRepository.upsertByKey(entry(ProgressEntry.Status.COMPLETED, null));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(firstId, secondId);
+        assertEquals(1L, progressEntryRepository.count());
+        ProgressEntry stored = progressEntryRepository.findById(firstId).orElseThrow();
+        assertEquals(ProgressEntry.Status.COMPLETED, stored.getStatus());
+        assertNull(stored.getTimeSpentMinutes());
+    }
+
+    @Test
+    void upsertByKey_AfterHibernateInsert_DoesNotReuseAllocatedIds() {
+        // Arrange: Hibernate holds a pooled block of ids when the native insert draws from the same sequence
+        ProgressEntry saved = progressEntryRepository.saveAndFlush(entry(ProgressEntry.Status.IN_PROGRESS, 30));
+        ProgressEntry other = entry(ProgressEntry.Status.IN_PROGRESS, 30);
+        other.setItemId(43L);
+
+        // Act
+        Long upsertedId = progressEntryRepository.upsertByKey(other);
+        ProgressEntry next = entry(ProgressEntry.Status.IN_PROGRESS, 30);
+        next.setItemId(44L);
+        progressEntryRepository.saveAndFlush(next);
+
+        // Assert
+        assertNotEquals(saved.getId(), upsertedId);
+        assertNotEquals(next.getId(), upsertedId);
+        assertEquals(3L, progressEntryRepository.count());
+    }
+
+    @Test
+    void insertAllSkippingDuplicates_TakenKey_InsertsOnlyFreeEntries() {
+        // Arrange: the first key is already taken
+        progressEntryRepository.saveAndFlush(entry(ProgressEntry.Status.IN_PROGRESS, 30));
+        ProgressEntry taken = entry(ProgressEntry.Status.COMPLETED, 15);
+        ProgressEntry free = entry(ProgressEntry.Status.COMPLETED, 15);
+        free.setItemId(43L);
+
+        // Act
+        List<ProgressEntry> inserted = progressEntryRepository.insertAllSkippingDuplicates(List.of(taken, free));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, inserted.size());
+        assertSame(free, inserted.get(0));
+        assertNull(taken.getId());
+        assertEquals(43L, progressEntryRepository.findById(free.getId()).orElseThrow().getItemId());
+        assertEquals(2L, progressEntryRepository.count());
+    }
+
+    @Test
+    void saveAndFlush_DuplicateKey_ViolatesUniqueConstraint() {
+        // Arrange
+        progressEntryRepository.saveAndFlush(entry(ProgressEntry.Status.IN_PROGRESS, 30));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> progressEntryRepository.saveAndFlush(entry(ProgressEntry.Status.COMPLETED, 15)));
+    }
+}
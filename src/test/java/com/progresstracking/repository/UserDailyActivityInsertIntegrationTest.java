@@ -0,0 +1,45 @@
+package com.progresstracking.repository;
+
+import com.progresstracking.model.UserDailyActivity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the MERGE fallback of the conflict-free day insert against H2.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+public class UserDailyActivityInsertIntegrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserDailyActivityRepository userDailyActivityRepository;
+
+    @Test
+    void insertDayIfAbsent_DayExists_LeavesRowForIncrement() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+
+        // Act
+        int first = userDailyActivityRepository.insertDayIfAbsent(1L, today, 30, 1);
+        int second = userDailyActivityRepository.insertDayIfAbsent(1L, today, 15, 1);
+        userDailyActivityRepository.addToDay(1L, today, 15, 1);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        List<UserDailyActivity> days = userDailyActivityRepository.findByUserIdOrderByDate(1L);
+        assertEquals(1, days.size());
+        assertEquals(45, days.get(0).getMinutes());
+        assertEquals(2, days.get(0).getItems());
+    }
+}
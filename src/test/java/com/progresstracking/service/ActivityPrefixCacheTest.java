@@ -0,0 +1,74 @@
+package com.progresstracking.service;
+
+import com.progresstracking.model.UserDailyActivity;
+import com.progresstracking.repository.UserDailyActivityRepository;
+import com.progresstracking.service.cache.ActivityPrefixCache;
+import com.progresstracking.service.cache.ActivityPrefixSums;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ActivityPrefixCacheTest {
+
+    @Mock
+    private UserDailyActivityRepository userDailyActivityRepository;
+
+    private ActivityPrefixCache activityPrefixCache;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        activityPrefixCache = new ActivityPrefixCache(userDailyActivityRepository, 2, 3600);
+        today = LocalDate.now();
+    }
+
+    private List<UserDailyActivity> day(int minutes) {
+        return Collections.singletonList(UserDailyActivity.builder()
+                .userId(1L).date(today).minutes(minutes).items(1).build());
+    }
+
+    @Test
+    void get_Repeated_ServesFromCache() {
+        // Arrange
+        when(userDailyActivityRepository.findByUserIdOrderByDate(1L)).thenReturn(day(30));
+
+        // Act
+        activityPrefixCache.get(1L);
+        ActivityPrefixSums sums = activityPrefixCache.get(1L);
+
+        // Assert
+        assertEquals(30L, sums.minutesBetween(today, today));
+        verify(userDailyActivityRepository, times(1)).findByUserIdOrderByDate(1L);
+    }
+
+    @Test
+    void get_InvalidatedWhileLoading_DoesNotCacheStaleSums() {
+        // Arrange: the user's activity changes while the first build is reading it
+        when(userDailyActivityRepository.findByUserIdOrderByDate(1L))
+                .thenAnswer(invocation -> {
+                    activityPrefixCache.invalidate(1L);
+                    return day(30);
+                })
+                .thenReturn(day(45));
+
+        // Act
+        ActivityPrefixSums raced = activityPrefixCache.get(1L);
+        ActivityPrefixSums next = activityPrefixCache.get(1L);
+
+        // Assert
+        assertEquals(30L, raced.minutesBetween(today, today));
+        assertEquals(45L, next.minutesBetween(today, today));
+        verify(userDailyActivityRepository, times(2)).findByUserIdOrderByDate(1L);
+    }
+}
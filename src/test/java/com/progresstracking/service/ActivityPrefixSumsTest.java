@@ -0,0 +1,80 @@
+package com.progresstracking.service;
+
+import com.progresstracking.model.UserDailyActivity;
+import com.progresstracking.service.cache.ActivityPrefixSums;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActivityPrefixSumsTest {
+
+    private final LocalDate start = LocalDate.of(2024, 1, 10);
+
+    private UserDailyActivity day(LocalDate date, int minutes, int items) {
+        return UserDailyActivity.builder()
+                .userId(1L)
+                .date(date)
+                .minutes(minutes)
+                .items(items)
+                .build();
+    }
+
+    @Test
+    void between_SumsOnlyDaysInsideTheRange() {
+        // Arrange
+        ActivityPrefixSums sums = ActivityPrefixSums.of(Arrays.asList(
+                day(start, 10, 1),
+                day(start.plusDays(2), 20, 2),
+                day(start.plusDays(5), 40, 1)));
+
+        // Act & Assert
+        assertEquals(70, sums.minutesBetween(start, start.plusDays(5)));
+        assertEquals(3, sums.activeDaysBetween(start, start.plusDays(5)));
+        assertEquals(60, sums.minutesBetween(start.plusDays(1), start.plusDays(5)));
+        assertEquals(20, sums.minutesBetween(start.plusDays(2), start.plusDays(2)));
+        assertEquals(0, sums.minutesBetween(start.plusDays(3), start.plusDays(4)));
+        assertEquals(3, sums.itemsBetween(start, start.plusDays(2)));
+    }
+
+    @Test
+    void between_RangeBeyondRecordedDays_IsClamped() {
+        // Arrange
+        ActivityPrefixSums sums = ActivityPrefixSums.of(Arrays.asList(
+                day(start, 10, 1),
+                day(start.plusDays(1), 15, 1)));
+
+        // Act & Assert
+        assertEquals(25, sums.minutesBetween(start.minusDays(30), start.plusDays(30)));
+        assertEquals(0, sums.minutesBetween(start.plusDays(2), start.plusDays(9)));
+        assertEquals(0, sums.minutesBetween(start.minusDays(9), start.minusDays(1)));
+        assertEquals(2, sums.activeDaysBetween(start.minusDays(1), start.plusDays(1)));
+    }
+
+    @Test
+    void between_DaysCenturiesApart_SumsWithoutSpanningThem() {
+        // Arrange
+        ActivityPrefixSums sums = ActivityPrefixSums.of(Arrays.asList(
+                day(LocalDate.of(1, 1, 1), 10, 1),
+                day(start, 20, 1),
+                day(LocalDate.of(9999, 12, 31), 40, 1)));
+
+        // Act & Assert
+        assertEquals(70, sums.minutesBetween(LocalDate.MIN, LocalDate.MAX));
+        assertEquals(20, sums.minutesBetween(start.minusDays(3660), start));
+        assertEquals(2, sums.activeDaysBetween(start, LocalDate.of(9999, 12, 31)));
+    }
+
+    @Test
+    void between_NoActivity_ReturnsZero() {
+        // Arrange
+        ActivityPrefixSums sums = ActivityPrefixSums.of(Collections.emptyList());
+
+        // Act & Assert
+        assertEquals(0, sums.minutesBetween(start, start.plusDays(7)));
+        assertEquals(0, sums.activeDaysBetween(start, start.plusDays(7)));
+    }
+}
@@ -129,7 +129,7 @@ public class AuthServiceImplTest {
     void login_Success() {
         // Arrange
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
-        when(tokenProvider.generateAccessToken(anyString())).thenReturn("access-token");
+        when(tokenProvider.generateAccessToken(any(User.class))).thenReturn("access-token");
         when(tokenProvider.generateRefreshToken(anyString())).thenReturn("refresh-token");
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
 
@@ -147,7 +147,7 @@ public class AuthServiceImplTest {
         assertEquals("STUDENT", response.getRole());
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(tokenProvider).generateAccessToken("testuser");
+        verify(tokenProvider).generateAccessToken(user);
         verify(tokenProvider).generateRefreshToken("testuser");
         verify(userRepository).findByUsername("testuser");
     }
@@ -169,7 +169,7 @@ public class AuthServiceImplTest {
         // Arrange
         when(tokenProvider.validateToken(anyString())).thenReturn(true);
         when(tokenProvider.getUsernameFromToken(anyString())).thenReturn("testuser");
-        when(tokenProvider.generateAccessToken(anyString())).thenReturn("new-access-token");
+        when(tokenProvider.generateAccessToken(any(User.class))).thenReturn("new-access-token");
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
 
         // Act
@@ -187,7 +187,7 @@ public class AuthServiceImplTest {
 
         verify(tokenProvider).validateToken("refresh-token");
         verify(tokenProvider).getUsernameFromToken("refresh-token");
-        verify(tokenProvider).generateAccessToken("testuser");
+        verify(tokenProvider).generateAccessToken(user);
         verify(userRepository).findByUsername("testuser");
     }
 
@@ -199,7 +199,7 @@ public class AuthServiceImplTest {
         // Act & Assert
         assertThrows(BadRequestException.class, () -> authService.refreshToken(refreshTokenRequest));
         verify(tokenProvider).validateToken("refresh-token");
-        verify(tokenProvider, never()).generateAccessToken(anyString());
+        verify(tokenProvider, never()).generateAccessToken(any(User.class));
     }
 
     @Test
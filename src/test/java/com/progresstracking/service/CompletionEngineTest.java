@@ -0,0 +1,136 @@
+package com.progresstracking.service;
+
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.repository.ProgressEntryRepository;
+import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.TopicRepository;
+import com.progresstracking.service.completion.CompletionEngine;
+import com.progresstracking.service.completion.CompletionSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CompletionEngineTest {
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private SubTopicRepository subTopicRepository;
+
+    @Mock
+    private ProgressEntryRepository progressEntryRepository;
+
+    @InjectMocks
+    private CompletionEngine completionEngine;
+
+    private List<Object[]> subjectRows;
+    private List<Object[]> topicRows;
+    private List<Object[]> subTopicRows;
+    private List<Object[]> subjectStatuses;
+    private List<Object[]> topicStatuses;
+    private List<Object[]> subTopicStatuses;
+
+    @BeforeEach
+    void setUp() {
+        subjectRows = new ArrayList<>();
+        topicRows = new ArrayList<>();
+        subTopicRows = new ArrayList<>();
+        subjectStatuses = new ArrayList<>();
+        topicStatuses = new ArrayList<>();
+        subTopicStatuses = new ArrayList<>();
+    }
+
+    private void stubRepositories() {
+        when(subjectRepository.findIdsBySyllabusIds(anyCollection())).thenReturn(subjectRows);
+        when(topicRepository.findIdsBySyllabusIds(anyCollection())).thenReturn(topicRows);
+        when(subTopicRepository.findIdsBySyllabusIds(anyCollection())).thenReturn(subTopicRows);
+        when(progressEntryRepository.findSubjectStatusesBySyllabusIds(anyCollection())).thenReturn(subjectStatuses);
+        when(progressEntryRepository.findTopicStatusesBySyllabusIds(anyCollection())).thenReturn(topicStatuses);
+        when(progressEntryRepository.findSubTopicStatusesBySyllabusIds(anyCollection())).thenReturn(subTopicStatuses);
+    }
+
+    @Test
+    void evaluate_FoldsLeavesBottomUp() {
+        // Arrange: subject 1 -> topic 10 -> subtopics 100 (completed), 101 (in progress)
+        //          subject 1 -> topic 11 (leaf, no entries)
+        //          subject 2 (leaf, completed)
+        subjectRows.add(new Object[]{1L, 1L});
+        subjectRows.add(new Object[]{2L, 1L});
+        topicRows.add(new Object[]{10L, 1L});
+        topicRows.add(new Object[]{11L, 1L});
+        subTopicRows.add(new Object[]{100L, 10L});
+        subTopicRows.add(new Object[]{101L, 10L});
+        subTopicStatuses.add(new Object[]{100L, ProgressEntry.Status.IN_PROGRESS});
+        subTopicStatuses.add(new Object[]{100L, ProgressEntry.Status.COMPLETED});
+        subTopicStatuses.add(new Object[]{101L, ProgressEntry.Status.IN_PROGRESS});
+        subjectStatuses.add(new Object[]{2L, ProgressEntry.Status.COMPLETED});
+        // entries on a node that has children are ignored
+        topicStatuses.add(new Object[]{10L, ProgressEntry.Status.NOT_STARTED});
+        stubRepositories();
+
+        // Act
+        CompletionSnapshot snapshot = completionEngine.evaluate(1L);
+
+        // Assert
+        assertEquals(100.0, snapshot.getSubTopicCompletion(100L));
+        assertEquals(50.0, snapshot.getSubTopicCompletion(101L));
+        assertEquals(75.0, snapshot.getTopicCompletion(10L));
+        assertEquals(0.0, snapshot.getTopicCompletion(11L));
+        assertEquals(37.5, snapshot.getSubjectCompletion(1L));
+        assertEquals(100.0, snapshot.getSubjectCompletion(2L));
+        assertEquals(68.75, snapshot.getSyllabusCompletion(1L));
+        assertEquals(Arrays.asList(10L, 11L), snapshot.getTopicIds(1L));
+    }
+
+    @Test
+    void evaluate_MultipleSyllabi_UsesConstantQueryCount() {
+        // Arrange
+        subjectRows.add(new Object[]{1L, 1L});
+        subjectRows.add(new Object[]{2L, 2L});
+        subjectStatuses.add(new Object[]{1L, ProgressEntry.Status.COMPLETED});
+        stubRepositories();
+
+        // Act
+        CompletionSnapshot snapshot = completionEngine.evaluate(Arrays.asList(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(100.0, snapshot.getSyllabusCompletion(1L));
+        assertEquals(0.0, snapshot.getSyllabusCompletion(2L));
+        assertEquals(0.0, snapshot.getSyllabusCompletion(3L));
+
+        verify(subjectRepository, times(1)).findIdsBySyllabusIds(anyCollection());
+        verify(topicRepository, times(1)).findIdsBySyllabusIds(anyCollection());
+        verify(subTopicRepository, times(1)).findIdsBySyllabusIds(anyCollection());
+        verify(progressEntryRepository, times(1)).findSubjectStatusesBySyllabusIds(anyCollection());
+        verify(progressEntryRepository, times(1)).findTopicStatusesBySyllabusIds(anyCollection());
+        verify(progressEntryRepository, times(1)).findSubTopicStatusesBySyllabusIds(anyCollection());
+    }
+
+    @Test
+    void evaluate_NoSyllabi_SkipsQueries() {
+        // Act
+        CompletionSnapshot snapshot = completionEngine.evaluate(Collections.emptyList());
+
+        // Assert
+        assertTrue(snapshot.getSyllabusCompletions().isEmpty());
+        verifyNoInteractions(subjectRepository, topicRepository, subTopicRepository, progressEntryRepository);
+    }
+}
@@ -0,0 +1,245 @@
+package com.progresstracking.service;
+
+import com.progresstracking.model.NodeCompletion;
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.model.Syllabus;
+import com.progresstracking.model.User;
+import com.progresstracking.repository.*;
+import com.progresstracking.service.completion.CompletionEngine;
+import com.progresstracking.service.completion.CompletionSnapshot;
+import com.progresstracking.service.impl.CompletionRollupServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CompletionRollupServiceImplTest {
+
+    @Mock
+    private NodeCompletionRepository nodeCompletionRepository;
+
+    @Mock
+    private SyllabusRepository syllabusRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private SubTopicRepository subTopicRepository;
+
+    @Mock
+    private ProgressEntryRepository progressEntryRepository;
+
+    @Mock
+    private CompletionEngine completionEngine;
+
+    @InjectMocks
+    private CompletionRollupServiceImpl completionRollupService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshSyllabus_WritesOnlyChangedRowsAndDropsStaleOnes() {
+        // Arrange: syllabus 1 now has a single completed subject 10
+        when(syllabusRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(syllabus()));
+        CompletionSnapshot snapshot = mock(CompletionSnapshot.class);
+        when(completionEngine.evaluate(1L)).thenReturn(snapshot);
+        when(snapshot.getSubjectIds(1L)).thenReturn(Collections.singletonList(10L));
+        when(snapshot.getSubjectCompletion(10L)).thenReturn(100.0);
+        when(snapshot.getSyllabusCompletion(1L)).thenReturn(100.0);
+
+        NodeCompletion storedSyllabus = NodeCompletion.builder().id(1L)
+                .nodeType(NodeCompletion.NodeType.SYLLABUS).nodeId(1L).syllabusId(1L)
+                .score(0.0).completedChildren(0).totalChildren(0).build();
+        NodeCompletion staleTopic = NodeCompletion.builder().id(2L)
+                .nodeType(NodeCompletion.NodeType.TOPIC).nodeId(99L).syllabusId(1L)
+                .score(50.0).completedChildren(0).totalChildren(0).build();
+        when(nodeCompletionRepository.findBySyllabusId(1L)).thenReturn(new ArrayList<>(Arrays.asList(storedSyllabus, staleTopic)));
+
+        // Act
+        completionRollupService.refreshSyllabus(1L);
+
+        // Assert
+        ArgumentCaptor<List<NodeCompletion>> saved = ArgumentCaptor.forClass(List.class);
+        verify(nodeCompletionRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals(100.0, storedSyllabus.getScore());
+        assertEquals(1, storedSyllabus.getCompletedChildren());
+        assertEquals(1, storedSyllabus.getTotalChildren());
+
+        ArgumentCaptor<Iterable<NodeCompletion>> deleted = ArgumentCaptor.forClass(Iterable.class);
+        verify(nodeCompletionRepository).deleteAll(deleted.capture());
+        assertEquals(staleTopic, deleted.getValue().iterator().next());
+        verify(syllabusRepository).incrementVersion(1L);
+    }
+
+    @Test
+    void refreshSyllabus_SyllabusGone_DoesNothing() {
+        // Arrange
+        when(syllabusRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+
+        // Act
+        completionRollupService.refreshSyllabus(1L);
+
+        // Assert
+        verify(completionEngine, never()).evaluate(anyLong());
+        verify(syllabusRepository, never()).incrementVersion(anyLong());
+    }
+
+    @Test
+    void refreshNode_LeafChanged_UpdatesAncestorsUntilOneIsUnchanged() {
+        // Arrange: subtopic 100 under topic 20, subject 10, syllabus 1; topic 20 has a second, completed subtopic 101
+        when(subTopicRepository.findSyllabusIdById(100L)).thenReturn(Optional.of(1L));
+        when(syllabusRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(syllabus()));
+        when(subTopicRepository.findParentIdsById(100L)).thenReturn(rows(new Object[]{20L, 10L, 1L}));
+        when(progressEntryRepository.findStatusesByUserIdAndItem(7L, ProgressEntry.ItemType.SUBTOPIC, 100L))
+                .thenReturn(Collections.singletonList(ProgressEntry.Status.COMPLETED));
+
+        NodeCompletion subTopic = stored(NodeCompletion.NodeType.SUBTOPIC, 100L, 0.0, 0, 0);
+        NodeCompletion topic = stored(NodeCompletion.NodeType.TOPIC, 20L, 50.0, 1, 2);
+        // subject 10 has topic 20 and a topic scoring 0, so it still averages 50 once topic 20 is 100
+        NodeCompletion subject = stored(NodeCompletion.NodeType.SUBJECT, 10L, 50.0, 1, 2);
+        when(nodeCompletionRepository.findByNodeTypeAndNodeId(NodeCompletion.NodeType.SUBTOPIC, 100L)).thenReturn(Optional.of(subTopic));
+        when(nodeCompletionRepository.findByNodeTypeAndNodeId(NodeCompletion.NodeType.TOPIC, 20L)).thenReturn(Optional.of(topic));
+        when(nodeCompletionRepository.findByNodeTypeAndNodeId(NodeCompletion.NodeType.SUBJECT, 10L)).thenReturn(Optional.of(subject));
+        when(nodeCompletionRepository.findSubTopicScoresByTopicId(20L))
+                .thenReturn(rows(new Object[]{100L, 100.0}, new Object[]{101L, 100.0}));
+        when(nodeCompletionRepository.findTopicScoresBySubjectId(10L))
+                .thenReturn(rows(new Object[]{20L, 100.0}, new Object[]{21L, 0.0}));
+
+        // Act
+        completionRollupService.refreshNode(NodeCompletion.NodeType.SUBTOPIC, 100L);
+
+        // Assert
+        assertEquals(100.0, subTopic.getScore());
+        assertEquals(100.0, topic.getScore());
+        assertEquals(2, topic.getCompletedChildren());
+        verify(nodeCompletionRepository).save(subTopic);
+        verify(nodeCompletionRepository).save(topic);
+        verify(nodeCompletionRepository, never()).save(subject);
+        verify(nodeCompletionRepository, never()).findSubjectScoresBySyllabusId(anyLong());
+        verify(completionEngine, never()).evaluate(anyLong());
+        verify(syllabusRepository).incrementVersion(1L);
+    }
+
+    @Test
+    void refreshNode_NotRolledUp_RecomputesSyllabus() {
+        // Arrange
+        when(subTopicRepository.findSyllabusIdById(100L)).thenReturn(Optional.of(1L));
+        when(syllabusRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(syllabus()));
+        when(subTopicRepository.findParentIdsById(100L)).thenReturn(rows(new Object[]{20L, 10L, 1L}));
+        when(progressEntryRepository.findStatusesByUserIdAndItem(7L, ProgressEntry.ItemType.SUBTOPIC, 100L))
+                .thenReturn(Collections.singletonList(ProgressEntry.Status.IN_PROGRESS));
+        when(nodeCompletionRepository.findByNodeTypeAndNodeId(NodeCompletion.NodeType.SUBTOPIC, 100L)).thenReturn(Optional.empty());
+        when(completionEngine.evaluate(1L)).thenReturn(mock(CompletionSnapshot.class));
+        when(nodeCompletionRepository.findBySyllabusId(1L)).thenReturn(new ArrayList<>());
+
+        // Act
+        completionRollupService.refreshNode(NodeCompletion.NodeType.SUBTOPIC, 100L);
+
+        // Assert
+        verify(completionEngine, times(1)).evaluate(1L);
+        verify(nodeCompletionRepository).saveAll(anyList());
+    }
+
+    @Test
+    void refreshNode_NodeWithChildren_IgnoresItsEntries() {
+        // Arrange
+        when(topicRepository.findSyllabusIdById(20L)).thenReturn(Optional.of(1L));
+        when(syllabusRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(syllabus()));
+        when(topicRepository.findParentIdsById(20L)).thenReturn(rows(new Object[]{10L, 1L}));
+        when(nodeCompletionRepository.findSubTopicScoresByTopicId(20L)).thenReturn(rows(new Object[]{100L, 0.0}));
+
+        // Act
+        completionRollupService.refreshNode(NodeCompletion.NodeType.TOPIC, 20L);
+
+        // Assert
+        verify(progressEntryRepository, never()).findStatusesByUserIdAndItem(anyLong(), any(), anyLong());
+        verify(syllabusRepository, never()).incrementVersion(anyLong());
+    }
+
+    private Syllabus syllabus() {
+        return Syllabus.builder().id(1L).user(User.builder().id(7L).build()).build();
+    }
+
+    private NodeCompletion stored(NodeCompletion.NodeType nodeType, Long nodeId, double score,
+                                  int completedChildren, int totalChildren) {
+        return NodeCompletion.builder().nodeType(nodeType).nodeId(nodeId).syllabusId(1L)
+                .score(score).completedChildren(completedChildren).totalChildren(totalChildren).build();
+    }
+
+    private List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(Arrays.asList(rows));
+    }
+
+    @Test
+    void getSyllabusNodeCompletions_NotRolledUp_EvaluatesOnce() {
+        // Arrange
+        CompletionSnapshot snapshot = mock(CompletionSnapshot.class);
+        when(nodeCompletionRepository.findBySyllabusId(1L)).thenReturn(Collections.emptyList());
+        when(completionEngine.evaluate(1L)).thenReturn(snapshot);
+        when(snapshot.getSubjectIds(1L)).thenReturn(Collections.singletonList(10L));
+        when(snapshot.getSubjectCompletion(10L)).thenReturn(50.0);
+        when(snapshot.getSyllabusCompletion(1L)).thenReturn(50.0);
+
+        // Act
+        Map<NodeCompletion.NodeType, Map<Long, Double>> completions = completionRollupService.getSyllabusNodeCompletions(1L);
+
+        // Assert
+        assertEquals(50.0, completions.get(NodeCompletion.NodeType.SUBJECT).get(10L));
+        assertEquals(50.0, completions.get(NodeCompletion.NodeType.SYLLABUS).get(1L));
+        verify(completionEngine, times(1)).evaluate(1L);
+    }
+
+    @Test
+    void getCompletion_StoredRow_DoesNotEvaluate() {
+        // Arrange
+        NodeCompletion stored = NodeCompletion.builder()
+                .nodeType(NodeCompletion.NodeType.TOPIC).nodeId(5L).syllabusId(1L)
+                .score(75.0).completedChildren(1).totalChildren(2).build();
+        when(nodeCompletionRepository.findByNodeTypeAndNodeId(NodeCompletion.NodeType.TOPIC, 5L))
+                .thenReturn(Optional.of(stored));
+
+        // Act
+        Double completion = completionRollupService.getCompletion(NodeCompletion.NodeType.TOPIC, 5L);
+
+        // Assert
+        assertEquals(75.0, completion);
+        verify(completionEngine, never()).evaluate(anyLong());
+    }
+
+    @Test
+    void getCompletion_MissingRow_FallsBackToLiveComputation() {
+        // Arrange
+        CompletionSnapshot snapshot = mock(CompletionSnapshot.class);
+        when(nodeCompletionRepository.findByNodeTypeAndNodeId(NodeCompletion.NodeType.TOPIC, 5L))
+                .thenReturn(Optional.empty());
+        when(topicRepository.findSyllabusIdById(5L)).thenReturn(Optional.of(1L));
+        when(completionEngine.evaluate(1L)).thenReturn(snapshot);
+        when(snapshot.getTopicCompletion(5L)).thenReturn(50.0);
+
+        // Act
+        Double completion = completionRollupService.getCompletion(NodeCompletion.NodeType.TOPIC, 5L);
+
+        // Assert
+        assertEquals(50.0, completion);
+    }
+}
@@ -0,0 +1,274 @@
+package com.progresstracking.service;
+
+import com.progresstracking.repository.UserDailyActivityRepository;
+import com.progresstracking.repository.UserRepository;
+import com.progresstracking.service.cache.ActivityPrefixCache;
+import com.progresstracking.service.impl.DailyActivityServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyActivityServiceImplTest {
+
+    @Mock
+    private UserDailyActivityRepository userDailyActivityRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ActivityPrefixCache activityPrefixCache;
+
+    @InjectMocks
+    private DailyActivityServiceImpl dailyActivityService;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+    }
+
+    private void stubStreak(Integer currentStreak, Integer longestStreak, LocalDate lastActivityDate) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{currentStreak, longestStreak, lastActivityDate});
+        when(userRepository.findStreakById(1L)).thenReturn(rows);
+    }
+
+    @Test
+    void recordEntryAdded_NextDay_ExtendsStreakWithoutWalking() {
+        // Arrange
+        when(userDailyActivityRepository.addToDay(1L, today, 30, 1)).thenReturn(0);
+        when(userDailyActivityRepository.insertDayIfAbsent(1L, today, 30, 1)).thenReturn(1);
+        stubStreak(3, 5, today.minusDays(1));
+
+        // Act
+        dailyActivityService.recordEntryAdded(1L, today, 30);
+
+        // Assert
+        verify(userDailyActivityRepository).insertDayIfAbsent(1L, today, 30, 1);
+        verify(userRepository).findByIdForUpdate(1L);
+        verify(userRepository).updateStreak(1L, 4, 5, today);
+        verify(userDailyActivityRepository, never()).findDatesByUserIdOnOrBefore(anyLong(), any(), any());
+        verify(activityPrefixCache).invalidate(1L);
+    }
+
+    @Test
+    void recordEntryAdded_ExistingDay_IncrementsInPlace() {
+        // Arrange
+        when(userDailyActivityRepository.addToDay(1L, today, 0, 1)).thenReturn(1);
+
+        // Act
+        dailyActivityService.recordEntryAdded(1L, today, null);
+
+        // Assert
+        verify(userDailyActivityRepository, never()).insertDayIfAbsent(anyLong(), any(), anyInt(), anyInt());
+        verify(userRepository, never()).updateStreak(anyLong(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void recordEntryAdded_ConcurrentFirstEntry_AddsToInsertedRow() {
+        // Arrange: another writer inserts the day row between the increment and the insert
+        when(userDailyActivityRepository.addToDay(1L, today, 30, 1)).thenReturn(0, 1);
+        when(userDailyActivityRepository.insertDayIfAbsent(1L, today, 30, 1)).thenReturn(0);
+
+        // Act
+        dailyActivityService.recordEntryAdded(1L, today, 30);
+
+        // Assert
+        verify(userDailyActivityRepository, times(2)).addToDay(1L, today, 30, 1);
+        verify(userRepository, never()).findByIdForUpdate(anyLong());
+        verify(userRepository, never()).updateStreak(anyLong(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void recordEntryChanged_ExistingDay_AdjustsMinutesOnly() {
+        // Arrange
+        when(userDailyActivityRepository.addToDay(1L, today, 30, 0)).thenReturn(1);
+
+        // Act
+        dailyActivityService.recordEntryChanged(1L, today, 60, 90);
+
+        // Assert
+        verify(userDailyActivityRepository, never()).deleteIfEmpty(anyLong(), any());
+        verify(userRepository, never()).findByIdForUpdate(anyLong());
+        verify(activityPrefixCache).invalidate(1L);
+    }
+
+    @Test
+    void recordEntryAdded_BackdatedDay_BridgesRuns() {
+        // Arrange: active on t-5, t-3, t-1 and t; t-2 is filled in
+        when(userDailyActivityRepository.addToDay(1L, today.minusDays(2), 10, 1)).thenReturn(0);
+        when(userDailyActivityRepository.insertDayIfAbsent(1L, today.minusDays(2), 10, 1)).thenReturn(1);
+        stubStreak(2, 2, today);
+        when(userDailyActivityRepository.findDatesByUserIdOnOrBefore(eq(1L), eq(today.minusDays(3)), any(Pageable.class)))
+                .thenReturn(Arrays.asList(today.minusDays(3), today.minusDays(5)));
+        when(userDailyActivityRepository.findDatesByUserIdOnOrAfter(eq(1L), eq(today.minusDays(1)), any(Pageable.class)))
+                .thenReturn(Arrays.asList(today.minusDays(1), today));
+
+        // Act
+        dailyActivityService.recordEntryAdded(1L, today.minusDays(2), 10);
+
+        // Assert
+        verify(userRepository).updateStreak(1L, 4, 4, today);
+    }
+
+    @Test
+    void recordEntryRemoved_LastDayOfRun_ShrinksStreak() {
+        // Arrange
+        when(userDailyActivityRepository.deleteIfEmpty(1L, today)).thenReturn(1);
+        stubStreak(3, 5, today);
+
+        // Act
+        dailyActivityService.recordEntryRemoved(1L, today, 45);
+
+        // Assert
+        verify(userDailyActivityRepository).addToDay(1L, today, -45, -1);
+        verify(userRepository).updateStreak(1L, 2, 5, today.minusDays(1));
+        verify(userDailyActivityRepository, never()).findFirstDateByUserId(anyLong());
+    }
+
+    @Test
+    void recordEntryRemoved_SplitsLongestRun_RecomputesLongest() {
+        // Arrange: run t-4..t, t-2 is removed
+        when(userDailyActivityRepository.deleteIfEmpty(1L, today.minusDays(2))).thenReturn(1);
+        stubStreak(5, 5, today);
+        when(userDailyActivityRepository.findFirstDateByUserId(1L)).thenReturn(today.minusDays(4));
+        when(userDailyActivityRepository.findDatesByUserIdOnOrAfter(eq(1L), eq(today.minusDays(4)), any(Pageable.class)))
+                .thenReturn(Arrays.asList(today.minusDays(4), today.minusDays(3), today.minusDays(1), today));
+
+        // Act
+        dailyActivityService.recordEntryRemoved(1L, today.minusDays(2), 20);
+
+        // Assert
+        verify(userRepository).updateStreak(1L, 2, 2, today);
+    }
+
+    @Test
+    void recordEntryRemoved_DayStillHasEntries_LeavesStreak() {
+        // Arrange
+        when(userDailyActivityRepository.deleteIfEmpty(1L, today)).thenReturn(0);
+
+        // Act
+        dailyActivityService.recordEntryRemoved(1L, today, 45);
+
+        // Assert
+        verify(userRepository, never()).findByIdForUpdate(anyLong());
+    }
+
+    private void stubDayTotals(LocalDate date, long minutes, long items) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{minutes, items});
+        when(userDailyActivityRepository.sumEntriesByUserIdAndDate(1L, date)).thenReturn(rows);
+    }
+
+    @Test
+    void refreshDay_ExistingDay_OverwritesWithRecountedTotals() {
+        // Arrange
+        stubDayTotals(today, 75L, 2L);
+        when(userDailyActivityRepository.setDay(1L, today, 75, 2)).thenReturn(1);
+
+        // Act
+        dailyActivityService.refreshDay(1L, today);
+
+        // Assert
+        verify(userDailyActivityRepository, never()).insertDayIfAbsent(anyLong(), any(), anyInt(), anyInt());
+        verify(userDailyActivityRepository, never()).deleteIfEmpty(anyLong(), any());
+        verify(userRepository, never()).findByIdForUpdate(anyLong());
+        verify(activityPrefixCache).invalidate(1L);
+    }
+
+    @Test
+    void refreshDay_NewDay_InsertsRowAndExtendsStreak() {
+        // Arrange
+        stubDayTotals(today, 30L, 1L);
+        when(userDailyActivityRepository.setDay(1L, today, 30, 1)).thenReturn(0);
+        when(userDailyActivityRepository.insertDayIfAbsent(1L, today, 30, 1)).thenReturn(1);
+        stubStreak(3, 5, today.minusDays(1));
+
+        // Act
+        dailyActivityService.refreshDay(1L, today);
+
+        // Assert
+        verify(userDailyActivityRepository).insertDayIfAbsent(1L, today, 30, 1);
+        verify(userRepository).updateStreak(1L, 4, 5, today);
+    }
+
+    @Test
+    void getCurrentStreak_Success() {
+        // Arrange
+        stubStreak(2, 4, today);
+
+        // Act
+        Integer streak = dailyActivityService.getCurrentStreak(1L);
+
+        // Assert
+        assertEquals(2, streak);
+        verifyNoInteractions(userDailyActivityRepository);
+    }
+
+    @Test
+    void getCurrentStreak_LastActivityBeforeYesterday_ReturnsZero() {
+        // Arrange
+        stubStreak(6, 6, today.minusDays(2));
+
+        // Act
+        Integer streak = dailyActivityService.getCurrentStreak(1L);
+
+        // Assert
+        assertEquals(0, streak);
+    }
+
+    @Test
+    void getCurrentStreak_NoEntries_ReturnsZero() {
+        // Arrange
+        stubStreak(null, null, null);
+        when(userDailyActivityRepository.findDatesByUserIdOnOrBefore(anyLong(), any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        Integer streak = dailyActivityService.getCurrentStreak(1L);
+
+        // Assert
+        assertEquals(0, streak);
+    }
+
+    @Test
+    void getCurrentStreak_Untracked_WalksRollupInGrowingChunks() {
+        // Arrange: 10 consecutive days ending yesterday, then a gap
+        stubStreak(null, null, null);
+        LocalDate yesterday = today.minusDays(1);
+        List<LocalDate> firstChunk = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            firstChunk.add(yesterday.minusDays(i));
+        }
+        List<LocalDate> secondChunk = Arrays.asList(yesterday.minusDays(8), yesterday.minusDays(9), yesterday.minusDays(20));
+        when(userDailyActivityRepository.findDatesByUserIdOnOrBefore(anyLong(), any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(yesterday), firstChunk, secondChunk);
+
+        // Act
+        Integer streak = dailyActivityService.getCurrentStreak(1L);
+
+        // Assert
+        assertEquals(10, streak);
+        verify(userDailyActivityRepository, times(3)).findDatesByUserIdOnOrBefore(anyLong(), any(LocalDate.class), any(Pageable.class));
+    }
+}
@@ -0,0 +1,167 @@
+package com.progresstracking.service;
+
+import com.progresstracking.dto.admin.CacheStatsResponse;
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.SyllabusRepository;
+import com.progresstracking.repository.TopicRepository;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemMetadataCacheTest {
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private SubTopicRepository subTopicRepository;
+
+    @Mock
+    private SyllabusRepository syllabusRepository;
+
+    private ItemMetadataCache itemMetadataCache;
+
+    @BeforeEach
+    void setUp() {
+        itemMetadataCache = new ItemMetadataCache(subjectRepository, topicRepository, subTopicRepository, syllabusRepository, 2, 600);
+    }
+
+    private void stubTopics(Long... existingIds) {
+        when(topicRepository.findMetadataByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return Arrays.stream(existingIds)
+                    .filter(ids::contains)
+                    .map(id -> new Object[]{id, "Topic " + id, 10L, 1L, 7L})
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void getAll_LoadsMissesInOneQueryAndServesRepeatsFromCache() {
+        // Arrange
+        stubTopics(1L, 2L);
+
+        // Act
+        Map<Long, ItemMetadata> first = itemMetadataCache.getAll(ProgressEntry.ItemType.TOPIC, Arrays.asList(1L, 2L, 3L));
+        Optional<ItemMetadata> second = itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+
+        // Assert
+        assertEquals(2, first.size());
+        assertEquals("Topic 1", first.get(1L).getTitle());
+        assertEquals(10L, first.get(1L).getParentId());
+        assertEquals(7L, first.get(1L).getOwnerId());
+        assertTrue(first.get(1L).isOwnedBy(7L));
+        assertTrue(second.isPresent());
+
+        verify(topicRepository, times(1)).findMetadataByIds(anyCollection());
+        CacheStatsResponse stats = itemMetadataCache.getStats();
+        assertEquals(1L, stats.getHits());
+        assertEquals(3L, stats.getMisses());
+    }
+
+    @Test
+    void getAll_FullCache_EvictsLeastRecentlyUsed() {
+        // Arrange
+        stubTopics(1L, 2L, 3L);
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 2L);
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+
+        // Act
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 3L);
+
+        // Assert
+        CacheStatsResponse stats = itemMetadataCache.getStats();
+        assertEquals(2, stats.getSize());
+        assertEquals(1L, stats.getEvictions());
+
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+        assertEquals(2L, itemMetadataCache.getStats().getHits());
+    }
+
+    @Test
+    void invalidateSyllabus_DropsItemsOfThatSyllabus() {
+        // Arrange
+        stubTopics(1L);
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+
+        // Act
+        itemMetadataCache.invalidateSyllabus(1L);
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+
+        // Assert
+        verify(topicRepository, times(2)).findMetadataByIds(anyCollection());
+    }
+
+    @Test
+    void get_InvalidatedWhileLoading_DoesNotCacheStaleItem() {
+        // Arrange: the topic is renamed while the first lookup is reading it
+        when(topicRepository.findMetadataByIds(anyCollection()))
+                .thenAnswer(invocation -> {
+                    itemMetadataCache.invalidate(ProgressEntry.ItemType.TOPIC, 1L);
+                    return Collections.singletonList(new Object[]{1L, "Old Title", 10L, 1L, 7L, false});
+                })
+                .thenReturn(Collections.singletonList(new Object[]{1L, "New Title", 10L, 1L, 7L, false}));
+
+        // Act
+        Optional<ItemMetadata> raced = itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+        Optional<ItemMetadata> next = itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+
+        // Assert
+        assertEquals("Old Title", raced.orElseThrow().getTitle());
+        assertEquals("New Title", next.orElseThrow().getTitle());
+        assertEquals(0, itemMetadataCache.getStats().getHits());
+    }
+
+    @Test
+    void get_ExpiredEntry_IsReloaded() {
+        // Arrange
+        itemMetadataCache = new ItemMetadataCache(subjectRepository, topicRepository, subTopicRepository, syllabusRepository, 10, 0);
+        stubTopics(1L);
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+
+        // Act
+        itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L);
+
+        // Assert
+        verify(topicRepository, times(2)).findMetadataByIds(anyCollection());
+        assertEquals(1L, itemMetadataCache.getStats().getExpirations());
+    }
+
+    @Test
+    void isReadableBy_ChecksVisibilityLiveForOthersOnly() {
+        // Arrange: the syllabus is made private after the item was cached
+        stubTopics(1L);
+        ItemMetadata item = itemMetadataCache.get(ProgressEntry.ItemType.TOPIC, 1L).orElseThrow();
+        when(syllabusRepository.findVersionById(1L))
+                .thenReturn(Collections.singletonList(new Object[]{3L, 7L, true}))
+                .thenReturn(Collections.singletonList(new Object[]{4L, 7L, false}));
+
+        // Act & Assert
+        assertTrue(itemMetadataCache.isReadableBy(item, 7L));
+        assertTrue(itemMetadataCache.isReadableBy(item, 8L));
+        assertFalse(itemMetadataCache.isReadableBy(item, 8L));
+        verify(syllabusRepository, times(2)).findVersionById(1L);
+    }
+}
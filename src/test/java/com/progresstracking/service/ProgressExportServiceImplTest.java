@@ -0,0 +1,134 @@
+package com.progresstracking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.repository.ProgressEntryRepository;
+import com.progresstracking.repository.UserDailyActivityRepository;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.importer.ImportFormat;
+import com.progresstracking.service.impl.ProgressExportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProgressExportServiceImplTest {
+
+    @Mock
+    private ProgressEntryRepository progressEntryRepository;
+
+    @Mock
+    private UserDailyActivityRepository userDailyActivityRepository;
+
+    @Mock
+    private ItemMetadataCache itemMetadataCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProgressExportServiceImpl progressExportService;
+
+    private final LocalDate start = LocalDate.of(2024, 1, 1);
+    private final LocalDate end = LocalDate.of(2024, 12, 31);
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        progressExportService = new ProgressExportServiceImpl(progressEntryRepository, userDailyActivityRepository,
+                itemMetadataCache, entityManager, objectMapper);
+    }
+
+    private ProgressEntry entry(long id, String notes) {
+        return ProgressEntry.builder()
+                .id(id)
+                .itemId(5L)
+                .itemType(ProgressEntry.ItemType.TOPIC)
+                .date(start.plusDays(id))
+                .status(ProgressEntry.Status.COMPLETED)
+                .timeSpentMinutes(30)
+                .notes(notes)
+                .build();
+    }
+
+    private void stubTitles() {
+        when(itemMetadataCache.getAll(eq(ProgressEntry.ItemType.TOPIC), anyCollection())).thenReturn(Map.of(5L,
+                ItemMetadata.builder().itemType(ProgressEntry.ItemType.TOPIC).id(5L).title("Graphs")
+                        .parentId(2L).syllabusId(1L).ownerId(1L).build()));
+    }
+
+    @Test
+    void exportProgress_Csv_WritesHeaderAndQuotedFieldsAndClosesCursor() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(progressEntryRepository.streamByUserIdAndDateBetween(1L, start, end))
+                .thenReturn(Stream.of(entry(1L, "plain"), entry(2L, "said \"hi\", then left")).onClose(() -> closed.set(true)));
+        stubTitles();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        progressExportService.exportProgress(1L, start, end, ImportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,itemType,itemId,itemTitle,date,status,timeSpentMinutes,notes", lines[0]);
+        assertEquals("1,TOPIC,5,Graphs,2024-01-02,COMPLETED,30,plain", lines[1]);
+        assertEquals("2,TOPIC,5,Graphs,2024-01-03,COMPLETED,30,\"said \"\"hi\"\", then left\"", lines[2]);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportProgress_ManyEntries_ResolvesTitlesAndClearsPerChunk() throws Exception {
+        // Arrange: 1200 entries are three chunks
+        when(progressEntryRepository.streamByUserIdAndDateBetween(1L, start, end))
+                .thenReturn(IntStream.range(0, 1200).mapToObj(i -> entry(i, null)));
+        stubTitles();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        progressExportService.exportProgress(1L, start, end, ImportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1200, lines.length);
+        assertTrue(lines[0].contains("\"itemTitle\":\"Graphs\""));
+        assertTrue(lines[0].contains("\"date\":\"2024-01-01\""));
+        verify(itemMetadataCache, times(3)).getAll(eq(ProgressEntry.ItemType.TOPIC), anyCollection());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void exportProgress_NoRangeAndNoActivity_WritesOnlyHeader() throws Exception {
+        // Arrange
+        when(userDailyActivityRepository.findFirstDateByUserId(1L)).thenReturn(null);
+        when(userDailyActivityRepository.findLastDateByUserId(1L)).thenReturn(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        progressExportService.exportProgress(1L, null, null, ImportFormat.CSV, out);
+
+        // Assert
+        assertEquals("id,itemType,itemId,itemTitle,date,status,timeSpentMinutes,notes\n", out.toString(StandardCharsets.UTF_8));
+        verify(progressEntryRepository, never()).streamByUserIdAndDateBetween(anyLong(), any(), any());
+    }
+}
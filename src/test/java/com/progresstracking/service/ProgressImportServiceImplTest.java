@@ -0,0 +1,211 @@
+package com.progresstracking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.progresstracking.dto.progress.ProgressEntryBatchRequest;
+import com.progresstracking.dto.progress.ProgressEntryBatchResponse;
+import com.progresstracking.dto.progress.ProgressEntryRequest;
+import com.progresstracking.dto.progress.ProgressImportResponse;
+import com.progresstracking.exception.BadRequestException;
+import com.progresstracking.model.ProgressEntry;
+import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.SyllabusRepository;
+import com.progresstracking.repository.TopicRepository;
+import com.progresstracking.service.importer.ImportFormat;
+import com.progresstracking.service.impl.ProgressImportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProgressImportServiceImplTest {
+
+    @Mock
+    private ProgressService progressService;
+
+    @Mock
+    private SyllabusRepository syllabusRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private SubTopicRepository subTopicRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProgressImportServiceImpl progressImportService;
+
+    @BeforeEach
+    void setUp() {
+        progressImportService = new ProgressImportServiceImpl(progressService, syllabusRepository, subjectRepository,
+                topicRepository, subTopicRepository, entityManager, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        List<Object[]> list = new ArrayList<>();
+        Collections.addAll(list, rows);
+        return list;
+    }
+
+    // the bulk create reports every entry of the chunk as created
+    private void createEverything() {
+        when(progressService.createProgressEntries(any(ProgressEntryBatchRequest.class), eq(1L))).thenAnswer(invocation -> {
+            List<ProgressEntryRequest> entries = invocation.<ProgressEntryBatchRequest>getArgument(0).getEntries();
+            List<ProgressEntryBatchResponse.EntryResultDto> results = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                results.add(ProgressEntryBatchResponse.EntryResultDto.builder()
+                        .index(i)
+                        .outcome(ProgressEntryBatchResponse.Outcome.CREATED)
+                        .id((long) i)
+                        .build());
+            }
+            return ProgressEntryBatchResponse.builder()
+                    .created(entries.size())
+                    .duplicates(0)
+                    .failed(0)
+                    .results(results)
+                    .build();
+        });
+    }
+
+    @Test
+    void importProgress_Csv_ResolvesIdsAndPathsAndReportsBadLines() {
+        // Arrange
+        createEverything();
+        when(syllabusRepository.findTitlesByUserId(1L)).thenReturn(rows(new Object[]{10L, "Algorithms"}));
+        when(subjectRepository.findTitlesBySyllabusIds(List.of(10L))).thenReturn(rows(new Object[]{20L, "Graphs", 10L}));
+        when(topicRepository.findTitlesBySyllabusIds(List.of(10L))).thenReturn(rows(new Object[]{30L, "Shortest paths", 20L}));
+        when(subTopicRepository.findTitlesBySyllabusIds(List.of(10L))).thenReturn(Collections.emptyList());
+        String csv = "item_type,item_id,item_path,date,status,time_spent_minutes,notes\n"
+                + "SUBJECT,20,,2024-01-02,completed,30,\"first, with comma\"\n"
+                + ",,algorithms > graphs > SHORTEST PATHS,2024-01-03,IN_PROGRESS,15,\n"
+                + "\n"
+                + "TOPIC,30,,2024-13-01,COMPLETED,10,\n"
+                + ",,Algorithms > Trees,2024-01-04,COMPLETED,10,\n";
+
+        // Act
+        ProgressImportResponse response = progressImportService.importProgress(body(csv), ImportFormat.CSV, 1L);
+
+        // Assert
+        assertEquals(4L, response.getRecordsRead());
+        assertEquals(2L, response.getImported());
+        assertEquals(2L, response.getFailed());
+        assertEquals(5L, response.getErrors().get(0).getLine());
+        assertEquals(ProgressEntryBatchResponse.Outcome.INVALID, response.getErrors().get(0).getOutcome());
+        assertEquals(6L, response.getErrors().get(1).getLine());
+        assertEquals(ProgressEntryBatchResponse.Outcome.NOT_FOUND, response.getErrors().get(1).getOutcome());
+        assertFalse(response.getErrorsTruncated());
+
+        ArgumentCaptor<ProgressEntryBatchRequest> chunk = ArgumentCaptor.forClass(ProgressEntryBatchRequest.class);
+        verify(progressService).createProgressEntries(chunk.capture(), eq(1L));
+        ProgressEntryRequest byId = chunk.getValue().getEntries().get(0);
+        assertEquals(ProgressEntry.Status.COMPLETED, byId.getStatus());
+        assertEquals("first, with comma", byId.getNotes());
+        ProgressEntryRequest byPath = chunk.getValue().getEntries().get(1);
+        assertEquals(30L, byPath.getItemId());
+        assertEquals(ProgressEntry.ItemType.TOPIC, byPath.getItemType());
+        verify(syllabusRepository, times(1)).findTitlesByUserId(1L);
+    }
+
+    @Test
+    void importProgress_LargeNdjson_WritesInChunksAndClearsContext() {
+        // Arrange
+        createEverything();
+        int lines = 2 * 1000 + 500;
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            ndjson.append("{\"itemId\":").append(i).append(",\"itemType\":\"TOPIC\",\"date\":\"")
+                    .append(LocalDate.of(2024, 1, 1).plusDays(i % 365)).append("\",\"status\":\"COMPLETED\"}\n");
+        }
+
+        // Act
+        ProgressImportResponse response = progressImportService.importProgress(body(ndjson.toString()), ImportFormat.NDJSON, 1L);
+
+        // Assert
+        assertEquals((long) lines, response.getImported());
+        assertEquals(3, response.getChunks());
+        verify(progressService, times(3)).createProgressEntries(any(ProgressEntryBatchRequest.class), eq(1L));
+        verify(entityManager, times(3)).clear();
+        verifyNoInteractions(syllabusRepository);
+    }
+
+    @Test
+    void importProgress_NdjsonBadLine_ReportsLineAndContinues() {
+        // Arrange
+        createEverything();
+        String ndjson = "{\"itemId\":1,\"itemType\":\"TOPIC\",\"date\":\"2024-01-01\",\"status\":\"COMPLETED\"}\n"
+                + "{\"itemId\":2,\"itemType\":\"CHAPTER\"}\n"
+                + "{\"itemId\":3,\"itemType\":\"TOPIC\",\"date\":\"2024-01-01\",\"status\":\"COMPLETED\"}";
+
+        // Act
+        ProgressImportResponse response = progressImportService.importProgress(body(ndjson), ImportFormat.NDJSON, 1L);
+
+        // Assert
+        assertEquals(3L, response.getRecordsRead());
+        assertEquals(2L, response.getImported());
+        assertEquals(1, response.getErrors().size());
+        assertEquals(2L, response.getErrors().get(0).getLine());
+    }
+
+    @Test
+    void importProgress_RejectedByBulkCreate_ReportsOriginalLines() {
+        // Arrange: line 3 is for an item of another user
+        when(progressService.createProgressEntries(any(ProgressEntryBatchRequest.class), eq(1L))).thenReturn(
+                ProgressEntryBatchResponse.builder()
+                        .created(1)
+                        .duplicates(0)
+                        .failed(1)
+                        .results(List.of(
+                                ProgressEntryBatchResponse.EntryResultDto.builder()
+                                        .index(0).outcome(ProgressEntryBatchResponse.Outcome.CREATED).id(1L).build(),
+                                ProgressEntryBatchResponse.EntryResultDto.builder()
+                                        .index(1).outcome(ProgressEntryBatchResponse.Outcome.FORBIDDEN)
+                                        .message("You don't have permission to track progress for this item").build()))
+                        .build());
+        String csv = "itemId,itemType,date,status\n"
+                + "1,TOPIC,2024-01-01,COMPLETED\n"
+                + "2,TOPIC,2024-01-01,COMPLETED\n";
+
+        // Act
+        ProgressImportResponse response = progressImportService.importProgress(body(csv), ImportFormat.CSV, 1L);
+
+        // Assert
+        assertEquals(1L, response.getFailed());
+        assertEquals(3L, response.getErrors().get(0).getLine());
+        assertEquals(ProgressEntryBatchResponse.Outcome.FORBIDDEN, response.getErrors().get(0).getOutcome());
+    }
+
+    @Test
+    void importProgress_CsvHeaderWithoutItemColumn_ThrowsBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> progressImportService.importProgress(
+                body("date,status\n2024-01-01,COMPLETED\n"), ImportFormat.CSV, 1L));
+        verify(progressService, never()).createProgressEntries(any(), anyLong());
+    }
+}
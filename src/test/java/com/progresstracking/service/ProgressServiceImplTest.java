@@ -3,6 +3,9 @@ package com.progresstracking.service;
 import com.progresstracking.dto.analytics.CompletionSummaryResponse;
 import com.progresstracking.dto.analytics.ProgressSummaryResponse;
 import com.progresstracking.dto.analytics.TimeDistributionResponse;
+import com.progresstracking.dto.analytics.WindowSummaryResponse;
+import com.progresstracking.dto.progress.ProgressEntryBatchRequest;
+import com.progresstracking.dto.progress.ProgressEntryBatchResponse;
 import com.progresstracking.dto.progress.ProgressEntryRequest;
 import com.progresstracking.dto.progress.ProgressEntryResponse;
 import com.progresstracking.exception.BadRequestException;
@@ -10,22 +13,28 @@ import com.progresstracking.exception.ResourceNotFoundException;
 import com.progresstracking.exception.UnauthorizedException;
 import com.progresstracking.model.*;
 import com.progresstracking.repository.*;
+import com.progresstracking.service.cache.ActivityPrefixSums;
+import com.progresstracking.service.cache.ItemMetadata;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.completion.CompletionEngine;
+import com.progresstracking.service.completion.CompletionSnapshot;
 import com.progresstracking.service.impl.ProgressServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -52,6 +61,18 @@ public class ProgressServiceImplTest {
     @Mock
     private SubTopicRepository subTopicRepository;
 
+    @Mock
+    private CompletionEngine completionEngine;
+
+    @Mock
+    private CompletionRollupService completionRollupService;
+
+    @Mock
+    private ItemMetadataCache itemMetadataCache;
+
+    @Mock
+    private DailyActivityService dailyActivityService;
+
     @InjectMocks
     private ProgressServiceImpl progressService;
 
@@ -62,6 +83,9 @@ public class ProgressServiceImplTest {
     private SubTopic subTopic;
     private ProgressEntry progressEntry;
     private ProgressEntryRequest progressEntryRequest;
+    private ItemMetadata subjectMetadata;
+    private ItemMetadata topicMetadata;
+    private ItemMetadata subTopicMetadata;
 
     @BeforeEach
     void setUp() {
@@ -124,19 +148,60 @@ public class ProgressServiceImplTest {
                 .timeSpentMinutes(60)
                 .notes("Test notes")
                 .build();
+
+        subjectMetadata = ItemMetadata.builder()
+                .itemType(ProgressEntry.ItemType.SUBJECT)
+                .id(1L)
+                .title("Test Subject")
+                .parentId(1L)
+                .syllabusId(1L)
+                .ownerId(1L)
+                .build();
+
+        topicMetadata = ItemMetadata.builder()
+                .itemType(ProgressEntry.ItemType.TOPIC)
+                .id(1L)
+                .title("Test Topic")
+                .parentId(1L)
+                .syllabusId(1L)
+                .ownerId(1L)
+                .build();
+
+        subTopicMetadata = ItemMetadata.builder()
+                .itemType(ProgressEntry.ItemType.SUBTOPIC)
+                .id(1L)
+                .title("Test SubTopic")
+                .parentId(1L)
+                .syllabusId(1L)
+                .ownerId(1L)
+                .build();
+    }
+
+    private void stubItemMetadata(ItemMetadata... items) {
+        List<ItemMetadata> known = Arrays.asList(items);
+        lenient().when(itemMetadataCache.get(any(), anyLong())).thenAnswer(invocation -> known.stream()
+                .filter(item -> item.getItemType() == invocation.getArgument(0)
+                        && item.getId().equals(invocation.getArgument(1)))
+                .findFirst());
+        lenient().when(itemMetadataCache.getAll(any(), anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(1);
+            Map<Long, ItemMetadata> result = new HashMap<>();
+            known.stream()
+                    .filter(item -> item.getItemType() == invocation.getArgument(0) && ids.contains(item.getId()))
+                    .forEach(item -> result.put(item.getId(), item));
+            return result;
+        });
     }
 
     @Test
     void createProgressEntry_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(subjectRepository.findById(anyLong())).thenReturn(Optional.of(subject));
-        when(progressEntryRepository.findByUserAndItemTypeAndItemIdAndDate(any(), any(), anyLong(), any()))
-                .thenReturn(Optional.empty());
-        when(progressEntryRepository.save(any(ProgressEntry.class))).thenReturn(progressEntry);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        stubItemMetadata(subjectMetadata);
+        when(progressEntryRepository.saveAndFlush(any(ProgressEntry.class))).thenReturn(progressEntry);
 
         // Act
-        ProgressEntryResponse response = progressService.createProgressEntry(progressEntryRequest, "testuser");
+        ProgressEntryResponse response = progressService.createProgressEntry(progressEntryRequest, 1L);
 
         // Assert
         assertNotNull(response);
@@ -150,39 +215,233 @@ public class ProgressServiceImplTest {
         assertEquals(60, response.getTimeSpentMinutes());
         assertEquals("Test notes", response.getNotes());
 
-        verify(userRepository).findByUsername("testuser");
-        verify(subjectRepository).findById(1L);
-        verify(progressEntryRepository).findByUserAndItemTypeAndItemIdAndDate(
-                user, ProgressEntry.ItemType.SUBJECT, 1L, LocalDate.now());
-        verify(progressEntryRepository).save(any(ProgressEntry.class));
+        verify(itemMetadataCache, atLeastOnce()).get(ProgressEntry.ItemType.SUBJECT, 1L);
+        verify(progressEntryRepository, never()).findByUserIdAndItemTypeAndItemIdAndDate(any(), any(), anyLong(), any());
+        verify(progressEntryRepository).saveAndFlush(any(ProgressEntry.class));
+        verify(completionRollupService).refreshNode(NodeCompletion.NodeType.SUBJECT, 1L);
+        verify(dailyActivityService).recordEntryAdded(1L, LocalDate.now(), 60);
+    }
+
+    private ProgressEntryRequest entryRequest(ProgressEntry.ItemType itemType, Long itemId, LocalDate date) {
+        return ProgressEntryRequest.builder()
+                .itemId(itemId)
+                .itemType(itemType)
+                .date(date)
+                .status(ProgressEntry.Status.COMPLETED)
+                .timeSpentMinutes(30)
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createProgressEntries_MixedBatch_ReportsEachEntryAndWritesInBulk() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        ItemMetadata foreignTopic = ItemMetadata.builder()
+                .itemType(ProgressEntry.ItemType.TOPIC).id(2L).title("Foreign Topic")
+                .parentId(5L).syllabusId(5L).ownerId(2L).build();
+        stubItemMetadata(subjectMetadata, topicMetadata, subTopicMetadata, foreignTopic);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+
+        List<Object[]> storedKeys = new ArrayList<>();
+        storedKeys.add(new Object[]{ProgressEntry.ItemType.TOPIC, 1L, today.minusDays(1)});
+        when(progressEntryRepository.findKeysByUserIdAndItemIds(eq(1L), anyCollection(), eq(today.minusDays(1)), eq(today)))
+                .thenReturn(storedKeys);
+        when(progressEntryRepository.insertAllSkippingDuplicates(anyList())).thenAnswer(invocation -> {
+            List<ProgressEntry> entries = invocation.getArgument(0);
+            long id = 100L;
+            for (ProgressEntry entry : entries) {
+                entry.setId(id++);
+            }
+            return entries;
+        });
+
+        ProgressEntryBatchRequest batchRequest = ProgressEntryBatchRequest.builder()
+                .entries(Arrays.asList(
+                        entryRequest(ProgressEntry.ItemType.SUBJECT, 1L, today),
+                        entryRequest(ProgressEntry.ItemType.SUBTOPIC, 1L, today),
+                        entryRequest(ProgressEntry.ItemType.SUBJECT, 1L, today),
+                        entryRequest(ProgressEntry.ItemType.TOPIC, 99L, today),
+                        entryRequest(ProgressEntry.ItemType.TOPIC, 2L, today),
+                        entryRequest(ProgressEntry.ItemType.TOPIC, 1L, null),
+                        entryRequest(ProgressEntry.ItemType.TOPIC, 1L, today.minusDays(1))))
+                .build();
+
+        // Act
+        ProgressEntryBatchResponse response = progressService.createProgressEntries(batchRequest, 1L);
+
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(3, response.getFailed());
+        List<ProgressEntryBatchResponse.Outcome> outcomes = new ArrayList<>();
+        response.getResults().forEach(result -> outcomes.add(result.getOutcome()));
+        assertEquals(Arrays.asList(
+                ProgressEntryBatchResponse.Outcome.CREATED,
+                ProgressEntryBatchResponse.Outcome.CREATED,
+                ProgressEntryBatchResponse.Outcome.DUPLICATE,
+                ProgressEntryBatchResponse.Outcome.NOT_FOUND,
+                ProgressEntryBatchResponse.Outcome.FORBIDDEN,
+                ProgressEntryBatchResponse.Outcome.INVALID,
+                ProgressEntryBatchResponse.Outcome.DUPLICATE), outcomes);
+        assertEquals(100L, response.getResults().get(0).getId());
+        assertEquals(101L, response.getResults().get(1).getId());
+
+        ArgumentCaptor<List<ProgressEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(progressEntryRepository).insertAllSkippingDuplicates(saved.capture());
+        assertEquals(1L, saved.getValue().get(1).getSubjectId());
+        verify(progressEntryRepository, never()).findByUserIdAndItemTypeAndItemIdAndDate(any(), any(), anyLong(), any());
+        verify(progressEntryRepository, never()).save(any(ProgressEntry.class));
+        verify(completionRollupService, times(1)).refreshSyllabus(1L);
+        verify(dailyActivityService).recordEntriesAdded(1L, today, 60, 2);
+        verify(dailyActivityService, never()).recordEntryAdded(anyLong(), any(), any());
+    }
+
+    @Test
+    void createProgressEntries_ConcurrentDuplicateAndRemovedParent_ReportedPerEntry() {
+        // Arrange: subtopic 2 hangs off a topic that no longer exists; the topic entry is taken by another writer
+        // between the duplicate check and the insert
+        LocalDate today = LocalDate.now();
+        ItemMetadata orphanSubTopic = ItemMetadata.builder()
+                .itemType(ProgressEntry.ItemType.SUBTOPIC).id(2L).title("Orphan SubTopic")
+                .parentId(9L).syllabusId(1L).ownerId(1L).build();
+        stubItemMetadata(subjectMetadata, topicMetadata, orphanSubTopic);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(progressEntryRepository.insertAllSkippingDuplicates(anyList())).thenAnswer(invocation -> {
+            List<ProgressEntry> entries = invocation.getArgument(0);
+            entries.get(0).setId(100L);
+            return Collections.singletonList(entries.get(0));
+        });
+
+        ProgressEntryBatchRequest batchRequest = ProgressEntryBatchRequest.builder()
+                .entries(Arrays.asList(
+                        entryRequest(ProgressEntry.ItemType.SUBJECT, 1L, today),
+                        entryRequest(ProgressEntry.ItemType.TOPIC, 1L, today),
+                        entryRequest(ProgressEntry.ItemType.SUBTOPIC, 2L, today)))
+                .build();
+
+        // Act
+        ProgressEntryBatchResponse response = progressService.createProgressEntries(batchRequest, 1L);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getDuplicates());
+        assertEquals(1, response.getFailed());
+        assertEquals(ProgressEntryBatchResponse.Outcome.CREATED, response.getResults().get(0).getOutcome());
+        assertEquals(ProgressEntryBatchResponse.Outcome.DUPLICATE, response.getResults().get(1).getOutcome());
+        assertEquals(ProgressEntryBatchResponse.Outcome.NOT_FOUND, response.getResults().get(2).getOutcome());
+        verify(dailyActivityService).recordEntriesAdded(1L, today, 30, 1);
     }
 
     @Test
     void createProgressEntry_EntryExists_ThrowsBadRequestException() {
+        // Arrange: the unique key rejects the insert
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        stubItemMetadata(subjectMetadata);
+        when(progressEntryRepository.saveAndFlush(any(ProgressEntry.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key", new ConstraintViolationException("duplicate key", new SQLException(),
+                        "uk_progress_entries_user_item_date")));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> progressService.createProgressEntry(progressEntryRequest, 1L));
+        verify(itemMetadataCache, atLeastOnce()).get(ProgressEntry.ItemType.SUBJECT, 1L);
+        verify(completionRollupService, never()).refreshNode(any(), anyLong());
+        verify(dailyActivityService, never()).recordEntryAdded(any(), any(), any());
+    }
+
+    @Test
+    void createProgressEntry_DateOutOfRange_ThrowsBadRequestException() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(subjectRepository.findById(anyLong())).thenReturn(Optional.of(subject));
-        when(progressEntryRepository.findByUserAndItemTypeAndItemIdAndDate(any(), any(), anyLong(), any()))
-                .thenReturn(Optional.of(progressEntry));
+        progressEntryRequest.setDate(LocalDate.of(1, 1, 1));
 
         // Act & Assert
-        assertThrows(BadRequestException.class, () -> progressService.createProgressEntry(progressEntryRequest, "testuser"));
-        verify(userRepository).findByUsername("testuser");
-        verify(subjectRepository).findById(1L);
-        verify(progressEntryRepository).findByUserAndItemTypeAndItemIdAndDate(
-                user, ProgressEntry.ItemType.SUBJECT, 1L, LocalDate.now());
-        verify(progressEntryRepository, never()).save(any(ProgressEntry.class));
+        assertThrows(BadRequestException.class, () -> progressService.createProgressEntry(progressEntryRequest, 1L));
+        verify(progressEntryRepository, never()).saveAndFlush(any(ProgressEntry.class));
+        verify(dailyActivityService, never()).recordEntryAdded(any(), any(), any());
+    }
+
+    @Test
+    void createProgressEntry_OtherIntegrityViolation_IsRethrown() {
+        // Arrange
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        stubItemMetadata(subjectMetadata);
+        when(progressEntryRepository.saveAndFlush(any(ProgressEntry.class))).thenThrow(new DataIntegrityViolationException(
+                "fk violation", new ConstraintViolationException("fk violation", new SQLException(),
+                        "fk_progress_entries_user")));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> progressService.createProgressEntry(progressEntryRequest, 1L));
+    }
+
+    @Test
+    void upsertProgressEntry_WritesByKeyAndRecountsDay() {
+        // Arrange
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        stubItemMetadata(subjectMetadata);
+        when(progressEntryRepository.upsertByKey(any(ProgressEntry.class))).thenReturn(7L);
+
+        // Act
+        ProgressEntryResponse response = progressService.upsertProgressEntry(progressEntryRequest, 1L);
+
+        // Assert
+        assertEquals(7L, response.getId());
+        assertEquals("Test Subject", response.getItemTitle());
+        assertEquals(ProgressEntry.Status.IN_PROGRESS, response.getStatus());
+        ArgumentCaptor<ProgressEntry> upserted = ArgumentCaptor.forClass(ProgressEntry.class);
+        verify(progressEntryRepository).upsertByKey(upserted.capture());
+        assertEquals(1L, upserted.getValue().getSyllabusId());
+        verify(progressEntryRepository, never()).saveAndFlush(any(ProgressEntry.class));
+        verify(completionRollupService).refreshNode(NodeCompletion.NodeType.SUBJECT, 1L);
+        verify(dailyActivityService).refreshDay(1L, LocalDate.now());
+        verify(dailyActivityService, never()).recordEntryAdded(any(), any(), any());
+    }
+
+    @Test
+    void updateProgressEntry_MinutesOnSameDay_AdjustsDayInPlace() {
+        // Arrange
+        when(progressEntryRepository.findById(1L)).thenReturn(Optional.of(progressEntry));
+        when(progressEntryRepository.saveAndFlush(progressEntry)).thenReturn(progressEntry);
+        stubItemMetadata(subjectMetadata);
+        progressEntryRequest.setTimeSpentMinutes(90);
+
+        // Act
+        ProgressEntryResponse response = progressService.updateProgressEntry(1L, progressEntryRequest, 1L);
+
+        // Assert
+        assertEquals(90, response.getTimeSpentMinutes());
+        verify(dailyActivityService).recordEntryChanged(1L, LocalDate.now(), 60, 90);
+        verify(dailyActivityService, never()).recordEntryRemoved(any(), any(), any());
+        verify(dailyActivityService, never()).recordEntryAdded(any(), any(), any());
+        verify(completionRollupService).refreshNode(NodeCompletion.NodeType.SUBJECT, 1L);
+    }
+
+    @Test
+    void updateProgressEntry_NewDate_MovesEntryBetweenDays() {
+        // Arrange
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        when(progressEntryRepository.findById(1L)).thenReturn(Optional.of(progressEntry));
+        when(progressEntryRepository.saveAndFlush(progressEntry)).thenReturn(progressEntry);
+        stubItemMetadata(subjectMetadata);
+        progressEntryRequest.setDate(yesterday);
+
+        // Act
+        progressService.updateProgressEntry(1L, progressEntryRequest, 1L);
+
+        // Assert
+        verify(dailyActivityService).recordEntryRemoved(1L, LocalDate.now(), 60);
+        verify(dailyActivityService).recordEntryAdded(1L, yesterday, 60);
+        verify(dailyActivityService, never()).recordEntryChanged(any(), any(), any(), any());
     }
 
     @Test
     void getProgressEntryById_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(progressEntryRepository.findById(anyLong())).thenReturn(Optional.of(progressEntry));
-        when(subjectRepository.findById(anyLong())).thenReturn(Optional.of(subject));
+        stubItemMetadata(subjectMetadata);
 
         // Act
-        ProgressEntryResponse response = progressService.getProgressEntryById(1L, "testuser");
+        ProgressEntryResponse response = progressService.getProgressEntryById(1L, 1L);
 
         // Assert
         assertNotNull(response);
@@ -196,9 +455,8 @@ public class ProgressServiceImplTest {
         assertEquals(60, response.getTimeSpentMinutes());
         assertEquals("Test notes", response.getNotes());
 
-        verify(userRepository).findByUsername("testuser");
         verify(progressEntryRepository).findById(1L);
-        verify(subjectRepository).findById(1L);
+        verify(itemMetadataCache).get(ProgressEntry.ItemType.SUBJECT, 1L);
     }
 
     @Test
@@ -207,27 +465,61 @@ public class ProgressServiceImplTest {
         User otherUser = User.builder().id(2L).username("otheruser").build();
         progressEntry.setUser(otherUser);
         
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(progressEntryRepository.findById(anyLong())).thenReturn(Optional.of(progressEntry));
 
         // Act & Assert
-        assertThrows(UnauthorizedException.class, () -> progressService.getProgressEntryById(1L, "testuser"));
-        verify(userRepository).findByUsername("testuser");
+        assertThrows(UnauthorizedException.class, () -> progressService.getProgressEntryById(1L, 1L));
         verify(progressEntryRepository).findById(1L);
     }
 
+    @Test
+    void getUserProgressEntriesByDateRange_ResolvesTitlesInOneQueryPerType() {
+        // Arrange
+        ProgressEntry topicEntry = ProgressEntry.builder()
+                .id(2L)
+                .user(user)
+                .itemId(1L)
+                .itemType(ProgressEntry.ItemType.TOPIC)
+                .date(LocalDate.now())
+                .status(ProgressEntry.Status.COMPLETED)
+                .timeSpentMinutes(30)
+                .build();
+        ProgressEntry secondSubjectEntry = ProgressEntry.builder()
+                .id(3L)
+                .user(user)
+                .itemId(1L)
+                .itemType(ProgressEntry.ItemType.SUBJECT)
+                .date(LocalDate.now().minusDays(1))
+                .status(ProgressEntry.Status.IN_PROGRESS)
+                .timeSpentMinutes(15)
+                .build();
+        
+        when(progressEntryRepository.findByUserIdAndDateBetween(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Arrays.asList(progressEntry, topicEntry, secondSubjectEntry));
+        stubItemMetadata(subjectMetadata, topicMetadata);
+
+        // Act
+        List<ProgressEntryResponse> responses = progressService.getUserProgressEntriesByDateRange(
+                1L, LocalDate.now().minusDays(7), LocalDate.now());
+
+        // Assert
+        assertEquals(3, responses.size());
+        assertEquals("Test Subject", responses.get(0).getItemTitle());
+        assertEquals("Test Topic", responses.get(1).getItemTitle());
+        assertEquals("Test Subject", responses.get(2).getItemTitle());
+        assertEquals(1L, responses.get(1).getUserId());
+
+        verify(itemMetadataCache, times(1)).getAll(eq(ProgressEntry.ItemType.SUBJECT), anyCollection());
+        verify(itemMetadataCache, times(1)).getAll(eq(ProgressEntry.ItemType.TOPIC), anyCollection());
+        verify(itemMetadataCache, never()).getAll(eq(ProgressEntry.ItemType.SUBTOPIC), anyCollection());
+        verify(itemMetadataCache, never()).get(any(), anyLong());
+    }
+
     @Test
     void calculateSyllabusCompletionPercentage_Success() {
         // Arrange
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
-        when(subjectRepository.findBySyllabusOrderByOrder(any(Syllabus.class)))
-                .thenReturn(Collections.singletonList(subject));
-        when(topicRepository.findBySubjectOrderByOrder(any(Subject.class)))
-                .thenReturn(Collections.singletonList(topic));
-        when(subTopicRepository.findByTopicOrderByOrder(any(Topic.class)))
-                .thenReturn(Collections.singletonList(subTopic));
-        when(progressEntryRepository.findByUserAndItemTypeAndItemId(any(User.class), any(), anyLong()))
-                .thenReturn(Collections.singletonList(progressEntry));
+        when(completionRollupService.getCompletion(NodeCompletion.NodeType.SYLLABUS, 1L)).thenReturn(50.0);
 
         // Act
         Double percentage = progressService.calculateSyllabusCompletionPercentage(1L);
@@ -237,7 +529,60 @@ public class ProgressServiceImplTest {
         assertEquals(50.0, percentage);
 
         verify(syllabusRepository).findById(1L);
-        verify(subjectRepository).findBySyllabusOrderByOrder(syllabus);
+        verify(completionEngine, never()).evaluate(anyLong());
+    }
+
+    @Test
+    void calculateSubTopicCompletionPercentage_ReadsStoredRollup() {
+        // Arrange
+        when(subTopicRepository.findSyllabusIdById(1L)).thenReturn(Optional.of(1L));
+        when(completionRollupService.getCompletion(NodeCompletion.NodeType.SUBTOPIC, 1L)).thenReturn(100.0);
+
+        // Act
+        Double percentage = progressService.calculateSubTopicCompletionPercentage(1L);
+
+        // Assert
+        assertEquals(100.0, percentage);
+        verify(completionEngine, never()).evaluate(anyLong());
+    }
+
+    @Test
+    void calculateTopicCompletionPercentage_TopicNotFound_ThrowsResourceNotFoundException() {
+        // Arrange
+        when(topicRepository.findSyllabusIdById(anyLong())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> progressService.calculateTopicCompletionPercentage(1L));
+        verify(completionRollupService, never()).getCompletion(any(), anyLong());
+    }
+
+    @Test
+    void getSyllabusCompletionSummary_EvaluatesSyllabusOnce() {
+        // Arrange
+        CompletionSnapshot snapshot = mock(CompletionSnapshot.class);
+        when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
+        when(subjectRepository.findBySyllabusOrderByOrder(any(Syllabus.class)))
+                .thenReturn(Collections.singletonList(subject));
+        when(completionEngine.evaluate(anyLong())).thenReturn(snapshot);
+        when(snapshot.getSyllabusCompletion(1L)).thenReturn(50.0);
+        when(snapshot.getSubjectCompletion(1L)).thenReturn(50.0);
+        when(snapshot.getTopicIds(1L)).thenReturn(Arrays.asList(1L, 2L));
+        when(snapshot.getTopicCompletion(1L)).thenReturn(100.0);
+        when(snapshot.getTopicCompletion(2L)).thenReturn(0.0);
+
+        // Act
+        CompletionSummaryResponse response = progressService.getSyllabusCompletionSummary(1L, 1L);
+
+        // Assert
+        assertEquals(50.0, response.getOverallCompletionPercentage());
+        assertEquals(1, response.getSubjectCompletions().size());
+        assertEquals("Test Subject", response.getSubjectCompletions().get(0).getSubjectTitle());
+        assertEquals(50.0, response.getSubjectCompletions().get(0).getCompletionPercentage());
+        assertEquals(1, response.getSubjectCompletions().get(0).getCompletedTopics());
+        assertEquals(2, response.getSubjectCompletions().get(0).getTotalTopics());
+
+        verify(completionEngine, times(1)).evaluate(1L);
+        verify(topicRepository, never()).findBySubjectOrderByOrder(any(Subject.class));
     }
 
     @Test
@@ -245,19 +590,19 @@ public class ProgressServiceImplTest {
         // Arrange
         LocalDate startDate = LocalDate.now().minusDays(7);
         LocalDate endDate = LocalDate.now();
+        UserDailyActivity today = UserDailyActivity.builder()
+                .userId(1L)
+                .date(LocalDate.now())
+                .minutes(60)
+                .items(1)
+                .build();
         
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(progressEntryRepository.findByUserAndDateBetween(any(User.class), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(Collections.singletonList(progressEntry));
-        when(progressEntryRepository.countDistinctDatesByUserAndDateBetween(any(User.class), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(1L);
-        when(progressEntryRepository.sumTimeSpentByUserAndDateBetween(any(User.class), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(60);
-        when(progressEntryRepository.findDistinctDatesByUserOrderByDateDesc(any(User.class), any(Pageable.class)))
-                .thenReturn(Collections.singletonList(LocalDate.now()));
+        when(dailyActivityService.getDailyActivity(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Collections.singletonList(today));
+        when(dailyActivityService.getCurrentStreak(anyLong())).thenReturn(1);
 
         // Act
-        ProgressSummaryResponse response = progressService.getUserProgressSummary("testuser", startDate, endDate);
+        ProgressSummaryResponse response = progressService.getUserProgressSummary(1L, startDate, endDate);
 
         // Assert
         assertNotNull(response);
@@ -271,22 +616,55 @@ public class ProgressServiceImplTest {
         assertEquals(60, response.getDailyProgress().get(0).getTimeSpentMinutes());
         assertEquals(1, response.getDailyProgress().get(0).getItemsProgressed());
 
-        verify(userRepository).findByUsername("testuser");
-        verify(progressEntryRepository).findByUserAndDateBetween(user, startDate, endDate);
-        verify(progressEntryRepository).countDistinctDatesByUserAndDateBetween(user, startDate, endDate);
-        verify(progressEntryRepository).sumTimeSpentByUserAndDateBetween(user, startDate, endDate);
+        verify(dailyActivityService).getDailyActivity(1L, startDate, endDate);
+        verify(progressEntryRepository, never()).findByUserIdAndDateBetween(anyLong(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void getUserProgressWindows_ComputesEveryWindowFromPrefixSums() {
+        // Arrange
+        List<UserDailyActivity> days = Arrays.asList(
+                UserDailyActivity.builder().userId(1L).date(LocalDate.now().minusDays(40)).minutes(100).items(2).build(),
+                UserDailyActivity.builder().userId(1L).date(LocalDate.now().minusDays(3)).minutes(30).items(1).build(),
+                UserDailyActivity.builder().userId(1L).date(LocalDate.now()).minutes(60).items(3).build());
+        
+        when(dailyActivityService.getPrefixSums(1L)).thenReturn(ActivityPrefixSums.of(days));
+
+        // Act
+        WindowSummaryResponse response = progressService.getUserProgressWindows(1L, Arrays.asList(7, 30, 90));
+
+        // Assert
+        assertEquals(3, response.getWindows().size());
+        assertEquals(90, response.getWindows().get(0).getTotalTimeSpentMinutes());
+        assertEquals(2, response.getWindows().get(0).getTotalDaysWithProgress());
+        assertEquals(4, response.getWindows().get(0).getItemsProgressed());
+        assertEquals(90, response.getWindows().get(1).getTotalTimeSpentMinutes());
+        assertEquals(190, response.getWindows().get(2).getTotalTimeSpentMinutes());
+        assertEquals(3, response.getWindows().get(2).getTotalDaysWithProgress());
+        assertEquals(LocalDate.now().minusDays(6), response.getWindows().get(0).getStartDate());
+
+        verify(dailyActivityService, times(1)).getPrefixSums(1L);
+    }
+
+    @Test
+    void getUserProgressWindows_InvalidWindow_ThrowsBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> progressService.getUserProgressWindows(1L, Arrays.asList(7, 0)));
+        verify(dailyActivityService, never()).getPrefixSums(anyLong());
     }
 
     @Test
     void getUserTimeDistribution_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(progressEntryRepository.findByUser(any(User.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(progressEntry)));
-        when(subjectRepository.findById(anyLong())).thenReturn(Optional.of(subject));
+        List<Object[]> subjectTotals = new ArrayList<>();
+        subjectTotals.add(new Object[]{1L, "Test Subject", 60L});
+        
+        when(progressEntryRepository.sumTimeSpentByUserId(anyLong())).thenReturn(60L);
+        when(progressEntryRepository.sumTimeSpentByUserIdGroupBySubject(anyLong())).thenReturn(subjectTotals);
 
         // Act
-        TimeDistributionResponse response = progressService.getUserTimeDistribution("testuser");
+        TimeDistributionResponse response = progressService.getUserTimeDistribution(1L);
 
         // Assert
         assertNotNull(response);
@@ -297,43 +675,62 @@ public class ProgressServiceImplTest {
         assertEquals(60, response.getSubjectDistribution().get(0).getTimeSpentMinutes());
         assertEquals(100.0, response.getSubjectDistribution().get(0).getPercentageOfTotal());
 
-        verify(userRepository).findByUsername("testuser");
-        verify(progressEntryRepository).findByUser(user, Pageable.unpaged());
-        verify(subjectRepository).findById(1L);
+        verify(progressEntryRepository).sumTimeSpentByUserIdGroupBySubject(1L);
+        verify(progressEntryRepository, never()).findByUserId(anyLong(), any(Pageable.class));
     }
 
     @Test
-    void getCurrentStreak_Success() {
+    void getUserTimeDistribution_NoEntries_ReturnsZero() {
         // Arrange
-        LocalDate today = LocalDate.now();
-        LocalDate yesterday = today.minusDays(1);
+        when(progressEntryRepository.sumTimeSpentByUserId(anyLong())).thenReturn(null);
+        when(progressEntryRepository.sumTimeSpentByUserIdGroupBySubject(anyLong())).thenReturn(Collections.emptyList());
+
+        // Act
+        TimeDistributionResponse response = progressService.getUserTimeDistribution(1L);
+
+        // Assert
+        assertEquals(0, response.getTotalTimeSpentMinutes());
+        assertTrue(response.getSubjectDistribution().isEmpty());
+    }
+
+    @Test
+    void createProgressEntry_SubTopic_StoresSubjectAndSyllabus() {
+        // Arrange
+        ItemMetadata nestedSubTopic = ItemMetadata.builder()
+                .itemType(ProgressEntry.ItemType.SUBTOPIC)
+                .id(5L)
+                .title("Nested SubTopic")
+                .parentId(1L)
+                .syllabusId(1L)
+                .ownerId(1L)
+                .build();
+        progressEntryRequest.setItemType(ProgressEntry.ItemType.SUBTOPIC);
+        progressEntryRequest.setItemId(5L);
         
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(progressEntryRepository.findDistinctDatesByUserOrderByDateDesc(any(User.class), any(Pageable.class)))
-                .thenReturn(Arrays.asList(today, yesterday));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        stubItemMetadata(nestedSubTopic, topicMetadata);
+        when(progressEntryRepository.saveAndFlush(any(ProgressEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        Integer streak = progressService.getCurrentStreak("testuser");
+        progressService.createProgressEntry(progressEntryRequest, 1L);
 
         // Assert
-        assertEquals(2, streak);
-        verify(userRepository).findByUsername("testuser");
-        verify(progressEntryRepository).findDistinctDatesByUserOrderByDateDesc(user, Pageable.unpaged());
+        ArgumentCaptor<ProgressEntry> saved = ArgumentCaptor.forClass(ProgressEntry.class);
+        verify(progressEntryRepository).saveAndFlush(saved.capture());
+        assertEquals(1L, saved.getValue().getSubjectId());
+        assertEquals(1L, saved.getValue().getSyllabusId());
     }
 
     @Test
-    void getCurrentStreak_NoEntries_ReturnsZero() {
+    void getCurrentStreak_ReadsDailyActivity() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(progressEntryRepository.findDistinctDatesByUserOrderByDateDesc(any(User.class), any(Pageable.class)))
-                .thenReturn(Collections.emptyList());
+        when(dailyActivityService.getCurrentStreak(anyLong())).thenReturn(2);
 
         // Act
-        Integer streak = progressService.getCurrentStreak("testuser");
+        Integer streak = progressService.getCurrentStreak(1L);
 
         // Assert
-        assertEquals(0, streak);
-        verify(userRepository).findByUsername("testuser");
-        verify(progressEntryRepository).findDistinctDatesByUserOrderByDateDesc(user, Pageable.unpaged());
+        assertEquals(2, streak);
+        verify(dailyActivityService).getCurrentStreak(1L);
     }
 }
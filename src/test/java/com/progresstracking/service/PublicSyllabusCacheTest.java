@@ -0,0 +1,200 @@
+package com.progresstracking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progresstracking.exception.ResourceNotFoundException;
+import com.progresstracking.service.cache.PublicSyllabusCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublicSyllabusCacheTest {
+
+    private final AtomicInteger versionLookups = new AtomicInteger();
+    private final AtomicInteger bodyLoads = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong(1L);
+
+    private PublicSyllabusCache.CachedJson getShared(PublicSyllabusCache cache, String shareableLink) {
+        return cache.getShared(shareableLink,
+                () -> {
+                    versionLookups.incrementAndGet();
+                    return version.get();
+                },
+                () -> Map.of("title", "Syllabus v" + version.get(), "load", bodyLoads.incrementAndGet()));
+    }
+
+    @Test
+    void getShared_WithinFreshWindow_ServesStoredBytesWithoutLookups() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 10, 10, 60);
+
+        // Act
+        PublicSyllabusCache.CachedJson first = getShared(cache, "link");
+        PublicSyllabusCache.CachedJson second = getShared(cache, "link");
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1L, second.getVersion());
+        assertTrue(new String(second.getBody(), StandardCharsets.UTF_8).contains("Syllabus v1"));
+        assertEquals(1, versionLookups.get());
+        assertEquals(1, bodyLoads.get());
+        assertEquals(1L, cache.getStats().getHits());
+    }
+
+    @Test
+    void getShared_StaleButUnchanged_RevalidatesWithoutReserializing() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 10, 10, 0);
+
+        // Act
+        PublicSyllabusCache.CachedJson first = getShared(cache, "link");
+        PublicSyllabusCache.CachedJson second = getShared(cache, "link");
+
+        // Assert
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(2, versionLookups.get());
+        assertEquals(1, bodyLoads.get());
+    }
+
+    @Test
+    void getShared_StaleAndChanged_ReloadsBody() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 10, 10, 0);
+        getShared(cache, "link");
+        version.set(2L);
+
+        // Act
+        PublicSyllabusCache.CachedJson reloaded = getShared(cache, "link");
+
+        // Assert
+        assertEquals(2L, reloaded.getVersion());
+        assertTrue(new String(reloaded.getBody(), StandardCharsets.UTF_8).contains("Syllabus v2"));
+        assertEquals(2, bodyLoads.get());
+    }
+
+    @Test
+    void getShared_LinkRevoked_DropsEntryAndRethrows() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 10, 10, 0);
+        getShared(cache, "link");
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> cache.getShared("link",
+                () -> {
+                    throw new ResourceNotFoundException("Syllabus", "shareableLink", "link");
+                },
+                () -> fail("body must not be loaded")));
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void getShared_InvalidatedWhileLoading_IsNotStored() {
+        // Arrange: the link is revoked after this request read the version but before it stored the body
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 10, 10, 60);
+
+        // Act
+        cache.getShared("link", version::get, () -> {
+            cache.invalidateShared("link");
+            return Map.of("title", "Syllabus v1");
+        });
+        getShared(cache, "link");
+
+        // Assert: the next request misses and loads the syllabus itself
+        assertEquals(1, versionLookups.get());
+        assertEquals(1, bodyLoads.get());
+    }
+
+    @Test
+    void getPublicPage_InvalidatedWhileLoading_IsNotStored() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 10, 10, 60);
+        PageRequest pageable = PageRequest.of(0, 10);
+
+        // Act
+        cache.getPublicPage(pageable, () -> {
+            cache.invalidatePublicPages();
+            return Map.of("page", 0);
+        });
+        cache.getPublicPage(pageable, () -> Map.of("page", bodyLoads.incrementAndGet()));
+
+        // Assert
+        assertEquals(1, bodyLoads.get());
+    }
+
+    @Test
+    void invalidatePublicPages_KeepsSharedEntries() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 10, 10, 60);
+        getShared(cache, "link");
+        cache.getPublicPage(PageRequest.of(0, 20), () -> Map.of("content", "page"));
+
+        // Act
+        cache.invalidatePublicPages();
+        getShared(cache, "link");
+
+        // Assert
+        assertEquals(1, cache.getStats().getSize());
+        assertEquals(1, bodyLoads.get());
+    }
+
+    @Test
+    void getShared_OverCapacity_EvictsLeastRecentlyUsed() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 2, 10, 60);
+
+        // Act
+        getShared(cache, "a");
+        getShared(cache, "b");
+        getShared(cache, "a");
+        getShared(cache, "c");
+        getShared(cache, "a");
+
+        // Assert
+        assertEquals(2, cache.getStats().getSize());
+        assertEquals(1L, cache.getStats().getEvictions());
+        assertEquals(3, bodyLoads.get());
+    }
+
+    @Test
+    void getPublicPage_ManyPageShapes_DoNotEvictSharedEntries() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 2, 2, 60);
+        getShared(cache, "a");
+        getShared(cache, "b");
+
+        // Act
+        for (int size = 1; size <= 5; size++) {
+            cache.getPublicPage(PageRequest.of(0, size), () -> Map.of("content", "page"));
+        }
+        getShared(cache, "a");
+        getShared(cache, "b");
+
+        // Assert
+        assertEquals(2, bodyLoads.get());
+        assertEquals(4, cache.getStats().getSize());
+    }
+
+    @Test
+    void getPublicPage_UnusualShape_IsServedWithoutCaching() {
+        // Arrange
+        PublicSyllabusCache cache = new PublicSyllabusCache(new ObjectMapper(), 10, 10, 60);
+        AtomicInteger pageLoads = new AtomicInteger();
+
+        // Act
+        cache.getPublicPage(PageRequest.of(0, 20, Sort.by("description")), () -> Map.of("load", pageLoads.incrementAndGet()));
+        cache.getPublicPage(PageRequest.of(500, 20), () -> Map.of("load", pageLoads.incrementAndGet()));
+        PublicSyllabusCache.CachedJson repeated = cache.getPublicPage(PageRequest.of(500, 20),
+                () -> Map.of("load", pageLoads.incrementAndGet()));
+
+        // Assert
+        assertEquals(3, pageLoads.get());
+        assertEquals("{\"load\":3}", new String(repeated.getBody(), StandardCharsets.UTF_8));
+        assertEquals(0, cache.getStats().getSize());
+    }
+}
@@ -0,0 +1,78 @@
+package com.progresstracking.service;
+
+import com.progresstracking.repository.*;
+import com.progresstracking.service.tree.SubtreeRemover;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubtreeRemoverTest {
+
+    @Mock
+    private SyllabusRepository syllabusRepository;
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private SubTopicRepository subTopicRepository;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @InjectMocks
+    private SubtreeRemover subtreeRemover;
+
+    @Test
+    void removeSyllabus_DeletesOneLevelPerStatementBottomUp() {
+        // Act
+        subtreeRemover.removeSyllabus(1L);
+
+        // Assert
+        InOrder inOrder = inOrder(resourceRepository, subTopicRepository, topicRepository, subjectRepository, syllabusRepository);
+        inOrder.verify(resourceRepository).deleteSyllabusSubtree(1L);
+        inOrder.verify(subTopicRepository).deleteBySyllabusId(1L);
+        inOrder.verify(topicRepository).deleteBySyllabusId(1L);
+        inOrder.verify(subjectRepository).deleteBySyllabusId(1L);
+        inOrder.verify(syllabusRepository).deleteRowById(1L);
+        verify(subjectRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void removeSubject_LeavesSiblingsAndSyllabusAlone() {
+        // Act
+        subtreeRemover.removeSubject(10L);
+
+        // Assert
+        InOrder inOrder = inOrder(resourceRepository, subTopicRepository, topicRepository, subjectRepository);
+        inOrder.verify(resourceRepository).deleteSubjectSubtree(10L);
+        inOrder.verify(subTopicRepository).deleteBySubjectId(10L);
+        inOrder.verify(topicRepository).deleteBySubjectId(10L);
+        inOrder.verify(subjectRepository).deleteRowById(10L);
+        verify(subjectRepository, never()).deleteBySyllabusId(anyLong());
+        verifyNoInteractions(syllabusRepository);
+    }
+
+    @Test
+    void removeTopic_DeletesTopicAndItsSubTopics() {
+        // Act
+        subtreeRemover.removeTopic(100L);
+
+        // Assert
+        InOrder inOrder = inOrder(resourceRepository, subTopicRepository, topicRepository);
+        inOrder.verify(resourceRepository).deleteTopicSubtree(100L);
+        inOrder.verify(subTopicRepository).deleteByTopicId(100L);
+        inOrder.verify(topicRepository).deleteRowById(100L);
+        verifyNoInteractions(subjectRepository, syllabusRepository);
+    }
+}
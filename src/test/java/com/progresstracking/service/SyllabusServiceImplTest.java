@@ -4,11 +4,17 @@ import com.progresstracking.dto.syllabus.SyllabusRequest;
 import com.progresstracking.dto.syllabus.SyllabusResponse;
 import com.progresstracking.exception.ResourceNotFoundException;
 import com.progresstracking.exception.UnauthorizedException;
+import com.progresstracking.model.NodeCompletion;
 import com.progresstracking.model.Syllabus;
 import com.progresstracking.model.User;
+import com.progresstracking.repository.SubjectRepository;
 import com.progresstracking.repository.SyllabusRepository;
 import com.progresstracking.repository.UserRepository;
+import com.progresstracking.service.cache.ItemMetadataCache;
+import com.progresstracking.service.cache.PublicSyllabusCache;
 import com.progresstracking.service.impl.SyllabusServiceImpl;
+import com.progresstracking.service.tree.SubtreeRemover;
+import com.progresstracking.service.tree.SyllabusTreeAssembler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,11 +26,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -34,11 +44,26 @@ public class SyllabusServiceImplTest {
     @Mock
     private SyllabusRepository syllabusRepository;
 
+    @Mock
+    private SubjectRepository subjectRepository;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private ProgressService progressService;
+    private CompletionRollupService completionRollupService;
+
+    @Mock
+    private ItemMetadataCache itemMetadataCache;
+
+    @Mock
+    private PublicSyllabusCache publicSyllabusCache;
+
+    @Mock
+    private SubtreeRemover subtreeRemover;
+
+    @Mock
+    private SyllabusTreeAssembler syllabusTreeAssembler;
 
     @InjectMocks
     private SyllabusServiceImpl syllabusService;
@@ -86,12 +111,12 @@ public class SyllabusServiceImplTest {
     @Test
     void createSyllabus_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(syllabusRepository.save(any(Syllabus.class))).thenReturn(syllabus);
-        when(progressService.calculateSyllabusCompletionPercentage(anyLong())).thenReturn(0.0);
+        when(completionRollupService.getCompletion(any(NodeCompletion.NodeType.class), anyLong())).thenReturn(0.0);
 
         // Act
-        SyllabusResponse response = syllabusService.createSyllabus(syllabusRequest, "testuser");
+        SyllabusResponse response = syllabusService.createSyllabus(syllabusRequest, 1L);
 
         // Assert
         assertNotNull(response);
@@ -103,20 +128,20 @@ public class SyllabusServiceImplTest {
         assertEquals(0, response.getSubjectCount());
         assertEquals(0.0, response.getCompletionPercentage());
 
-        verify(userRepository).findByUsername("testuser");
+        verify(userRepository).getReferenceById(1L);
         verify(syllabusRepository).save(any(Syllabus.class));
-        verify(progressService).calculateSyllabusCompletionPercentage(1L);
+        verify(completionRollupService).refreshSyllabus(1L);
+        verify(completionRollupService).getCompletion(NodeCompletion.NodeType.SYLLABUS, 1L);
     }
 
     @Test
     void getSyllabusById_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
-        when(progressService.calculateSyllabusCompletionPercentage(anyLong())).thenReturn(0.0);
+        when(completionRollupService.getCompletion(any(NodeCompletion.NodeType.class), anyLong())).thenReturn(0.0);
 
         // Act
-        SyllabusResponse response = syllabusService.getSyllabusById(1L, "testuser");
+        SyllabusResponse response = syllabusService.getSyllabusById(1L, 1L);
 
         // Assert
         assertNotNull(response);
@@ -128,20 +153,17 @@ public class SyllabusServiceImplTest {
         assertEquals(0, response.getSubjectCount());
         assertEquals(0.0, response.getCompletionPercentage());
 
-        verify(userRepository).findByUsername("testuser");
         verify(syllabusRepository).findById(1L);
-        verify(progressService).calculateSyllabusCompletionPercentage(1L);
+        verify(completionRollupService).getCompletion(NodeCompletion.NodeType.SYLLABUS, 1L);
     }
 
     @Test
     void getSyllabusById_NotFound_ThrowsResourceNotFoundException() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> syllabusService.getSyllabusById(1L, "testuser"));
-        verify(userRepository).findByUsername("testuser");
+        assertThrows(ResourceNotFoundException.class, () -> syllabusService.getSyllabusById(1L, 1L));
         verify(syllabusRepository).findById(1L);
     }
 
@@ -149,12 +171,10 @@ public class SyllabusServiceImplTest {
     void getSyllabusById_Unauthorized_ThrowsUnauthorizedException() {
         // Arrange
         syllabus.setUser(otherUser);
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
 
         // Act & Assert
-        assertThrows(UnauthorizedException.class, () -> syllabusService.getSyllabusById(1L, "testuser"));
-        verify(userRepository).findByUsername("testuser");
+        assertThrows(UnauthorizedException.class, () -> syllabusService.getSyllabusById(1L, 1L));
         verify(syllabusRepository).findById(1L);
     }
 
@@ -163,12 +183,11 @@ public class SyllabusServiceImplTest {
         // Arrange
         syllabus.setUser(otherUser);
         syllabus.setPublic(true);
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
-        when(progressService.calculateSyllabusCompletionPercentage(anyLong())).thenReturn(0.0);
+        when(completionRollupService.getCompletion(any(NodeCompletion.NodeType.class), anyLong())).thenReturn(0.0);
 
         // Act
-        SyllabusResponse response = syllabusService.getSyllabusById(1L, "testuser");
+        SyllabusResponse response = syllabusService.getSyllabusById(1L, 1L);
 
         // Assert
         assertNotNull(response);
@@ -180,9 +199,42 @@ public class SyllabusServiceImplTest {
         assertEquals(0, response.getSubjectCount());
         assertEquals(0.0, response.getCompletionPercentage());
 
-        verify(userRepository).findByUsername("testuser");
         verify(syllabusRepository).findById(1L);
-        verify(progressService).calculateSyllabusCompletionPercentage(1L);
+        verify(completionRollupService).getCompletion(NodeCompletion.NodeType.SYLLABUS, 1L);
+    }
+
+    @Test
+    void getSyllabusTree_PrivateSyllabusOfOtherUser_ThrowsUnauthorizedException() {
+        // Arrange
+        syllabus.setUser(otherUser);
+        when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> syllabusService.getSyllabusTree(1L, 1L, true));
+        verifyNoInteractions(syllabusTreeAssembler);
+    }
+
+    @Test
+    void getSyllabusVersion_PrivateSyllabusOfOtherUser_ThrowsUnauthorizedException() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{3L, 2L, false});
+        when(syllabusRepository.findVersionById(1L)).thenReturn(rows);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> syllabusService.getSyllabusVersion(1L, 1L));
+        verify(syllabusRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getSyllabusVersion_PublicSyllabus_ReturnsVersion() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{3L, 2L, true});
+        when(syllabusRepository.findVersionById(1L)).thenReturn(rows);
+
+        // Act & Assert
+        assertEquals(3L, syllabusService.getSyllabusVersion(1L, 1L));
     }
 
     @Test
@@ -194,13 +246,12 @@ public class SyllabusServiceImplTest {
                 .isPublic(true)
                 .build();
 
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
         when(syllabusRepository.save(any(Syllabus.class))).thenReturn(syllabus);
-        when(progressService.calculateSyllabusCompletionPercentage(anyLong())).thenReturn(0.0);
+        when(completionRollupService.getCompletion(any(NodeCompletion.NodeType.class), anyLong())).thenReturn(0.0);
 
         // Act
-        SyllabusResponse response = syllabusService.updateSyllabus(1L, updateRequest, "testuser");
+        SyllabusResponse response = syllabusService.updateSyllabus(1L, updateRequest, 1L);
 
         // Assert
         assertNotNull(response);
@@ -212,22 +263,21 @@ public class SyllabusServiceImplTest {
         assertEquals(0, response.getSubjectCount());
         assertEquals(0.0, response.getCompletionPercentage());
 
-        verify(userRepository).findByUsername("testuser");
         verify(syllabusRepository).findById(1L);
         verify(syllabusRepository).save(any(Syllabus.class));
-        verify(progressService).calculateSyllabusCompletionPercentage(1L);
+        verify(completionRollupService).getCompletion(NodeCompletion.NodeType.SYLLABUS, 1L);
+        verify(itemMetadataCache).invalidateSyllabus(1L);
+        verify(syllabusRepository).incrementVersion(1L);
     }
 
     @Test
     void updateSyllabus_Unauthorized_ThrowsUnauthorizedException() {
         // Arrange
         syllabus.setUser(otherUser);
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
 
         // Act & Assert
-        assertThrows(UnauthorizedException.class, () -> syllabusService.updateSyllabus(1L, syllabusRequest, "testuser"));
-        verify(userRepository).findByUsername("testuser");
+        assertThrows(UnauthorizedException.class, () -> syllabusService.updateSyllabus(1L, syllabusRequest, 1L));
         verify(syllabusRepository).findById(1L);
         verify(syllabusRepository, never()).save(any(Syllabus.class));
     }
@@ -235,52 +285,65 @@ public class SyllabusServiceImplTest {
     @Test
     void deleteSyllabus_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
-        doNothing().when(syllabusRepository).delete(any(Syllabus.class));
 
         // Act
-        syllabusService.deleteSyllabus(1L, "testuser");
+        syllabusService.deleteSyllabus(1L, 1L);
 
         // Assert
-        verify(userRepository).findByUsername("testuser");
         verify(syllabusRepository).findById(1L);
-        verify(syllabusRepository).delete(syllabus);
+        verify(subtreeRemover).removeSyllabus(1L);
+        verify(completionRollupService).removeSyllabus(1L);
+        verify(itemMetadataCache).invalidateSyllabus(1L);
     }
 
     @Test
     void deleteSyllabus_Unauthorized_ThrowsUnauthorizedException() {
         // Arrange
         syllabus.setUser(otherUser);
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
 
         // Act & Assert
-        assertThrows(UnauthorizedException.class, () -> syllabusService.deleteSyllabus(1L, "testuser"));
-        verify(userRepository).findByUsername("testuser");
+        assertThrows(UnauthorizedException.class, () -> syllabusService.deleteSyllabus(1L, 1L));
         verify(syllabusRepository).findById(1L);
-        verify(syllabusRepository, never()).delete(any(Syllabus.class));
+        verify(subtreeRemover, never()).removeSyllabus(anyLong());
+    }
+
+    @Test
+    void revokeShareableLink_EvictsCachedSharedView() {
+        // Arrange
+        syllabus.setShareableLink("shared-link");
+        when(syllabusRepository.findById(anyLong())).thenReturn(Optional.of(syllabus));
+
+        // Act
+        syllabusService.revokeShareableLink(1L, 1L);
+
+        // Assert
+        assertNull(syllabus.getShareableLink());
+        verify(publicSyllabusCache).invalidateShared("shared-link");
+        verify(publicSyllabusCache, never()).invalidatePublicPages();
+        verify(syllabusRepository).incrementVersion(1L);
     }
 
     @Test
     void getUserSyllabi_Success() {
         // Arrange
         Page<Syllabus> syllabusPage = new PageImpl<>(Collections.singletonList(syllabus));
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(syllabusRepository.findByUser(any(User.class), any(Pageable.class))).thenReturn(syllabusPage);
-        when(progressService.calculateSyllabusCompletionPercentage(anyLong())).thenReturn(0.0);
+        when(syllabusRepository.findByUserId(anyLong(), any(Pageable.class))).thenReturn(syllabusPage);
+        when(completionRollupService.calculateCompletion(anyCollection())).thenReturn(Map.of(1L, 25.0));
 
         // Act
-        Page<SyllabusResponse> response = syllabusService.getUserSyllabi("testuser", Pageable.unpaged());
+        Page<SyllabusResponse> response = syllabusService.getUserSyllabi(1L, Pageable.unpaged());
 
         // Assert
         assertNotNull(response);
         assertEquals(1, response.getTotalElements());
         assertEquals("Test Syllabus", response.getContent().get(0).getTitle());
+        assertEquals(25.0, response.getContent().get(0).getCompletionPercentage());
 
-        verify(userRepository).findByUsername("testuser");
-        verify(syllabusRepository).findByUser(user, Pageable.unpaged());
-        verify(progressService).calculateSyllabusCompletionPercentage(1L);
+        verify(syllabusRepository).findByUserId(1L, Pageable.unpaged());
+        verify(completionRollupService).calculateCompletion(List.of(1L));
+        verify(completionRollupService, never()).getCompletion(any(NodeCompletion.NodeType.class), anyLong());
     }
 
     @Test
@@ -288,7 +351,7 @@ public class SyllabusServiceImplTest {
         // Arrange
         Page<Syllabus> syllabusPage = new PageImpl<>(Collections.singletonList(syllabus));
         when(syllabusRepository.findAllPublic(any(Pageable.class))).thenReturn(syllabusPage);
-        when(progressService.calculateSyllabusCompletionPercentage(anyLong())).thenReturn(0.0);
+        when(completionRollupService.calculateCompletion(anyCollection())).thenReturn(Map.of(1L, 25.0));
 
         // Act
         Page<SyllabusResponse> response = syllabusService.getPublicSyllabi(Pageable.unpaged());
@@ -297,8 +360,10 @@ public class SyllabusServiceImplTest {
         assertNotNull(response);
         assertEquals(1, response.getTotalElements());
         assertEquals("Test Syllabus", response.getContent().get(0).getTitle());
+        assertEquals(25.0, response.getContent().get(0).getCompletionPercentage());
 
         verify(syllabusRepository).findAllPublic(Pageable.unpaged());
-        verify(progressService).calculateSyllabusCompletionPercentage(1L);
+        verify(completionRollupService).calculateCompletion(List.of(1L));
+        verify(completionRollupService, never()).getCompletion(any(NodeCompletion.NodeType.class), anyLong());
     }
 }
@@ -0,0 +1,109 @@
+package com.progresstracking.service;
+
+import com.progresstracking.dto.syllabus.SyllabusTreeResponse;
+import com.progresstracking.model.NodeCompletion;
+import com.progresstracking.model.SubTopic;
+import com.progresstracking.model.Subject;
+import com.progresstracking.model.Syllabus;
+import com.progresstracking.model.Topic;
+import com.progresstracking.repository.ResourceRepository;
+import com.progresstracking.repository.SubTopicRepository;
+import com.progresstracking.repository.SubjectRepository;
+import com.progresstracking.repository.TopicRepository;
+import com.progresstracking.service.tree.SyllabusTreeAssembler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SyllabusTreeAssemblerTest {
+
+    @Mock
+    private SubjectRepository subjectRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private SubTopicRepository subTopicRepository;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private CompletionRollupService completionRollupService;
+
+    @InjectMocks
+    private SyllabusTreeAssembler syllabusTreeAssembler;
+
+    private Syllabus syllabus;
+
+    @BeforeEach
+    void setUp() {
+        // subject 10 -> topics 100, 101; topic 100 -> subtopic 1000
+        syllabus = Syllabus.builder().id(1L).title("Test Syllabus").build();
+        Subject subject = Subject.builder().id(10L).syllabus(syllabus).title("Subject").order(1).build();
+        Topic first = Topic.builder().id(100L).subject(subject).syllabusId(1L).title("First").order(1).build();
+        Topic second = Topic.builder().id(101L).subject(subject).syllabusId(1L).title("Second").order(2).build();
+        SubTopic subTopic = SubTopic.builder().id(1000L).topic(first).syllabusId(1L).title("Leaf").order(1).build();
+
+        List<Object[]> resourceCounts = new ArrayList<>();
+        resourceCounts.add(new Object[]{null, 100L, null, 2L});
+        resourceCounts.add(new Object[]{null, null, 1000L, 1L});
+
+        when(subjectRepository.findBySyllabusOrderByOrder(syllabus)).thenReturn(Collections.singletonList(subject));
+        when(topicRepository.findBySyllabusIdOrderByOrder(1L)).thenReturn(Arrays.asList(first, second));
+        when(subTopicRepository.findBySyllabusIdOrderByOrder(1L)).thenReturn(Collections.singletonList(subTopic));
+        when(resourceRepository.countBySyllabusId(1L)).thenReturn(resourceCounts);
+    }
+
+    @Test
+    void assemble_NestsLevelsWithCountsAndCompletion() {
+        // Arrange
+        when(completionRollupService.getSyllabusNodeCompletions(1L)).thenReturn(Map.of(
+                NodeCompletion.NodeType.SYLLABUS, Map.of(1L, 25.0),
+                NodeCompletion.NodeType.TOPIC, Map.of(100L, 50.0)));
+
+        // Act
+        SyllabusTreeResponse tree = syllabusTreeAssembler.assemble(syllabus, true);
+
+        // Assert
+        assertEquals(25.0, tree.getCompletionPercentage());
+        SyllabusTreeResponse.NodeDto subject = tree.getSubjects().get(0);
+        assertEquals(0.0, subject.getCompletionPercentage());
+        assertEquals(0, subject.getResourceCount());
+        assertEquals(2, subject.getChildren().size());
+
+        SyllabusTreeResponse.NodeDto topic = subject.getChildren().get(0);
+        assertEquals(100L, topic.getId());
+        assertEquals(50.0, topic.getCompletionPercentage());
+        assertEquals(2, topic.getResourceCount());
+        assertEquals(1000L, topic.getChildren().get(0).getId());
+        assertEquals(1, topic.getChildren().get(0).getResourceCount());
+        assertTrue(subject.getChildren().get(1).getChildren().isEmpty());
+    }
+
+    @Test
+    void assemble_WithoutCompletion_SkipsRollup() {
+        // Act
+        SyllabusTreeResponse tree = syllabusTreeAssembler.assemble(syllabus, false);
+
+        // Assert
+        assertNull(tree.getCompletionPercentage());
+        assertNull(tree.getSubjects().get(0).getCompletionPercentage());
+        verify(completionRollupService, never()).getSyllabusNodeCompletions(anyLong());
+    }
+}